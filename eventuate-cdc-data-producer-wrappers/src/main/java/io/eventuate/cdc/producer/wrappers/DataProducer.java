@@ -1,8 +1,25 @@
 package io.eventuate.cdc.producer.wrappers;
 
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CompletableFuture;
 
 public interface DataProducer {
   CompletableFuture<?> send(String topic, String key, String body);
+
+  /**
+   * Sends a body that is already encoded as UTF-8, producers that send bytes override it to avoid decoding and encoding it again.
+   */
+  default CompletableFuture<?> send(String topic, String key, byte[] body) {
+    return send(topic, key, new String(body, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @return true when the producer sends bytes, so the body should be passed to {@link #send(String, String, byte[])},
+   * false when the client takes a string body
+   */
+  default boolean prefersBytes() {
+    return false;
+  }
+
   void close();
-}
\ No newline at end of file
+}
@@ -10,6 +10,8 @@ import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 public class EventuateKafkaDataProducerWrapper implements DataProducer {
 
@@ -19,19 +21,49 @@ public class EventuateKafkaDataProducerWrapper implements DataProducer {
   private final ConcurrentHashMap<TopicPartition, TopicPartitionSender> topicPartitionSenders = new ConcurrentHashMap<>();
   private boolean enableBatchProcessing;
   private int batchSize;
+  private long lingerMs;
+  private int maxInFlightBatchesPerPartition;
   private MeterRegistry meterRegistry;
+  private ScheduledExecutorService executor;
 
   public EventuateKafkaDataProducerWrapper(EventuateKafkaProducer eventuateKafkaProducer,
                                            boolean enableBatchProcessing,
                                            int batchSize,
                                            MeterRegistry meterRegistry) {
+    this(eventuateKafkaProducer, enableBatchProcessing, batchSize, 0, 1, Runtime.getRuntime().availableProcessors(), meterRegistry);
+  }
+
+  /**
+   * @param lingerMs how long a batch that is not full waits for more messages, 0 sends whatever is queued at once
+   * @param maxInFlightBatchesPerPartition how many batches of a topic partition can be sent before the first of them is acknowledged,
+   *                                       values above 1 keep the order only when the producer has enable.idempotence=true,
+   *                                       which the Kafka configuration checks
+   * @param senderThreads the number of threads that complete the sends and start the next batches of all the topic partitions
+   */
+  public EventuateKafkaDataProducerWrapper(EventuateKafkaProducer eventuateKafkaProducer,
+                                           boolean enableBatchProcessing,
+                                           int batchSize,
+                                           long lingerMs,
+                                           int maxInFlightBatchesPerPartition,
+                                           int senderThreads,
+                                           MeterRegistry meterRegistry) {
     this.eventuateKafkaProducer = eventuateKafkaProducer;
     this.enableBatchProcessing = enableBatchProcessing;
     this.batchSize = batchSize;
+    this.lingerMs = lingerMs;
+    this.maxInFlightBatchesPerPartition = maxInFlightBatchesPerPartition;
     this.meterRegistry = meterRegistry;
+    this.executor = Executors.newScheduledThreadPool(senderThreads, runnable -> {
+      Thread thread = new Thread(runnable, "eventuate-cdc-kafka-sender");
+      thread.setDaemon(true);
+      return thread;
+    });
 
     logger.info("enableBatchProcessing={}", enableBatchProcessing);
     logger.info("batchSize={}", batchSize);
+    logger.info("lingerMs={}", lingerMs);
+    logger.info("maxInFlightBatchesPerPartition={}", maxInFlightBatchesPerPartition);
+    logger.info("senderThreads={}", senderThreads);
   }
 
   @Override
@@ -39,10 +71,26 @@ public class EventuateKafkaDataProducerWrapper implements DataProducer {
     return getOrCreateTopicPartitionSender(topic, key, meterRegistry).sendMessage(topic, key, body);
   }
 
+  @Override
+  public CompletableFuture<?> send(String topic, String key, byte[] body) {
+    return getOrCreateTopicPartitionSender(topic, key, meterRegistry).sendMessage(topic, key, body);
+  }
+
+  /**
+   * Single messages are sent as bytes unchanged, but the multi-message builder takes string values,
+   * so with batch processing a string body saves encoding it and decoding it back.
+   */
+  @Override
+  public boolean prefersBytes() {
+    return !enableBatchProcessing;
+  }
+
   @Override
   public void close() {
     logger.info("closing EventuateKafkaDataProducerWrapper");
+    topicPartitionSenders.values().forEach(TopicPartitionSender::flush);
     eventuateKafkaProducer.close();
+    executor.shutdown();
     logger.info("closed EventuateKafkaDataProducerWrapper");
   }
 
@@ -51,6 +99,6 @@ public class EventuateKafkaDataProducerWrapper implements DataProducer {
     TopicPartition topicPartition = new TopicPartition(topic, eventuateKafkaProducer.partitionFor(topic, key));
 
     return topicPartitionSenders.computeIfAbsent(topicPartition,
-            tp -> new TopicPartitionSender(eventuateKafkaProducer, enableBatchProcessing, batchSize, meterRegistry));
+            tp -> new TopicPartitionSender(eventuateKafkaProducer, enableBatchProcessing, batchSize, lingerMs, maxInFlightBatchesPerPartition, executor, meterRegistry));
   }
 }
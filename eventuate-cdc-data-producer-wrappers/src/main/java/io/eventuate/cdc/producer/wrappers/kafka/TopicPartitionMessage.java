@@ -1,5 +1,7 @@
 package io.eventuate.cdc.producer.wrappers.kafka;
 
+import io.eventuate.messaging.kafka.common.EventuateBinaryMessageEncoding;
+
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -9,7 +11,9 @@ public class TopicPartitionMessage {
   private String topic;
   private String key;
   private String body;
+  private byte[] bodyBytes;
   private List<TopicPartitionMessage> batch = Collections.emptyList();
+  private final long creationTime = System.nanoTime();
 
   private CompletableFuture<Object> future = new CompletableFuture<>();
 
@@ -19,6 +23,12 @@ public class TopicPartitionMessage {
     this.body = body;
   }
 
+  public TopicPartitionMessage(String topic, String key, byte[] bodyBytes) {
+    this.topic = topic;
+    this.key = key;
+    this.bodyBytes = bodyBytes;
+  }
+
   public String getTopic() {
     return topic;
   }
@@ -28,9 +38,39 @@ public class TopicPartitionMessage {
   }
 
   public String getBody() {
+    if (body == null && bodyBytes != null) {
+      body = EventuateBinaryMessageEncoding.bytesToString(bodyBytes);
+    }
+
     return body;
   }
 
+  /**
+   * @return the body encoded as UTF-8, the bytes are converted only when the message was created with a string body
+   */
+  public byte[] getBodyBytes() {
+    if (bodyBytes == null && body != null) {
+      bodyBytes = EventuateBinaryMessageEncoding.stringToBytes(body);
+    }
+
+    return bodyBytes;
+  }
+
+  /**
+   * @return the size of the body in bytes when the message was created with bytes, its length in chars otherwise,
+   * so measuring a queued message does not convert its body
+   */
+  public int getBodySize() {
+    return bodyBytes != null ? bodyBytes.length : body.length();
+  }
+
+  /**
+   * @return the value of {@link System#nanoTime()} when the message was created
+   */
+  public long getCreationTime() {
+    return creationTime;
+  }
+
   public CompletableFuture<Object> getFuture() {
     return future;
   }
@@ -49,12 +89,12 @@ public class TopicPartitionMessage {
     if (!(o instanceof TopicPartitionMessage)) return false;
     TopicPartitionMessage tpm = (TopicPartitionMessage) o;
 
-    return Objects.equals(topic, tpm.getTopic()) && Objects.equals(key, tpm.getKey()) && Objects.equals(body, tpm.getBody());
+    return Objects.equals(topic, tpm.getTopic()) && Objects.equals(key, tpm.getKey()) && Objects.equals(getBody(), tpm.getBody());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(topic, key, body);
+    return Objects.hash(topic, key, getBody());
   }
 
   public List<TopicPartitionMessage> getBatch() {
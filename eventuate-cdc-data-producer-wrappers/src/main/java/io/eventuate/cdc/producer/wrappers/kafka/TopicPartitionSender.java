@@ -1,15 +1,17 @@
 package io.eventuate.cdc.producer.wrappers.kafka;
 
-import io.eventuate.messaging.kafka.common.EventuateBinaryMessageEncoding;
 import io.eventuate.messaging.kafka.common.EventuateKafkaMultiMessage;
 import io.eventuate.messaging.kafka.common.EventuateKafkaMultiMessageConverter;
 import io.eventuate.messaging.kafka.producer.EventuateKafkaProducer;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -19,33 +21,69 @@ public class TopicPartitionSender {
   private AtomicReference<TopicPartitionSenderState> state = new AtomicReference<>(TopicPartitionSenderState.IDLE);
   private boolean enableBatchProcessing;
   private int batchSize;
+  private long lingerMs;
+  private int maxInFlightBatchesPerPartition;
   private MeterRegistry meterRegistry;
   private AtomicLong timeOfLastProcessedMessage;
-  private Executor executor = Executors.newCachedThreadPool();
+  private ScheduledExecutorService executor;
+  private AtomicLong queuedBytes = new AtomicLong();
+  private AtomicBoolean lingering = new AtomicBoolean(false);
+  private volatile boolean flushing;
+  private AtomicInteger inFlightBatchCount = new AtomicInteger();
+  private ConcurrentLinkedQueue<InFlightBatch> inFlightBatches = new ConcurrentLinkedQueue<>();
+  private Throwable inFlightBatchError;
   private final Timer sendDurationTimer;
+  private final DistributionSummary batchFillRatio;
 
+  /**
+   * @param lingerMs how long a batch that is not full waits for more messages, 0 sends whatever is queued at once
+   * @param maxInFlightBatchesPerPartition how many batches can be sent before the first of them is acknowledged,
+   *                                       values above 1 keep the order only when the producer has enable.idempotence=true
+   * @param executor completes the sends and waits for the lingering batches, it is shared by the senders of all the topic partitions
+   */
   public TopicPartitionSender(EventuateKafkaProducer eventuateKafkaProducer,
                               boolean enableBatchProcessing,
                               int batchSize,
+                              long lingerMs,
+                              int maxInFlightBatchesPerPartition,
+                              ScheduledExecutorService executor,
                               MeterRegistry meterRegistry) {
 
     this.eventuateKafkaProducer = eventuateKafkaProducer;
     this.enableBatchProcessing = enableBatchProcessing;
     this.batchSize = batchSize;
+    this.lingerMs = lingerMs;
+    this.maxInFlightBatchesPerPartition = maxInFlightBatchesPerPartition;
+    this.executor = executor;
     this.meterRegistry = meterRegistry;
     this.sendDurationTimer = meterRegistry.timer("eventuate.cdc.kafka.send.duration");
+    this.batchFillRatio = DistributionSummary
+            .builder("eventuate.cdc.kafka.batch.fill.ratio")
+            .description("Size of the sent batches as a percentage of the max batch size")
+            .baseUnit("percent")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
   }
 
   public CompletableFuture<?> sendMessage(String topic, String key, String body) {
+    return sendMessage(new TopicPartitionMessage(topic, key, body));
+  }
 
-    TopicPartitionMessage topicPartitionMessage = new TopicPartitionMessage(topic, key, body);
+  public CompletableFuture<?> sendMessage(String topic, String key, byte[] body) {
+    return sendMessage(new TopicPartitionMessage(topic, key, body));
+  }
 
+  private CompletableFuture<?> sendMessage(TopicPartitionMessage topicPartitionMessage) {
     if (state.get() == TopicPartitionSenderState.ERROR) {
       throw new RuntimeException("Sender is in error state, publishing is not possible.");
     }
     else {
       messages.add(topicPartitionMessage);
 
+      if (isLingerEnabled() && queuedBytes.addAndGet(sizeOf(topicPartitionMessage)) >= batchSize && lingering.compareAndSet(true, false)) {
+        executor.execute(this::sendMessage);
+      }
+
       if (state.compareAndSet(TopicPartitionSenderState.IDLE, TopicPartitionSenderState.SENDING)) {
         sendMessage();
       }
@@ -54,35 +92,59 @@ public class TopicPartitionSender {
     return topicPartitionMessage.getFuture();
   }
 
+  /**
+   * Sends the lingering batch at once and stops lingering, so nothing is left for the executor to send after the producer is closed.
+   */
+  public void flush() {
+    flushing = true;
+
+    if (lingering.compareAndSet(true, false)) {
+      sendMessage();
+    }
+  }
+
   private void sendMessage() {
-    if (!messages.isEmpty()) {
-      sendNextMessage();
+    while (hasMessagesToSend()) {
+      if (!sendNextMessage()) {
+        return;
+      }
     }
-    else {
-      state.set(TopicPartitionSenderState.IDLE);
 
-      /*
-        Additional check is necessary because,
+    if (!state.compareAndSet(TopicPartitionSenderState.SENDING, TopicPartitionSenderState.IDLE)) {
+      return;
+    }
 
-        there can be the case when we got null message and not yet turned state to IDLE.
-        But other thread added message to queue (just after we got null message) and tried to turn state to SENDING.
-        Because state is not yet IDLE, 'sendMessage' will not be invoked.
-        Then state will be turned to IDLE.
-        So message will stay in queue until next 'sendMessage' invocation.
-      */
+    /*
+      Additional check is necessary because,
 
-      if (!messages.isEmpty() && state.compareAndSet(TopicPartitionSenderState.IDLE, TopicPartitionSenderState.SENDING)) {
-        sendMessage();
-      }
+      there can be the case when we got null message and not yet turned state to IDLE.
+      But other thread added message to queue (just after we got null message) and tried to turn state to SENDING.
+      Because state is not yet IDLE, 'sendMessage' will not be invoked.
+      Then state will be turned to IDLE.
+      So message will stay in queue until next 'sendMessage' invocation.
+    */
+
+    if (hasMessagesToSend() && state.compareAndSet(TopicPartitionSenderState.IDLE, TopicPartitionSenderState.SENDING)) {
+      sendMessage();
     }
   }
 
-  private void sendNextMessage() {
+  private boolean hasMessagesToSend() {
+    return !messages.isEmpty() &&
+            state.get() != TopicPartitionSenderState.ERROR &&
+            (!enableBatchProcessing || inFlightBatchCount.get() < maxInFlightBatchesPerPartition);
+  }
+
+  /**
+   * @return false when the sender stays in SENDING state until a callback continues sending
+   */
+  private boolean sendNextMessage() {
     if (enableBatchProcessing) {
-      sendMessageBatch();
+      return sendMessageBatch();
     }
     else {
       sendSingleMessage();
+      return false;
     }
   }
 
@@ -93,7 +155,7 @@ public class TopicPartitionSender {
       TopicPartitionMessage message = topicPartitionMessage;
 
       eventuateKafkaProducer
-        .send(message.getTopic(), message.getKey(), EventuateBinaryMessageEncoding.stringToBytes(message.getBody()))
+        .send(message.getTopic(), message.getKey(), message.getBodyBytes())
         .whenComplete((o, throwable) -> {
           updateMetrics(1);
           if (throwable != null) {
@@ -108,7 +170,11 @@ public class TopicPartitionSender {
     }
   }
 
-  private void sendMessageBatch() {
+  private boolean sendMessageBatch() {
+    if (isLingerEnabled() && linger()) {
+      return false;
+    }
+
     List<TopicPartitionMessage> batch = new ArrayList<>();
     EventuateKafkaMultiMessageConverter.MessageBuilder messageBuilder = new EventuateKafkaMultiMessageConverter.MessageBuilder(batchSize);
 
@@ -124,6 +190,10 @@ public class TopicPartitionSender {
 
         messageForBatch = messages.poll();
 
+        if (isLingerEnabled()) {
+          queuedBytes.addAndGet(-sizeOf(messageForBatch));
+        }
+
         //key of the first message is a kafka record key
         if (key == null) {
           key = messageForBatch.getKey();
@@ -142,23 +212,97 @@ public class TopicPartitionSender {
       throw new RuntimeException("Message is too big to send.");
     }
 
+    byte[] batchBytes = messageBuilder.toBinaryArray();
+    batchFillRatio.record(batchBytes.length * 100.0 / batchSize);
+
+    InFlightBatch inFlightBatch = new InFlightBatch(batch);
+    inFlightBatches.add(inFlightBatch);
+    inFlightBatchCount.incrementAndGet();
+
     long startTime = System.currentTimeMillis();
 
     eventuateKafkaProducer
-            .send(topic, key, messageBuilder.toBinaryArray())
+            .send(topic, key, batchBytes)
             .whenCompleteAsync((o, throwable) -> {
               long endTime = System.currentTimeMillis();
               sendDurationTimer.record(endTime - startTime, TimeUnit.MILLISECONDS);
               updateMetrics(batch.size());
               if (throwable != null) {
                 state.set(TopicPartitionSenderState.ERROR);
-                batch.forEach(m -> m.completeExceptionally(throwable));
               }
-              else {
-                batch.forEach(m -> m.complete(o));
+
+              inFlightBatch.done(o, throwable);
+              completeInFlightBatches();
+              inFlightBatchCount.decrementAndGet();
+
+              if (state.compareAndSet(TopicPartitionSenderState.IDLE, TopicPartitionSenderState.SENDING)) {
                 sendMessage();
               }
             }, executor);
+
+    return true;
+  }
+
+  /**
+   * Completes the futures of the acknowledged batches in the order the batches were sent, so a batch acknowledged early waits for the preceding ones.
+   * After a failed batch, the batches that follow it are failed as well.
+   */
+  private synchronized void completeInFlightBatches() {
+    InFlightBatch inFlightBatch;
+
+    while ((inFlightBatch = inFlightBatches.peek()) != null && inFlightBatch.isDone()) {
+      inFlightBatches.poll();
+
+      if (inFlightBatchError == null) {
+        inFlightBatchError = inFlightBatch.throwable;
+      }
+
+      for (TopicPartitionMessage message : inFlightBatch.messages) {
+        if (inFlightBatchError != null) {
+          message.completeExceptionally(inFlightBatchError);
+        }
+        else {
+          message.complete(inFlightBatch.result);
+        }
+      }
+    }
+  }
+
+  private boolean isLingerEnabled() {
+    return enableBatchProcessing && lingerMs > 0;
+  }
+
+  /**
+   * Postpones the batch while it is not full and its oldest message waits less than lingerMs.
+   * The batch is sent when lingerMs expires or when the queued messages fill it, whichever comes first.
+   *
+   * @return true when the batch is postponed
+   */
+  private boolean linger() {
+    long lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs) - (System.nanoTime() - messages.peek().getCreationTime());
+
+    if (flushing || lingerNanos <= 0 || queuedBytes.get() >= batchSize) {
+      return false;
+    }
+
+    lingering.set(true);
+
+    // the batch could get full or be flushed after the check, but before lingering was set
+    if ((flushing || queuedBytes.get() >= batchSize) && lingering.compareAndSet(true, false)) {
+      return false;
+    }
+
+    executor.schedule(() -> {
+      if (lingering.compareAndSet(true, false)) {
+        sendMessage();
+      }
+    }, lingerNanos, TimeUnit.NANOSECONDS);
+
+    return true;
+  }
+
+  private long sizeOf(TopicPartitionMessage message) {
+    return (message.getKey() == null ? 0 : message.getKey().length()) + message.getBodySize();
   }
 
   private void updateMetrics(int processedEvents) {
@@ -171,4 +315,25 @@ public class TopicPartitionSender {
       timeOfLastProcessedMessage.set(System.nanoTime());
     }
   }
+
+  private static class InFlightBatch {
+    private final List<TopicPartitionMessage> messages;
+    private volatile boolean done;
+    private Object result;
+    private Throwable throwable;
+
+    InFlightBatch(List<TopicPartitionMessage> messages) {
+      this.messages = messages;
+    }
+
+    void done(Object result, Throwable throwable) {
+      this.result = result;
+      this.throwable = throwable;
+      done = true;
+    }
+
+    boolean isDone() {
+      return done;
+    }
+  }
 }
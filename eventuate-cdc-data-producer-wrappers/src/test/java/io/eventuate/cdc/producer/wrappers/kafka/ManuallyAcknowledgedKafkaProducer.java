@@ -0,0 +1,37 @@
+package io.eventuate.cdc.producer.wrappers.kafka;
+
+import io.eventuate.messaging.kafka.producer.EventuateKafkaProducer;
+import io.eventuate.messaging.kafka.producer.EventuateKafkaProducerConfigurationProperties;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class ManuallyAcknowledgedKafkaProducer extends EventuateKafkaProducer {
+  final List<CompletableFuture<Object>> sends = new CopyOnWriteArrayList<>();
+  final List<byte[]> records = new CopyOnWriteArrayList<>();
+  volatile int sendsBeforeClose = -1;
+
+  ManuallyAcknowledgedKafkaProducer() {
+    super("localhost:9092", EventuateKafkaProducerConfigurationProperties.empty());
+  }
+
+  @Override
+  public CompletableFuture<?> send(String topic, String key, byte[] body) {
+    CompletableFuture<Object> send = new CompletableFuture<>();
+    records.add(body);
+    sends.add(send);
+    return send;
+  }
+
+  @Override
+  public int partitionFor(String topic, String key) {
+    return 0;
+  }
+
+  @Override
+  public void close() {
+    sendsBeforeClose = sends.size();
+    super.close();
+  }
+}
@@ -0,0 +1,119 @@
+package io.eventuate.cdc.producer.wrappers.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class TopicPartitionSenderInFlightBatchesTest {
+
+  private ScheduledExecutorService executor;
+  private ManuallyAcknowledgedKafkaProducer producer;
+  private TopicPartitionSender sender;
+
+  @Before
+  public void init() {
+    executor = Executors.newSingleThreadScheduledExecutor();
+    producer = new ManuallyAcknowledgedKafkaProducer();
+    sender = new TopicPartitionSender(producer, true, 1000000, 0, 3, executor, new SimpleMeterRegistry());
+  }
+
+  @After
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldCompleteBatchesInSendOrderWhenAcknowledgedOutOfOrder() throws Exception {
+    List<CompletableFuture<?>> futures = sendMessages(4);
+    List<Integer> completionOrder = new CopyOnWriteArrayList<>();
+
+    for (int i = 0; i < futures.size(); i++) {
+      int message = i;
+      futures.get(i).thenRun(() -> completionOrder.add(message));
+    }
+
+    Assert.assertEquals(3, producer.sends.size());
+
+    producer.sends.get(2).complete("2");
+    producer.sends.get(1).complete("1");
+    awaitCallbacks();
+
+    Assert.assertEquals(4, producer.sends.size());
+
+    producer.sends.get(3).complete("3");
+    awaitCallbacks();
+
+    Assert.assertTrue(completionOrder.isEmpty());
+
+    producer.sends.get(0).complete("0");
+    awaitCallbacks();
+
+    for (int i = 0; i < futures.size(); i++) {
+      Assert.assertEquals(String.valueOf(i), futures.get(i).get(1, TimeUnit.SECONDS));
+    }
+
+    Assert.assertEquals(Arrays.asList(0, 1, 2, 3), completionOrder);
+  }
+
+  @Test
+  public void shouldFailBatchesSentAfterFailedBatch() throws Exception {
+    List<CompletableFuture<?>> futures = sendMessages(3);
+    RuntimeException error = new RuntimeException("batch 1 failed");
+
+    producer.sends.get(2).complete("2");
+    producer.sends.get(1).completeExceptionally(error);
+    producer.sends.get(0).complete("0");
+    awaitCallbacks();
+
+    Assert.assertEquals("0", futures.get(0).get(1, TimeUnit.SECONDS));
+    Assert.assertSame(error, failureOf(futures.get(1)));
+    Assert.assertSame(error, failureOf(futures.get(2)));
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void shouldRejectMessagesAfterFailedBatch() throws Exception {
+    sendMessages(1);
+
+    producer.sends.get(0).completeExceptionally(new RuntimeException("batch 0 failed"));
+    awaitCallbacks();
+
+    sender.sendMessage("topic", "key", "1");
+  }
+
+  private List<CompletableFuture<?>> sendMessages(int count) {
+    List<CompletableFuture<?>> futures = new ArrayList<>();
+
+    for (int i = 0; i < count; i++) {
+      futures.add(sender.sendMessage("topic", "key", String.valueOf(i)));
+    }
+
+    return futures;
+  }
+
+  //the send callbacks run on the single executor thread, so they are done when a task submitted after them is
+  private void awaitCallbacks() throws Exception {
+    executor.submit(() -> {}).get(1, TimeUnit.SECONDS);
+  }
+
+  private Throwable failureOf(CompletableFuture<?> future) throws Exception {
+    try {
+      future.get(1, TimeUnit.SECONDS);
+    } catch (ExecutionException e) {
+      return e.getCause();
+    }
+
+    throw new AssertionError("Future is expected to fail");
+  }
+}
@@ -0,0 +1,103 @@
+package io.eventuate.cdc.producer.wrappers.kafka;
+
+import io.eventuate.messaging.kafka.common.EventuateKafkaMultiMessage;
+import io.eventuate.messaging.kafka.common.EventuateKafkaMultiMessageConverter;
+import io.eventuate.util.test.async.Eventually;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class TopicPartitionSenderLingerTest {
+
+  private static final String BODY = "{\"payload\":\"0123456789abcdef\"}";
+
+  private ScheduledExecutorService executor;
+  private ManuallyAcknowledgedKafkaProducer producer;
+
+  @Before
+  public void init() {
+    executor = Executors.newSingleThreadScheduledExecutor();
+    producer = new ManuallyAcknowledgedKafkaProducer();
+  }
+
+  @After
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldSendBatchWhenLingerExpires() {
+    TopicPartitionSender sender = createSender(1000000, 200);
+    long start = System.nanoTime();
+
+    sender.sendMessage("topic", "key", BODY);
+    sender.sendMessage("topic", "key", BODY);
+
+    Assert.assertTrue(producer.sends.isEmpty());
+
+    Eventually.eventually(() -> Assert.assertEquals(1, producer.sends.size()));
+
+    Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+    Assert.assertEquals(2, messagesOf(producer.records.get(0)).size());
+  }
+
+  @Test
+  public void shouldSendBatchWhenQueuedBytesReachBatchSize() {
+    int batchSize = 1000;
+    int messagesToFillBatch = batchSize / ("key".length() + BODY.length()) + 1;
+    TopicPartitionSender sender = createSender(batchSize, TimeUnit.MINUTES.toMillis(1));
+
+    for (int i = 0; i < messagesToFillBatch - 1; i++) {
+      sender.sendMessage("topic", "key", BODY);
+    }
+
+    Assert.assertTrue(producer.sends.isEmpty());
+
+    sender.sendMessage("topic", "key", BODY);
+
+    Eventually.eventually(() -> Assert.assertEquals(1, producer.sends.size()));
+
+    Assert.assertFalse(messagesOf(producer.records.get(0)).isEmpty());
+  }
+
+  @Test
+  public void shouldSendLingeringBatchOnFlush() {
+    TopicPartitionSender sender = createSender(1000000, TimeUnit.MINUTES.toMillis(1));
+
+    sender.sendMessage("topic", "key", BODY);
+    sender.flush();
+
+    Assert.assertEquals(1, producer.sends.size());
+  }
+
+  @Test
+  public void shouldSendLingeringBatchesBeforeClosingProducer() {
+    EventuateKafkaDataProducerWrapper wrapper = new EventuateKafkaDataProducerWrapper(producer,
+            true,
+            1000000,
+            TimeUnit.MINUTES.toMillis(1),
+            1,
+            1,
+            new SimpleMeterRegistry());
+
+    wrapper.send("topic", "key", BODY);
+    wrapper.close();
+
+    Assert.assertEquals(1, producer.sendsBeforeClose);
+  }
+
+  private TopicPartitionSender createSender(int batchSize, long lingerMs) {
+    return new TopicPartitionSender(producer, true, batchSize, lingerMs, 1, executor, new SimpleMeterRegistry());
+  }
+
+  private List<EventuateKafkaMultiMessage> messagesOf(byte[] record) {
+    return new EventuateKafkaMultiMessageConverter().convertBytesToMessages(record).getMessages();
+  }
+}
@@ -0,0 +1,116 @@
+package io.eventuate.cdc.producer.wrappers.kafka;
+
+import io.eventuate.messaging.kafka.common.EventuateKafkaMultiMessage;
+import io.eventuate.messaging.kafka.common.EventuateKafkaMultiMessageConverter;
+import io.eventuate.messaging.kafka.producer.EventuateKafkaProducer;
+import io.eventuate.messaging.kafka.producer.EventuateKafkaProducerConfigurationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class TopicPartitionSenderPerformanceTest {
+
+  private static final int MESSAGES = 100000;
+  private static final int BATCH_SIZE = 100000;
+  private static final long BROKER_LATENCY_MS = 5;
+
+  private EventuateKafkaMultiMessageConverter eventuateKafkaMultiMessageConverter = new EventuateKafkaMultiMessageConverter();
+
+  @Test
+  public void compareThroughputOfInFlightBatches() throws Exception {
+    for (int maxInFlightBatches : new int[]{1, 2, 4, 8}) {
+      measure(maxInFlightBatches);
+    }
+  }
+
+  private void measure(int maxInFlightBatches) throws Exception {
+    ScheduledExecutorService executor = Executors.newScheduledThreadPool(4);
+    DelayedKafkaProducer producer = new DelayedKafkaProducer();
+
+    TopicPartitionSender topicPartitionSender = new TopicPartitionSender(producer,
+            true,
+            BATCH_SIZE,
+            0,
+            maxInFlightBatches,
+            executor,
+            new SimpleMeterRegistry());
+
+    List<Integer> completedMessages = Collections.synchronizedList(new ArrayList<>());
+    List<CompletableFuture<?>> futures = new ArrayList<>();
+
+    long start = System.nanoTime();
+
+    for (int i = 0; i < MESSAGES; i++) {
+      int message = i;
+      futures.add(topicPartitionSender
+              .sendMessage("topic", "key", String.format("{\"message\":%s,\"payload\":\"%070d\"}", i, i))
+              .thenRun(() -> completedMessages.add(message)));
+    }
+
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+
+    long elapsed = System.nanoTime() - start;
+
+    System.out.println(String.format("maxInFlightBatchesPerPartition=%s: %s messages per second, %s batches",
+            maxInFlightBatches,
+            MESSAGES * 1000000000L / elapsed,
+            producer.records.size()));
+
+    assertInOrder(completedMessages);
+    assertInOrder(receivedMessages(producer.records));
+
+    producer.delay.shutdown();
+    executor.shutdown();
+    producer.close();
+  }
+
+  private List<Integer> receivedMessages(List<byte[]> records) {
+    List<Integer> messages = new ArrayList<>();
+
+    for (byte[] record : records) {
+      for (EventuateKafkaMultiMessage message : eventuateKafkaMultiMessageConverter.convertBytesToMessages(record).getMessages()) {
+        String value = message.getValue();
+        messages.add(Integer.parseInt(value.substring(value.indexOf(':') + 1, value.indexOf(','))));
+      }
+    }
+
+    return messages;
+  }
+
+  private void assertInOrder(List<Integer> messages) {
+    Assert.assertEquals(MESSAGES, messages.size());
+
+    for (int i = 0; i < MESSAGES; i++) {
+      Assert.assertEquals(i, (int) messages.get(i));
+    }
+  }
+
+  /**
+   * Stands in for a broker: it keeps the records in the order they were sent and acknowledges each after a delay.
+   */
+  private static class DelayedKafkaProducer extends EventuateKafkaProducer {
+    private final ScheduledExecutorService delay = Executors.newSingleThreadScheduledExecutor();
+    private final List<byte[]> records = Collections.synchronizedList(new ArrayList<>());
+
+    public DelayedKafkaProducer() {
+      super("localhost:9092", EventuateKafkaProducerConfigurationProperties.empty());
+    }
+
+    @Override
+    public CompletableFuture<?> send(String topic, String key, byte[] body) {
+      records.add(body);
+
+      CompletableFuture<Object> result = new CompletableFuture<>();
+      delay.schedule(() -> result.complete(null), BROKER_LATENCY_MS, TimeUnit.MILLISECONDS);
+      return result;
+    }
+  }
+}
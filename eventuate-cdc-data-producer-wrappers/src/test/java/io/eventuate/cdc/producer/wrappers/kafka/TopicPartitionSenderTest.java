@@ -21,6 +21,7 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executors;
 
 @RunWith(SpringJUnit4ClassRunner.class)
 @SpringBootTest(classes = TopicPartitionSenderTest.Config.class)
@@ -48,15 +49,24 @@ public class TopicPartitionSenderTest {
 
   @Test
   public void testBatchProcessing() throws InterruptedException {
-    sendEvents();
+    sendEvents(0);
     assertAllMessagesReceived(receiveEvents());
   }
 
-  private void sendEvents() throws InterruptedException {
+  @Test
+  public void testBatchProcessingWithLinger() throws InterruptedException {
+    sendEvents(100);
+    assertAllMessagesReceived(receiveEvents());
+  }
+
+  private void sendEvents(long lingerMs) throws InterruptedException {
     TopicPartitionSender topicPartitionSender = new TopicPartitionSender(
             new EventuateKafkaProducer(kafkaBootstrapServers, EventuateKafkaProducerConfigurationProperties.empty()),
             true,
             1000000,
+            lingerMs,
+            1,
+            Executors.newSingleThreadScheduledExecutor(),
             new LoggingMeterRegistry());
 
     for (int i = 0; i < nEvents; i++) {
@@ -28,9 +28,10 @@ public interface BinlogEntry {
     }
 
     if (columnValue instanceof Long) return (Long)columnValue; //mysql
+    if (columnValue instanceof Number) return ((Number)columnValue).longValue(); //int and smallint - mysql, pgoutput
     if (columnValue instanceof String) return Long.parseLong((String)columnValue); //postgres
 
-    throw new IllegalArgumentException(String.format("Unexpected type %s of column %s, should be bigint or stringified bigint",
+    throw new IllegalArgumentException(String.format("Unexpected type %s of column %s, should be integer or stringified integer",
             columnValue.getClass(), name));
   }
 
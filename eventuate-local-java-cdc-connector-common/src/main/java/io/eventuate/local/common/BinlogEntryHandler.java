@@ -3,7 +3,10 @@ package io.eventuate.local.common;
 import io.eventuate.common.eventuate.local.BinLogEvent;
 import io.eventuate.common.jdbc.SchemaAndTable;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 public class BinlogEntryHandler<EVENT extends BinLogEvent> {
@@ -42,4 +45,16 @@ public class BinlogEntryHandler<EVENT extends BinLogEvent> {
   public String getDestinationColumn() {
     return binlogEntryToEventConverter.getDestinationColumn();
   }
+
+  public String getPartitionKeyColumn() {
+    return binlogEntryToEventConverter.getPartitionKeyColumn();
+  }
+
+  public String getPartitionKeyColumn(BiFunction<String, String, String> jsonField) {
+    return binlogEntryToEventConverter.getPartitionKeyColumn(jsonField);
+  }
+
+  public Optional<List<String>> getColumns() {
+    return binlogEntryToEventConverter.getColumns();
+  }
 }
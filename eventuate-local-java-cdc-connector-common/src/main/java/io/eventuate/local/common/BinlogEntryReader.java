@@ -98,6 +98,8 @@ public abstract class BinlogEntryReader {
       return;
     }
 
+    onStopping();
+
     try {
       stopCountDownLatch.await();
     } catch (InterruptedException e) {
@@ -110,6 +112,9 @@ public abstract class BinlogEntryReader {
     stopMetrics();
   }
 
+  protected void onStopping() {
+  }
+
   public void setRestartCallback(Runnable restartCallback) {
     this.restartCallback = Optional.of(restartCallback);
   }
@@ -1,9 +1,26 @@
 package io.eventuate.local.common;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.BiFunction;
 
 public interface BinlogEntryToEventConverter<EVENT> {
   Optional<EVENT> convert(BinlogEntry binlogEntry, Integer partitionOffset);
 
   String getDestinationColumn();
+
+  default String getPartitionKeyColumn() {
+    return getDestinationColumn();
+  }
+
+  /**
+   * @param jsonField builds the database specific expression that reads a field, given as the second argument, of a JSON column
+   */
+  default String getPartitionKeyColumn(BiFunction<String, String, String> jsonField) {
+    return getPartitionKeyColumn();
+  }
+
+  default Optional<List<String>> getColumns() {
+    return Optional.empty();
+  }
 }
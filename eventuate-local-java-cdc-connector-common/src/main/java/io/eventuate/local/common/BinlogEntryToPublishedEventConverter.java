@@ -5,10 +5,21 @@ import io.eventuate.common.id.IdGenerator;
 import io.eventuate.common.jdbc.EventuateJdbcOperationsUtils;
 import org.apache.commons.lang.StringUtils;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 public class BinlogEntryToPublishedEventConverter implements BinlogEntryToEventConverter<PublishedEvent> {
 
+  private static final List<String> COLUMNS = Arrays.asList("published",
+          "event_id",
+          EventuateJdbcOperationsUtils.EVENT_AUTO_GENERATED_ID_COLUMN,
+          "entity_id",
+          "entity_type",
+          "event_data",
+          "event_type",
+          "metadata");
+
   public IdGenerator idGenerator;
 
   public BinlogEntryToPublishedEventConverter(IdGenerator idGenerator) {
@@ -45,4 +56,14 @@ public class BinlogEntryToPublishedEventConverter implements BinlogEntryToEventC
   public String getDestinationColumn() {
     return "entity_type";
   }
+
+  @Override
+  public String getPartitionKeyColumn() {
+    return "entity_id";
+  }
+
+  @Override
+  public Optional<List<String>> getColumns() {
+    return Optional.of(COLUMNS);
+  }
 }
\ No newline at end of file
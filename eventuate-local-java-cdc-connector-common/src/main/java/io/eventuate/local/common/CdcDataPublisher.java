@@ -10,6 +10,7 @@ import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -85,16 +86,18 @@ public class CdcDataPublisher<EVENT extends BinLogEvent> {
 
     Objects.requireNonNull(publishedEvent);
 
-    String json = publishingStrategy.toJson(publishedEvent);
+    Object json = producer.prefersBytes() ? publishingStrategy.toJsonBytes(publishedEvent) : publishingStrategy.toJson(publishedEvent);
 
-    logger.debug("Got record: {}", json);
+    if (logger.isDebugEnabled()) {
+      logger.debug("Got record: {}", json instanceof byte[] ? new String((byte[]) json, StandardCharsets.UTF_8) : json);
+    }
 
     String aggregateTopic = publishingStrategy.topicFor(publishedEvent);
 
     CompletableFuture<Object> result = new CompletableFuture<>();
 
     if (publishedEvent.getBinlogFileOffset().map(o -> publishingFilter.shouldBePublished(o, aggregateTopic)).orElse(true)) {
-      logger.debug("sending record: {}", json);
+      logger.debug("sending record to {}", aggregateTopic);
 
       long t = System.nanoTime();
       send(publishedEvent, aggregateTopic, json, result);
@@ -111,9 +114,14 @@ public class CdcDataPublisher<EVENT extends BinLogEvent> {
     }
   }
 
-  private void send(EVENT publishedEvent, String aggregateTopic, String json, CompletableFuture<Object> result) {
-    producer
-            .send(aggregateTopic, publishingStrategy.partitionKeyFor(publishedEvent), json)
+  private void send(EVENT publishedEvent, String aggregateTopic, Object json, CompletableFuture<Object> result) {
+    String key = publishingStrategy.partitionKeyFor(publishedEvent);
+
+    CompletableFuture<?> sent = json instanceof byte[] ?
+            producer.send(aggregateTopic, key, (byte[]) json) :
+            producer.send(aggregateTopic, key, (String) json);
+
+    sent
             .whenComplete((o, throwable) -> {
               if (throwable != null) {
                 result.completeExceptionally(throwable);
@@ -38,6 +38,48 @@ public class EventuateConfigurationProperties {
   @Value("${eventuatelocal.cdc.polling.parallel.channels:}")
   private String[] pollingParallelChannels;
 
+  @Value("${eventuatelocal.cdc.polling.hash.buckets:#{0}}")
+  private int pollingHashBuckets;
+
+  @Value("${eventuatelocal.cdc.polling.fetch.size:#{0}}")
+  private int pollingFetchSize;
+
+  @Value("${eventuatelocal.cdc.polling.max.interval.in.milliseconds:#{0}}")
+  private int pollingMaxIntervalInMilliseconds;
+
+  @Value("${eventuatelocal.cdc.min.events.per.polling:#{0}}")
+  private int minEventsPerPolling;
+
+  @Value("${eventuatelocal.cdc.polling.target.batch.duration.in.milliseconds:#{0}}")
+  private int pollingTargetBatchDurationInMilliseconds;
+
+  @Value("${eventuatelocal.cdc.polling.notification.channel:#{null}}")
+  private String pollingNotificationChannel;
+
+  @Value("${eventuatelocal.cdc.polling.replica.data.source.url:#{null}}")
+  private String pollingReplicaDataSourceUrl;
+
+  @Value("${eventuatelocal.cdc.polling.replica.data.source.username:#{null}}")
+  private String pollingReplicaDataSourceUserName;
+
+  @Value("${eventuatelocal.cdc.polling.replica.data.source.password:#{null}}")
+  private String pollingReplicaDataSourcePassword;
+
+  @Value("${eventuatelocal.cdc.polling.max.replica.lag.in.milliseconds:#{1000}}")
+  private int pollingMaxReplicaLagInMilliseconds;
+
+  @Value("${eventuatelocal.cdc.polling.probe.tables:#{false}}")
+  private boolean pollingProbeTables;
+
+  @Value("${eventuatelocal.cdc.polling.index.advice:#{true}}")
+  private boolean pollingIndexAdvice;
+
+  @Value("${eventuatelocal.cdc.polling.create.indexes:#{false}}")
+  private boolean pollingCreateIndexes;
+
+  @Value("${eventuatelocal.cdc.polling.pool.size:#{0}}")
+  private int pollingPoolSize;
+
   @Value("${eventuate.cdc.outbox.partitioning.outbox.tables:#{null}}")
   private Integer outboxTables;
 
@@ -92,9 +134,42 @@ public class EventuateConfigurationProperties {
   @Value("${eventuate.cdc.kafka.batch.processing.max.batch.size:#{1000000}}")
   private int maxBatchSize;
 
+  @Value("${eventuate.cdc.kafka.batch.processing.linger.ms:#{0}}")
+  private long batchLingerMs;
+
+  @Value("${eventuate.cdc.kafka.batch.processing.max.in.flight.batches.per.partition:#{1}}")
+  private int maxInFlightBatchesPerPartition;
+
+  @Value("${eventuate.cdc.kafka.sender.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+  private int kafkaSenderThreads;
+
   @Value("${eventuate.cdc.postgres.max.lsn.diff.size.in.mb:#{1000}}")
   private int maxLsnDiffInMb;
 
+  @Value("${eventuate.cdc.postgres.output.plugin:#{\"wal2json\"}}")
+  private String postgresOutputPlugin;
+
+  @Value("${eventuate.cdc.postgres.publication.name:#{\"eventuate_publication\"}}")
+  private String postgresPublicationName;
+
+  @Value("${eventuate.cdc.postgres.wal2json.format.version:#{1}}")
+  private int postgresWal2JsonFormatVersion;
+
+  @Value("${eventuate.cdc.postgres.server.side.table.filtering:#{false}}")
+  private boolean postgresServerSideTableFiltering;
+
+  @Value("${eventuate.cdc.postgres.wal.read.park.interval.in.microseconds:#{0}}")
+  private int postgresWalReadParkIntervalInMicroseconds;
+
+  @Value("${eventuate.cdc.postgres.pgoutput.streaming:#{false}}")
+  private boolean postgresPgOutputStreaming;
+
+  @Value("${eventuate.cdc.postgres.pgoutput.streaming.max.memory.in.mb:#{64}}")
+  private int postgresPgOutputStreamingMaxMemoryInMb;
+
+  @Value("${eventuate.cdc.postgres.replication.slot.tables:#{null}}")
+  private String postgresReplicationSlotTables;
+
   public String getDbUserName() {
     return dbUserName;
   }
@@ -195,6 +270,10 @@ public class EventuateConfigurationProperties {
     return monitoringRetryAttempts;
   }
 
+  /**
+   * Not used, the processing status is checked without an additional replication slot.
+   */
+  @Deprecated
   public String getAdditionalServiceReplicationSlotName() {
     return additionalServiceReplicationSlotName;
   }
@@ -219,10 +298,78 @@ public class EventuateConfigurationProperties {
     return maxBatchSize;
   }
 
+  public long getBatchLingerMs() {
+    return batchLingerMs;
+  }
+
+  public int getMaxInFlightBatchesPerPartition() {
+    return maxInFlightBatchesPerPartition;
+  }
+
+  public int getKafkaSenderThreads() {
+    return kafkaSenderThreads;
+  }
+
   public String[] getPollingParallelChannels() {
     return pollingParallelChannels;
   }
 
+  public int getPollingHashBuckets() {
+    return pollingHashBuckets;
+  }
+
+  public int getPollingFetchSize() {
+    return pollingFetchSize;
+  }
+
+  public int getPollingMaxIntervalInMilliseconds() {
+    return pollingMaxIntervalInMilliseconds;
+  }
+
+  public int getMinEventsPerPolling() {
+    return minEventsPerPolling;
+  }
+
+  public int getPollingTargetBatchDurationInMilliseconds() {
+    return pollingTargetBatchDurationInMilliseconds;
+  }
+
+  public String getPollingNotificationChannel() {
+    return pollingNotificationChannel;
+  }
+
+  public String getPollingReplicaDataSourceUrl() {
+    return pollingReplicaDataSourceUrl;
+  }
+
+  public String getPollingReplicaDataSourceUserName() {
+    return pollingReplicaDataSourceUserName;
+  }
+
+  public String getPollingReplicaDataSourcePassword() {
+    return pollingReplicaDataSourcePassword;
+  }
+
+  public int getPollingMaxReplicaLagInMilliseconds() {
+    return pollingMaxReplicaLagInMilliseconds;
+  }
+
+  public boolean isPollingProbeTables() {
+    return pollingProbeTables;
+  }
+
+  public boolean isPollingIndexAdvice() {
+    return pollingIndexAdvice;
+  }
+
+  public boolean isPollingCreateIndexes() {
+    return pollingCreateIndexes;
+  }
+
+  public int getPollingPoolSize() {
+    return pollingPoolSize;
+  }
+
   public Integer getOutboxTables() {
     return outboxTables;
   }
@@ -235,6 +382,38 @@ public class EventuateConfigurationProperties {
     return maxLsnDiffInMb;
   }
 
+  public String getPostgresOutputPlugin() {
+    return postgresOutputPlugin;
+  }
+
+  public String getPostgresPublicationName() {
+    return postgresPublicationName;
+  }
+
+  public int getPostgresWal2JsonFormatVersion() {
+    return postgresWal2JsonFormatVersion;
+  }
+
+  public boolean isPostgresServerSideTableFiltering() {
+    return postgresServerSideTableFiltering;
+  }
+
+  public int getPostgresWalReadParkIntervalInMicroseconds() {
+    return postgresWalReadParkIntervalInMicroseconds;
+  }
+
+  public boolean isPostgresPgOutputStreaming() {
+    return postgresPgOutputStreaming;
+  }
+
+  public int getPostgresPgOutputStreamingMaxMemoryInMb() {
+    return postgresPgOutputStreamingMaxMemoryInMb;
+  }
+
+  public String getPostgresReplicationSlotTables() {
+    return postgresReplicationSlotTables;
+  }
+
   public void setMaxLsnDiffInMb(int maxLsnDiffInMb) {
     this.maxLsnDiffInMb = maxLsnDiffInMb;
   }
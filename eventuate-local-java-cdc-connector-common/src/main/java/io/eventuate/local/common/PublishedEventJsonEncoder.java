@@ -0,0 +1,39 @@
+package io.eventuate.local.common;
+
+import io.eventuate.common.eventuate.local.BinlogFileOffset;
+import io.eventuate.common.eventuate.local.PublishedEvent;
+
+/**
+ * Writes the JSON of a {@link PublishedEvent} field by field, in the same layout Jackson databinding produces for it,
+ * so publishing an event does not go through reflective serialization.
+ */
+public class PublishedEventJsonEncoder {
+
+  public static byte[] encode(PublishedEvent publishedEvent) {
+    return Utf8JsonWriter.write(writer -> {
+      writer
+              .ascii("{\"id\":").string(publishedEvent.getId())
+              .ascii(",\"entityId\":").string(publishedEvent.getEntityId())
+              .ascii(",\"entityType\":").string(publishedEvent.getEntityType())
+              .ascii(",\"eventData\":").string(publishedEvent.getEventData())
+              .ascii(",\"eventType\":").string(publishedEvent.getEventType())
+              .ascii(",\"binlogFileOffset\":");
+
+      BinlogFileOffset binlogFileOffset = publishedEvent.getBinlogFileOffset().orElse(null);
+
+      if (binlogFileOffset == null) {
+        writer.ascii("null");
+      } else {
+        writer
+                .ascii("{\"binlogFilename\":").string(binlogFileOffset.getBinlogFilename())
+                .ascii(",\"offset\":").number(binlogFileOffset.getOffset())
+                .ascii(",\"rowsToSkip\":").number(binlogFileOffset.getRowsToSkip())
+                .ascii("}");
+      }
+
+      writer
+              .ascii(",\"metadata\":").string(publishedEvent.getMetadata() == null ? null : publishedEvent.getMetadata().orElse(null))
+              .ascii("}");
+    });
+  }
+}
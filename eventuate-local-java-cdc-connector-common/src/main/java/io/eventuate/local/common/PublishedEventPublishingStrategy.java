@@ -23,6 +23,11 @@ public class PublishedEventPublishingStrategy implements PublishingStrategy<Publ
     return JSonMapper.toJson(eventInfo);
   }
 
+  @Override
+  public byte[] toJsonBytes(PublishedEvent eventInfo) {
+    return PublishedEventJsonEncoder.encode(eventInfo);
+  }
+
   @Override
   public Optional<Long> getCreateTime(PublishedEvent publishedEvent) {
 // TODO: Original implementation is based in Int128 id, which should not be required.
@@ -1,5 +1,6 @@
 package io.eventuate.local.common;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 public interface PublishingStrategy<M> {
@@ -10,5 +11,12 @@ public interface PublishingStrategy<M> {
 
   String toJson(M eventInfo);
 
+  /**
+   * Serializes straight to UTF-8, strategies that can write bytes without building a string should override it.
+   */
+  default byte[] toJsonBytes(M eventInfo) {
+    return toJson(eventInfo).getBytes(StandardCharsets.UTF_8);
+  }
+
   Optional<Long> getCreateTime(M publishedEvent);
 }
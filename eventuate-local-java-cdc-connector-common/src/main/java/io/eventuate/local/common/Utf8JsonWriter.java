@@ -0,0 +1,146 @@
+package io.eventuate.local.common;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Writes JSON as UTF-8 into a buffer that is reused by the thread, only the final copy of the exact size is allocated.
+ * Strings are escaped the same way Jackson escapes them.
+ */
+public class Utf8JsonWriter {
+  private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+  private static final int MAX_BYTES_PER_CHAR = 6;
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+  private static final ThreadLocal<Utf8JsonWriter> writers = ThreadLocal.withInitial(Utf8JsonWriter::new);
+
+  private byte[] output = new byte[INITIAL_CAPACITY];
+  private int position;
+
+  private Utf8JsonWriter() {
+  }
+
+  public static byte[] write(Consumer<Utf8JsonWriter> json) {
+    Utf8JsonWriter writer = writers.get();
+    writer.position = 0;
+    json.accept(writer);
+    byte[] result = Arrays.copyOf(writer.output, writer.position);
+
+    // a single large document should not keep a large buffer for the life of the thread
+    if (writer.output.length > MAX_RETAINED_CAPACITY) {
+      writer.output = new byte[INITIAL_CAPACITY];
+    }
+
+    return result;
+  }
+
+  /**
+   * Writes text that contains only ASCII characters, such as punctuation and field names.
+   */
+  public Utf8JsonWriter ascii(String text) {
+    ensureCapacity(text.length());
+
+    for (int i = 0; i < text.length(); i++) {
+      output[position++] = (byte) text.charAt(i);
+    }
+
+    return this;
+  }
+
+  /**
+   * Writes a part of a text that is already JSON.
+   */
+  public Utf8JsonWriter raw(String json, int from, int to) {
+    return utf8(json, from, to, false);
+  }
+
+  public Utf8JsonWriter raw(String json) {
+    return utf8(json, 0, json.length(), false);
+  }
+
+  /**
+   * Writes the content of a JSON string, without the quotes.
+   */
+  public Utf8JsonWriter escaped(String value) {
+    return utf8(value, 0, value.length(), true);
+  }
+
+  /**
+   * Writes a quoted JSON string, or null.
+   */
+  public Utf8JsonWriter string(String value) {
+    if (value == null) {
+      return ascii("null");
+    }
+
+    return ascii("\"").escaped(value).ascii("\"");
+  }
+
+  public Utf8JsonWriter number(long value) {
+    return ascii(Long.toString(value));
+  }
+
+  private Utf8JsonWriter utf8(String text, int from, int to, boolean escape) {
+    ensureCapacity((to - from) * MAX_BYTES_PER_CHAR);
+
+    for (int i = from; i < to; i++) {
+      char c = text.charAt(i);
+
+      if (c < 0x80) {
+        if (escape && (c < 0x20 || c == '"' || c == '\\')) {
+          escape(c);
+        } else {
+          put(c);
+        }
+      } else if (c < 0x800) {
+        put(0xC0 | (c >> 6));
+        put(0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(text.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, text.charAt(++i));
+        put(0xF0 | (codePoint >> 18));
+        put(0x80 | ((codePoint >> 12) & 0x3F));
+        put(0x80 | ((codePoint >> 6) & 0x3F));
+        put(0x80 | (codePoint & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        put('?');
+      } else {
+        put(0xE0 | (c >> 12));
+        put(0x80 | ((c >> 6) & 0x3F));
+        put(0x80 | (c & 0x3F));
+      }
+    }
+
+    return this;
+  }
+
+  private void escape(char c) {
+    put('\\');
+
+    switch (c) {
+      case '"': put('"'); break;
+      case '\\': put('\\'); break;
+      case '\b': put('b'); break;
+      case '\t': put('t'); break;
+      case '\n': put('n'); break;
+      case '\f': put('f'); break;
+      case '\r': put('r'); break;
+      default:
+        put('u');
+        put('0');
+        put('0');
+        put(HEX[c >> 4]);
+        put(HEX[c & 0xF]);
+    }
+  }
+
+  private void put(int b) {
+    output[position++] = (byte) b;
+  }
+
+  private void ensureCapacity(int bytes) {
+    if (position + bytes > output.length) {
+      output = Arrays.copyOf(output, Math.max(output.length * 2, position + bytes));
+    }
+  }
+}
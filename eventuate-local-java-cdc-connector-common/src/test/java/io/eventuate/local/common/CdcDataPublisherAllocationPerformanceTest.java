@@ -0,0 +1,93 @@
+package io.eventuate.local.common;
+
+import com.sun.management.ThreadMXBean;
+import io.eventuate.cdc.producer.wrappers.DataProducer;
+import io.eventuate.common.eventuate.local.PublishedEvent;
+import io.eventuate.messaging.kafka.common.EventuateBinaryMessageEncoding;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+public class CdcDataPublisherAllocationPerformanceTest {
+
+  private static final int MESSAGES = 200000;
+  private static final int WARMUP_MESSAGES = 50000;
+
+  private PublishedEventPublishingStrategy publishingStrategy = new PublishedEventPublishingStrategy();
+  private long sentBytes;
+
+  @Test
+  public void compareAllocationPerMessage() {
+    PublishedEvent event = new PublishedEvent(UUID.randomUUID().toString(),
+            UUID.randomUUID().toString(),
+            "net.chrisrichardson.eventstore.example.Account",
+            "{\"amount\":\"12345.67\",\"description\":\"" + UUID.randomUUID() + "\"}",
+            "net.chrisrichardson.eventstore.example.AccountDebitedEvent",
+            null,
+            Optional.empty());
+
+    CdcDataPublisher<PublishedEvent> cdcDataPublisher = new CdcDataPublisher<>(this::createDataProducer,
+            (offset, topic) -> true,
+            publishingStrategy,
+            new SimpleMeterRegistry());
+
+    cdcDataPublisher.start();
+
+    measure("string body encoded by the producer",
+            () -> consume(EventuateBinaryMessageEncoding.stringToBytes(publishingStrategy.toJson(event))));
+    measure("utf-8 body", () -> consume(publishingStrategy.toJsonBytes(event)));
+    measure("CdcDataPublisher.sendMessage", () -> cdcDataPublisher.sendMessage(event));
+  }
+
+  private void measure(String name, Runnable send) {
+    for (int i = 0; i < WARMUP_MESSAGES; i++) {
+      send.run();
+    }
+
+    ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long allocatedStart = threadMXBean.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+
+    for (int i = 0; i < MESSAGES; i++) {
+      send.run();
+    }
+
+    System.out.println(String.format("%s: %s ns per message, %s bytes allocated per message",
+            name,
+            (System.nanoTime() - start) / MESSAGES,
+            (threadMXBean.getThreadAllocatedBytes(threadId) - allocatedStart) / MESSAGES));
+  }
+
+  private void consume(byte[] body) {
+    sentBytes += body.length;
+  }
+
+  private DataProducer createDataProducer() {
+    return new DataProducer() {
+      @Override
+      public CompletableFuture<?> send(String topic, String key, String body) {
+        return send(topic, key, EventuateBinaryMessageEncoding.stringToBytes(body));
+      }
+
+      @Override
+      public CompletableFuture<?> send(String topic, String key, byte[] body) {
+        consume(body);
+        return CompletableFuture.completedFuture(null);
+      }
+
+      @Override
+      public boolean prefersBytes() {
+        return true;
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+  }
+}
@@ -0,0 +1,65 @@
+package io.eventuate.local.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.sun.management.ThreadMXBean;
+import io.eventuate.common.eventuate.local.BinlogFileOffset;
+import io.eventuate.common.eventuate.local.PublishedEvent;
+import io.eventuate.common.json.mapper.JSonMapper;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public class PublishedEventEncodingPerformanceTest {
+
+  private static final int EVENTS = 1000000;
+  private static final int WARMUP_EVENTS = 1000000;
+
+  private long encodedBytes;
+
+  @Test
+  public void compareThroughput() {
+    PublishedEvent event = new PublishedEvent(UUID.randomUUID().toString(),
+            UUID.randomUUID().toString(),
+            "net.chrisrichardson.eventstore.example.Account",
+            "{\"amount\":\"12345.67\",\"description\":\"" + UUID.randomUUID() + "\"}",
+            "net.chrisrichardson.eventstore.example.AccountDebitedEvent",
+            new BinlogFileOffset("mysql-bin.000003", 123456789L, 1),
+            Optional.of("{\"tenant\":\"" + UUID.randomUUID() + "\"}"));
+
+    measure("jackson databinding", () -> {
+      try {
+        return JSonMapper.objectMapper.writeValueAsBytes(event);
+      } catch (JsonProcessingException e) {
+        throw new RuntimeException(e);
+      }
+    });
+
+    measure("PublishedEventJsonEncoder", () -> PublishedEventJsonEncoder.encode(event));
+  }
+
+  private void measure(String name, Supplier<byte[]> encoder) {
+    for (int i = 0; i < WARMUP_EVENTS; i++) {
+      encodedBytes += encoder.get().length;
+    }
+
+    ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long allocatedStart = threadMXBean.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+
+    for (int i = 0; i < EVENTS; i++) {
+      encodedBytes += encoder.get().length;
+    }
+
+    long elapsed = System.nanoTime() - start;
+
+    System.out.println(String.format("%s: %s events per second, %s ns per event, %s bytes allocated per event",
+            name,
+            EVENTS * 1000000000L / elapsed,
+            elapsed / EVENTS,
+            (threadMXBean.getThreadAllocatedBytes(threadId) - allocatedStart) / EVENTS));
+  }
+}
@@ -0,0 +1,64 @@
+package io.eventuate.local.common;
+
+import io.eventuate.common.eventuate.local.BinlogFileOffset;
+import io.eventuate.common.eventuate.local.PublishedEvent;
+import io.eventuate.common.json.mapper.JSonMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+public class PublishedEventJsonEncoderTest {
+
+  @Test
+  public void shouldEncodeEventLikeJackson() {
+    assertEncodedLikeJackson(new PublishedEvent("0000017a-1b2c-3d4e-0000-000000000001",
+            "0000017a-1b2c-3d4e-0000-000000000002",
+            "net.chrisrichardson.eventstore.example.Account",
+            "{\"amount\":\"12345.67\"}",
+            "net.chrisrichardson.eventstore.example.AccountDebitedEvent",
+            new BinlogFileOffset("mysql-bin.000003", 4567L, 2),
+            Optional.of("{\"tenant\":\"t1\"}")));
+  }
+
+  @Test
+  public void shouldEncodeEventWithoutOffsetAndMetadata() {
+    assertEncodedLikeJackson(new PublishedEvent("id", "entityId", "entityType", "{}", "eventType", null, Optional.empty()));
+  }
+
+  @Test
+  public void shouldEscapeStringsLikeJackson() {
+    assertEncodedLikeJackson(new PublishedEvent("id",
+            "entity\"Id\\",
+            "caf\u00e9",
+            "{\"text\":\"line\\nbreak \u00e9 \u20ac \ud83d\ude00\"}\u0001\u001f\b\f\t\r\n",
+            "\u041f\u0440\u0438\u0432\u0435\u0442",
+            new BinlogFileOffset("file\u00e9", Long.MAX_VALUE, Integer.MAX_VALUE),
+            Optional.of("\u0000")));
+  }
+
+  @Test
+  public void shouldEncodeNegativeAndZeroOffsetsLikeJackson() {
+    assertEncodedLikeJackson(new PublishedEvent("id", "entityId", "entityType", "{}", "eventType",
+            new BinlogFileOffset("", -1L, 0), Optional.empty()));
+  }
+
+  @Test
+  public void shouldEncodeSmallEventAfterLargeOne() {
+    StringBuilder largeEventData = new StringBuilder("{\"text\":\"");
+
+    for (int i = 0; i < 100000; i++) {
+      largeEventData.append('\u00e9');
+    }
+
+    assertEncodedLikeJackson(new PublishedEvent("id", "entityId", "entityType", largeEventData.append("\"}").toString(), "eventType",
+            null, Optional.empty()));
+    assertEncodedLikeJackson(new PublishedEvent("id", "entityId", "entityType", "{}", "eventType", null, Optional.empty()));
+  }
+
+  private void assertEncodedLikeJackson(PublishedEvent publishedEvent) {
+    Assert.assertEquals(JSonMapper.toJson(publishedEvent),
+            new String(PublishedEventJsonEncoder.encode(publishedEvent), StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,99 @@
+package io.eventuate.local.polling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chooses the delay before the next poll and the number of rows to request, per polling thread.
+ *
+ * Empty polls double the delay from the configured polling interval up to the ceiling,
+ * a poll that returns rows resets it to zero.
+ * The batch size doubles while full batches complete within the target duration and is halved when they take longer.
+ * When the ceiling equals the interval and the minimal batch size equals the maximal one the behaviour is the same as fixed polling.
+ */
+public class AdaptivePollingController {
+  private final int minIntervalInMilliseconds;
+  private final int maxIntervalInMilliseconds;
+  private final int minBatchSize;
+  private final int maxBatchSize;
+  private final int targetBatchDurationInMilliseconds;
+
+  private final AtomicLong intervalInMilliseconds = new AtomicLong(0);
+  private final AtomicInteger batchSize;
+  private final AtomicLong lastBatchDurationInMilliseconds = new AtomicLong(0);
+
+  public AdaptivePollingController(int minIntervalInMilliseconds,
+                                   int maxIntervalInMilliseconds,
+                                   int minBatchSize,
+                                   int maxBatchSize,
+                                   int targetBatchDurationInMilliseconds) {
+
+    if (minBatchSize <= 0 || minBatchSize > maxBatchSize) {
+      throw new IllegalArgumentException(String.format("Min batch size %s should be greater than 0 and not greater than max batch size %s", minBatchSize, maxBatchSize));
+    }
+
+    this.minIntervalInMilliseconds = minIntervalInMilliseconds;
+    this.maxIntervalInMilliseconds = Math.max(minIntervalInMilliseconds, maxIntervalInMilliseconds);
+    this.minBatchSize = minBatchSize;
+    this.maxBatchSize = maxBatchSize;
+    this.targetBatchDurationInMilliseconds = targetBatchDurationInMilliseconds;
+
+    batchSize = new AtomicInteger(maxBatchSize);
+  }
+
+  public static AdaptivePollingController fixed(int intervalInMilliseconds, int batchSize) {
+    return new AdaptivePollingController(intervalInMilliseconds, intervalInMilliseconds, batchSize, batchSize, Integer.MAX_VALUE);
+  }
+
+  public void registerMetrics(MeterRegistry meterRegistry, Tags tags) {
+    if (meterRegistry == null) {
+      return;
+    }
+
+    meterRegistry.gauge("eventuate.cdc.polling.adaptive.interval", tags, intervalInMilliseconds);
+    meterRegistry.gauge("eventuate.cdc.polling.adaptive.batch.size", tags, batchSize);
+    meterRegistry.gauge("eventuate.cdc.polling.adaptive.batch.duration", tags, lastBatchDurationInMilliseconds);
+  }
+
+  public int getBatchSize() {
+    return batchSize.get();
+  }
+
+  public long getIntervalInMilliseconds() {
+    return intervalInMilliseconds.get();
+  }
+
+  /**
+   * @param maxProcessedEventsPerTable the largest number of rows read from one table, the batch size limits every table separately
+   */
+  public void onPoll(int maxProcessedEventsPerTable, long durationInMilliseconds) {
+    if (maxProcessedEventsPerTable == 0) {
+      long interval = intervalInMilliseconds.get();
+      intervalInMilliseconds.set(interval == 0 ? minIntervalInMilliseconds : Math.min(interval * 2, maxIntervalInMilliseconds));
+      return;
+    }
+
+    intervalInMilliseconds.set(0);
+    lastBatchDurationInMilliseconds.set(durationInMilliseconds);
+
+    int size = batchSize.get();
+
+    if (durationInMilliseconds > targetBatchDurationInMilliseconds) {
+      batchSize.set(Math.max(size / 2, minBatchSize));
+    } else if (maxProcessedEventsPerTable >= size) {
+      batchSize.set((int) Math.min((long) size * 2, maxBatchSize));
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "AdaptivePollingController{" +
+            "intervalInMilliseconds=" + intervalInMilliseconds +
+            ", batchSize=" + batchSize +
+            ", lastBatchDurationInMilliseconds=" + lastBatchDurationInMilliseconds +
+            '}';
+  }
+}
@@ -0,0 +1,44 @@
+package io.eventuate.local.polling;
+
+public enum OutboxIndexPlan {
+
+  MYSQL("composite", "CREATE INDEX %s ON %s (%s, %s)"),
+  POSTGRES("partial", "CREATE INDEX CONCURRENTLY IF NOT EXISTS %s ON %s (%4$s) WHERE %3$s = 0"),
+  MSSQL("filtered", "CREATE INDEX %s ON %s (%4$s) WHERE %3$s = 0");
+
+  private final String name;
+  private final String format;
+
+  OutboxIndexPlan(String name, String format) {
+    this.name = name;
+    this.format = format;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String createIndexDdl(String indexName, String table, String publishedColumn, String pk) {
+    return String.format(format, indexName, table, publishedColumn, pk);
+  }
+
+  public boolean isCatalogSchema() {
+    return this == MYSQL;
+  }
+
+  public static OutboxIndexPlan forDataSourceUrl(String dataSourceUrl) {
+    if (dataSourceUrl.startsWith("jdbc:mysql:") || dataSourceUrl.startsWith("jdbc:mariadb:")) {
+      return MYSQL;
+    }
+
+    if (dataSourceUrl.startsWith("jdbc:postgresql:")) {
+      return POSTGRES;
+    }
+
+    if (dataSourceUrl.startsWith("jdbc:sqlserver:")) {
+      return MSSQL;
+    }
+
+    throw new IllegalArgumentException(String.format("Outbox index advice is not supported for %s", dataSourceUrl));
+  }
+}
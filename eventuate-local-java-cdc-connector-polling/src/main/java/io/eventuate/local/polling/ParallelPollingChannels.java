@@ -1,5 +1,6 @@
 package io.eventuate.local.polling;
 
+import io.eventuate.local.polling.spec.BucketHashFunction;
 import io.eventuate.local.polling.spec.PollingSpec;
 
 import java.util.Arrays;
@@ -7,6 +8,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static java.util.Collections.singletonList;
@@ -14,28 +16,60 @@ import static java.util.Collections.singletonList;
 public class ParallelPollingChannels {
 
     private Set<String> channels;
+    private int hashBuckets;
 
     @Override
     public String toString() {
         return "ParallelPollingChannels{" +
                 "channels=" + channels +
+                ", hashBuckets=" + hashBuckets +
                 '}';
     }
 
     public ParallelPollingChannels(Set<String> channels) {
+        this(channels, 0);
+    }
+
+    public ParallelPollingChannels(Set<String> channels, int hashBuckets) {
+        if (hashBuckets < 0) {
+            throw new IllegalArgumentException("Hash buckets parameter should not be negative.");
+        }
+
         this.channels = channels;
+        this.hashBuckets = hashBuckets;
     }
 
     public static ParallelPollingChannels make(String[] channels) {
         return new ParallelPollingChannels(new HashSet<>(Arrays.asList(channels)));
     }
 
+    public static ParallelPollingChannels make(String[] channels, int hashBuckets) {
+        return new ParallelPollingChannels(new HashSet<>(Arrays.asList(channels)), hashBuckets);
+    }
+
     public int size() {
         return channels.size();
     }
 
+    public boolean isHashBucketing() {
+        return hashBuckets > 1;
+    }
+
     public List<PollingSpec> makePollingSpecs() {
         return channels.isEmpty() ? singletonList(PollingSpec.ALL) : Stream.concat(Stream.of(PollingSpec.excludingChannels(channels)), channels.stream().map(PollingSpec::forChannel)).collect(Collectors.toList());
     }
 
+    public List<PollingSpec> makePollingSpecs(BucketHashFunction bucketHashFunction) {
+        if (!isHashBucketing()) {
+            return makePollingSpecs();
+        }
+
+        return makePollingSpecs()
+                .stream()
+                .flatMap(pollingSpec -> IntStream
+                        .range(0, hashBuckets)
+                        .mapToObj(bucket -> PollingSpec.forHashBucket(pollingSpec, bucketHashFunction, hashBuckets, bucket)))
+                .collect(Collectors.toList());
+    }
+
 }
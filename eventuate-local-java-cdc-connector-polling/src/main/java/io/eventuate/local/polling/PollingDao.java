@@ -2,27 +2,29 @@ package io.eventuate.local.polling;
 
 import com.google.common.collect.ImmutableMap;
 import io.eventuate.common.eventuate.local.BinLogEvent;
-import io.eventuate.common.eventuate.local.BinlogFileOffset;
 import io.eventuate.common.jdbc.*;
 import io.eventuate.common.jdbc.sqldialect.EventuateSqlDialect;
 import io.eventuate.common.spring.jdbc.EventuateSpringJdbcStatementExecutor;
 import io.eventuate.local.common.*;
+import io.eventuate.local.polling.spec.BucketHashFunction;
 import io.eventuate.local.polling.spec.PollingSpec;
 import io.eventuate.local.polling.spec.SqlFragment;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
-import org.springframework.jdbc.support.rowset.SqlRowSet;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.sql.DataSource;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.sql.ResultSetMetaData;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -30,25 +32,43 @@ public class PollingDao extends BinlogEntryReader {
   private static final String PUBLISHED_FIELD = "published";
   private final String dataSourceUrl;
   private final ParallelPollingChannels pollingParallelChannels;
+  private final List<PollingSpec> pollingSpecs;
+  private final BucketHashFunction bucketHashFunction;
   private final Timer queryTimer;
+  private final Timer probeTimer;
   private final DistributionSummary rowsToProcess;
   private final Timer publishingTimer;
   private final Timer markAsProcessedTimer;
   private final Counter publishedMessages;
   private final Timer completeTimer;
   private final Counter sleepCounter;
+  private final Counter notificationCounter;
 
   private DataSource dataSource;
   private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+  private JdbcTemplate pollingJdbcTemplate;
+  private TransactionTemplate pollingTransactionTemplate;
   private EventuateJdbcStatementExecutor eventuateJdbcStatementExecutor;
   private int maxEventsPerPolling;
   private int maxAttemptsForPolling;
   private int pollingRetryIntervalInMilliseconds;
   private int pollingIntervalInMilliseconds;
+  private int pollingMaxIntervalInMilliseconds;
+  private int minEventsPerPolling;
+  private int pollingTargetBatchDurationInMilliseconds = Integer.MAX_VALUE;
   private Map<SchemaAndTable, String> pkFields = new HashMap<>();
+  private Map<PollingQueryKey, PollingQuery> pollingQueries = new ConcurrentHashMap<>();
   private EventuateSqlDialect eventuateSqlDialect;
   private final PollingProcessingStatusService pollingProcessingStatusService;
   private OutboxPartitioningSpec outboxPartitioning;
+  private Optional<PostgresNotificationListener> notificationListener = Optional.empty();
+  private Optional<ReplicaPolling> replicaPolling = Optional.empty();
+  private int pollingFetchSize;
+  private boolean pollingProbeTables;
+  private Optional<PollingIndexAdvisor> indexAdvisor = Optional.empty();
+  private Map<List<Object>, PollingQuery> probeQueries = new ConcurrentHashMap<>();
+  private Map<Runnable, PollingSpec> pollingWakeUps = new ConcurrentHashMap<>();
+  private Optional<PollingScheduler> pollingScheduler = Optional.empty();
 
   public PollingDao(MeterRegistry meterRegistry,
                     String dataSourceUrl,
@@ -76,22 +96,121 @@ public class PollingDao extends BinlogEntryReader {
     this.dataSourceUrl = dataSourceUrl;
     this.dataSource = dataSource;
     this.pollingIntervalInMilliseconds = pollingIntervalInMilliseconds;
+    this.pollingMaxIntervalInMilliseconds = pollingIntervalInMilliseconds;
     this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
-    this.eventuateJdbcStatementExecutor = new EventuateSpringJdbcStatementExecutor(new JdbcTemplate(dataSource));
+    this.pollingJdbcTemplate = new JdbcTemplate(dataSource);
+    this.eventuateJdbcStatementExecutor = new EventuateSpringJdbcStatementExecutor(pollingJdbcTemplate);
     this.maxEventsPerPolling = maxEventsPerPolling;
+    this.minEventsPerPolling = maxEventsPerPolling;
     this.maxAttemptsForPolling = maxAttemptsForPolling;
     this.pollingRetryIntervalInMilliseconds = pollingRetryIntervalInMilliseconds;
     this.eventuateSqlDialect = eventuateSqlDialect;
-    pollingProcessingStatusService = new PollingProcessingStatusService(dataSource, PUBLISHED_FIELD, eventuateSqlDialect);
     this.pollingParallelChannels = pollingParallelChannels;
+    this.bucketHashFunction = pollingParallelChannels.isHashBucketing() ? BucketHashFunction.forDataSourceUrl(dataSourceUrl) : null;
+    this.pollingSpecs = bucketHashFunction != null
+            ? pollingParallelChannels.makePollingSpecs(bucketHashFunction)
+            : pollingParallelChannels.makePollingSpecs();
+    pollingProcessingStatusService = new PollingProcessingStatusService(dataSource,
+            PUBLISHED_FIELD,
+            eventuateSqlDialect,
+            outboxPartitioning.outboxTableSuffixes(),
+            pollingSpecs,
+            (long) maxAttemptsForPolling * pollingRetryIntervalInMilliseconds,
+            pollingIntervalInMilliseconds);
 
     this.completeTimer = meterRegistry.timer("eventuate.cdc.polling.complete", "reader", readerName);
     this.queryTimer = meterRegistry.timer("eventuate.cdc.polling.query", "reader", readerName);
+    this.probeTimer = meterRegistry.timer("eventuate.cdc.polling.probe", "reader", readerName);
     this.rowsToProcess = meterRegistry.summary("eventuate.cdc.polling.batchSize", "reader", readerName);
     this.publishedMessages = meterRegistry.counter("eventuate.cdc.polling.published", "reader", readerName);
     this.publishingTimer = meterRegistry.timer("eventuate.cdc.polling.publishing", "reader", readerName);
     this.markAsProcessedTimer = meterRegistry.timer("eventuate.cdc.polling.marking", "reader", readerName);
     this.sleepCounter = meterRegistry.counter("eventuate.cdc.polling.sleep", "reader", readerName);
+    this.notificationCounter = meterRegistry.counter("eventuate.cdc.polling.notifications", "reader", readerName);
+  }
+
+  public void setPollingFetchSize(int pollingFetchSize) {
+    this.pollingFetchSize = pollingFetchSize;
+    createPollingJdbcTemplate();
+  }
+
+  public void setIndexAdvisor(boolean createIndexes) {
+    indexAdvisor = Optional.of(new PollingIndexAdvisor(meterRegistry, readerName, dataSource, dataSourceUrl, PUBLISHED_FIELD, createIndexes));
+  }
+
+  public void setPollingScheduler(PollingScheduler pollingScheduler) {
+    this.pollingScheduler = pollingScheduler.isEnabled() ? Optional.of(pollingScheduler) : Optional.empty();
+  }
+
+  public void setPollingProbeTables(boolean pollingProbeTables) {
+    this.pollingProbeTables = pollingProbeTables;
+  }
+
+  public void setReplica(DataSource replicaDataSource, String replicaDataSourceUrl, int maxReplicaLagInMilliseconds) {
+    replicaPolling = Optional.of(new ReplicaPolling(meterRegistry,
+            readerName,
+            replicaDataSource,
+            replicaDataSourceUrl,
+            maxReplicaLagInMilliseconds,
+            pollingIntervalInMilliseconds));
+
+    createPollingJdbcTemplate();
+  }
+
+  private void createPollingJdbcTemplate() {
+    DataSource pollingDataSource = replicaPolling.map(ReplicaPolling::getDataSource).orElse(dataSource);
+
+    pollingJdbcTemplate = new JdbcTemplate(pollingDataSource);
+    pollingQueries.clear();
+    probeQueries.clear();
+
+    if (pollingFetchSize == 0) {
+      pollingTransactionTemplate = null;
+      return;
+    }
+
+    pollingJdbcTemplate.setFetchSize(pollingFetchSize);
+
+    //postgres driver uses cursor based fetching only when auto commit is disabled
+    pollingTransactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(pollingDataSource));
+    pollingTransactionTemplate.setReadOnly(true);
+  }
+
+  public void setAdaptivePolling(int pollingMaxIntervalInMilliseconds, int minEventsPerPolling, int pollingTargetBatchDurationInMilliseconds) {
+    this.pollingMaxIntervalInMilliseconds = pollingMaxIntervalInMilliseconds == 0 ? pollingIntervalInMilliseconds : pollingMaxIntervalInMilliseconds;
+    this.minEventsPerPolling = minEventsPerPolling == 0 ? maxEventsPerPolling : minEventsPerPolling;
+    this.pollingTargetBatchDurationInMilliseconds = pollingTargetBatchDurationInMilliseconds == 0 ? Integer.MAX_VALUE : pollingTargetBatchDurationInMilliseconds;
+  }
+
+  public void setNotificationChannel(String notificationChannel) {
+    if (notificationChannel == null || notificationChannel.isEmpty()) {
+      notificationListener = Optional.empty();
+      return;
+    }
+
+    if (!dataSourceUrl.startsWith("jdbc:postgresql:")) {
+      throw new IllegalArgumentException(String.format("Notification channel is supported only by postgres, data source url: %s", dataSourceUrl));
+    }
+
+    notificationListener = Optional.of(new PostgresNotificationListener(dataSource,
+            notificationChannel,
+            pollingIntervalInMilliseconds,
+            this::onNotification,
+            this::wakeUpPollingThreads));
+  }
+
+  private void onNotification(String destination) {
+    notificationCounter.increment();
+
+    pollingWakeUps.forEach((pollingWakeUp, pollingSpec) -> {
+      if (destination == null || pollingSpec.matches(destination)) {
+        pollingWakeUp.run();
+      }
+    });
+  }
+
+  private void wakeUpPollingThreads() {
+    pollingWakeUps.keySet().forEach(Runnable::run);
   }
 
   @Override
@@ -115,7 +234,7 @@ public class PollingDao extends BinlogEntryReader {
     logger.info("Starting {} {} {}", readerName, pollingParallelChannels, outboxPartitioning);
 
     List<OutboxTableSuffix> suffixes = outboxPartitioning.outboxTableSuffixes();
-    stopCountDownLatch = new CountDownLatch((1 + pollingParallelChannels.size()) * suffixes.size());
+    stopCountDownLatch = new CountDownLatch(pollingSpecs.size() * suffixes.size());
 
     for (OutboxTableSuffix suffix : suffixes) {
       logger.info("Starting {} {} {}", readerName, pollingParallelChannels, suffix);
@@ -123,74 +242,237 @@ public class PollingDao extends BinlogEntryReader {
 
       running.set(true);
 
-      pollingParallelChannels.makePollingSpecs().forEach(pollingSpec -> startPollingThread(pollingSpec, suffix));
+      pollingSpecs.forEach(pollingSpec -> startPollingThread(pollingSpec, suffix));
     }
 
+    notificationListener.ifPresent(PostgresNotificationListener::start);
+
+    //creating an index can take long on a large outbox, so tables are checked while they are already polled
+    indexAdvisor.ifPresent(advisor -> executor.execute(() -> suffixes.forEach(suffix -> binlogEntryHandlers.forEach(handler ->
+            advisor.check(handler.getSchemaAndTable(), suffix.suffixAsString, () -> getPrimaryKey(handler))))));
+
     logger.info("startup completed {}", readerName);
   }
 
 
+  @Override
+  public void stop(boolean removeHandlers) {
+    notificationListener.ifPresent(PostgresNotificationListener::stop);
+    super.stop(removeHandlers);
+  }
+
+  @Override
+  protected void onStopping() {
+    //polling threads and tasks waiting for the next poll are woken up to finish
+    wakeUpPollingThreads();
+  }
+
   private ExecutorService executor = Executors.newCachedThreadPool();
 
   public void startPollingThread(PollingSpec pollingSpec, OutboxTableSuffix messageTableSuffix) {
+    AdaptivePollingController pollingController = makePollingController(pollingSpec, messageTableSuffix);
+
+    if (pollingScheduler.isPresent()) {
+      startPollingTask(pollingSpec, messageTableSuffix, pollingController);
+      return;
+    }
+
     logger.info("Starting polling thread for {}", pollingSpec);
+    PollingWakeUp pollingWakeUp = new PollingWakeUp();
+    Runnable wakeUp = pollingWakeUp::wakeUp;
+    pollingWakeUps.put(wakeUp, pollingSpec);
     executor.submit(() -> {
       logger.info("Started polling thread for {}", pollingSpec);
       while (running.get()) {
-        int processedEvents = 0;
-        long startTime = System.currentTimeMillis();
-
-        try {
-          processedEvents = binlogEntryHandlers.stream().map(handler -> processEvents(handler, pollingSpec, messageTableSuffix)).reduce(0, Integer::sum);
-        } catch (Exception e) {
-          handleProcessingFailException(e);
-        }
+        int processedEvents = poll(pollingSpec, messageTableSuffix, pollingController);
 
         try {
           if (processedEvents == 0) {
-            Thread.sleep(pollingIntervalInMilliseconds);
-            sleepCounter.increment();
-          } else {
-            long endTime = System.currentTimeMillis();
-            completeTimer.record(endTime - startTime, TimeUnit.MILLISECONDS);
-
+            pollingWakeUp.await(pollingController.getIntervalInMilliseconds());
           }
         } catch (InterruptedException e) {
           handleProcessingFailException(e);
         }
       }
+      pollingWakeUps.remove(wakeUp);
       logger.info("Stopped polling thread for {}", pollingSpec);
       stopCountDownLatch.countDown();
     });
   }
 
-  public int processEvents(BinlogEntryHandler handler, PollingSpec pollingSpec, OutboxTableSuffix messageTableSuffix) {
+  private void startPollingTask(PollingSpec pollingSpec, OutboxTableSuffix messageTableSuffix, AdaptivePollingController pollingController) {
+    logger.info("Scheduling polling task for {}", pollingSpec);
 
-    String pk = getPrimaryKey(handler);
+    AtomicReference<Runnable> wakeUp = new AtomicReference<>();
+
+    ScheduledPollingTask scheduledPollingTask = pollingScheduler.get().createTask(pollingTags(pollingSpec, messageTableSuffix),
+            () -> {
+              if (!running.get()) {
+                return -1;
+              }
+
+              return poll(pollingSpec, messageTableSuffix, pollingController) == 0 ? pollingController.getIntervalInMilliseconds() : 0;
+            },
+            () -> {
+              pollingWakeUps.remove(wakeUp.get());
+              logger.info("Stopped polling task for {}", pollingSpec);
+              stopCountDownLatch.countDown();
+            });
+
+    wakeUp.set(scheduledPollingTask::wakeUp);
+    pollingWakeUps.put(wakeUp.get(), pollingSpec);
+
+    scheduledPollingTask.start();
+  }
+
+  private int poll(PollingSpec pollingSpec, OutboxTableSuffix messageTableSuffix, AdaptivePollingController pollingController) {
+    int processedEvents = 0;
+    int maxProcessedEventsPerTable = 0;
+    long startTime = System.currentTimeMillis();
+    int limit = pollingController.getBatchSize();
+
+    try {
+      for (BinlogEntryHandler handler : handlersToPoll(pollingSpec, messageTableSuffix)) {
+        int processedEventsOfTable = processEvents(handler, pollingSpec, messageTableSuffix, limit);
+        processedEvents += processedEventsOfTable;
+        maxProcessedEventsPerTable = Math.max(maxProcessedEventsPerTable, processedEventsOfTable);
+      }
+    } catch (Exception e) {
+      handleProcessingFailException(e);
+    }
+
+    long endTime = System.currentTimeMillis();
+    pollingController.onPoll(maxProcessedEventsPerTable, endTime - startTime);
+
+    if (processedEvents == 0) {
+      sleepCounter.increment();
+    } else {
+      completeTimer.record(endTime - startTime, TimeUnit.MILLISECONDS);
+    }
+
+    return processedEvents;
+  }
+
+  private Tags pollingTags(PollingSpec pollingSpec, OutboxTableSuffix messageTableSuffix) {
+    return Tags.of("reader", readerName, "spec", pollingSpec.toString(), "suffix", String.valueOf(messageTableSuffix.suffix));
+  }
+
+  private AdaptivePollingController makePollingController(PollingSpec pollingSpec, OutboxTableSuffix messageTableSuffix) {
+    AdaptivePollingController pollingController = new AdaptivePollingController(pollingIntervalInMilliseconds,
+            pollingMaxIntervalInMilliseconds,
+            minEventsPerPolling,
+            maxEventsPerPolling,
+            pollingTargetBatchDurationInMilliseconds);
+
+    pollingController.registerMetrics(meterRegistry, pollingTags(pollingSpec, messageTableSuffix));
+
+    return pollingController;
+  }
+
+  List<BinlogEntryHandler> handlersToPoll(PollingSpec pollingSpec, OutboxTableSuffix messageTableSuffix) {
+    List<BinlogEntryHandler> handlers = new ArrayList<>(binlogEntryHandlers);
+
+    if (!pollingProbeTables || handlers.size() < 2) {
+      return handlers;
+    }
+
+    if (!isReplicaLagTolerable()) {
+      return Collections.emptyList();
+    }
+
+    PollingQuery probeQuery = probeQueries.computeIfAbsent(Arrays.asList(pollingSpec, messageTableSuffix, handlers),
+            key -> makeProbeQuery(handlers, pollingSpec, messageTableSuffix));
+
+    boolean[] pending = probeTimer.record(() -> DaoUtils.handleConnectionLost(maxAttemptsForPolling,
+            pollingRetryIntervalInMilliseconds,
+            () -> pollingJdbcTemplate.query(probeQuery.getSql(), resultSet -> {
+              boolean[] tables = new boolean[handlers.size()];
+              if (resultSet.next()) {
+                for (int i = 0; i < tables.length; i++) {
+                  tables[i] = resultSet.getInt(i + 1) == 1;
+                }
+              }
+              return tables;
+            }, probeQuery.args()),
+            this::onInterrupted,
+            running));
 
-    SqlFragment sqlFragment = pollingSpec.addToWhere(handler.getDestinationColumn());
+    List<BinlogEntryHandler> pendingHandlers = new ArrayList<>();
 
-    String findEventsQuery = eventuateSqlDialect.addLimitToSql(String.format("SELECT * FROM %s%s WHERE %s = 0 %s ORDER BY %s ASC",
-            handler.getQualifiedTable(), messageTableSuffix.suffixAsString, PUBLISHED_FIELD, sqlFragment.sql, pk), ":limit");
+    for (int i = 0; i < handlers.size(); i++) {
+      if (pending[i]) {
+        pendingHandlers.add(handlers.get(i));
+      } else {
+        pollingProcessingStatusService.onPoll(handlers.get(i).getQualifiedTable(), messageTableSuffix, pollingSpec, 0);
+      }
+    }
 
-    logger.debug("Polling with query {}", findEventsQuery);
+    return pendingHandlers;
+  }
 
+  PollingQuery makeProbeQuery(List<BinlogEntryHandler> handlers, PollingSpec pollingSpec, OutboxTableSuffix messageTableSuffix) {
     Map<String, Object> params = new HashMap<>();
-    params.put("limit", maxEventsPerPolling);
-    params.putAll(sqlFragment.params);
 
-    SqlRowSet sqlRowSet = queryTimer.record(() -> DaoUtils.handleConnectionLost(maxAttemptsForPolling,
+    //a single row with a flag per table works without FROM on mysql, postgres and mssql
+    String probes = handlers
+            .stream()
+            .map(handler -> {
+              SqlFragment sqlFragment = pollingSpec.addToWhere(handler.getDestinationColumn(), partitionKeyColumn(handler));
+              params.putAll(sqlFragment.params);
+              return String.format("CASE WHEN EXISTS (SELECT 1 FROM %s%s WHERE %s = 0 %s) THEN 1 ELSE 0 END",
+                      handler.getQualifiedTable(), messageTableSuffix.suffixAsString, PUBLISHED_FIELD, sqlFragment.sql);
+            })
+            .collect(Collectors.joining(", "));
+
+    String probeQuery = "SELECT " + probes;
+
+    logger.info("Probing tables with query {}", probeQuery);
+
+    return new PollingQuery(probeQuery, params, null);
+  }
+
+  //the lag query runs on the replica, so it is retried like the polling queries when the connection is lost
+  private boolean isReplicaLagTolerable() {
+    return replicaPolling
+            .map(replica -> DaoUtils.handleConnectionLost(maxAttemptsForPolling,
+                    pollingRetryIntervalInMilliseconds,
+                    replica::isLagTolerable,
+                    this::onInterrupted,
+                    running))
+            .orElse(true);
+  }
+
+  public int processEvents(BinlogEntryHandler handler, PollingSpec pollingSpec, OutboxTableSuffix messageTableSuffix) {
+    return processEvents(handler, pollingSpec, messageTableSuffix, maxEventsPerPolling);
+  }
+
+  public int processEvents(BinlogEntryHandler handler, PollingSpec pollingSpec, OutboxTableSuffix messageTableSuffix, int limit) {
+
+    if (!isReplicaLagTolerable()) {
+      return 0;
+    }
+
+    String pk = getPrimaryKey(handler);
+
+    PollingQueryKey pollingQueryKey = new PollingQueryKey(handler, pollingSpec, messageTableSuffix);
+
+    List<PollingRow> rows = queryTimer.record(() -> DaoUtils.handleConnectionLost(maxAttemptsForPolling,
             pollingRetryIntervalInMilliseconds,
-            () -> namedParameterJdbcTemplate.queryForRowSet(findEventsQuery, params),
+            () -> queryEvents(pollingQueryKey, pk, limit),
             this::onInterrupted,
             running));
 
     List<CompletableFuture<Object>> ids = new ArrayList<>();
 
     long publishingStartTime = System.currentTimeMillis();
-    while (sqlRowSet.next()) {
-      Object id = sqlRowSet.getObject(pk);
-      ids.add(handleEvent(id, handler, sqlRowSet, messageTableSuffix.suffix));
+    for (PollingRow row : rows) {
+      Object id = row.getColumn(pk);
+
+      if (replicaPolling.isPresent() && replicaPolling.get().isMarked(handler.getQualifiedTable() + messageTableSuffix.suffixAsString, id)) {
+        continue;
+      }
+
+      ids.add(handleEvent(id, handler, row, messageTableSuffix.suffix));
       onEventReceived();
     }
 
@@ -203,6 +485,8 @@ public class PollingDao extends BinlogEntryReader {
       markEventsAsProcessed(ids, pk, handler, publishingStartTime, messageTableSuffix.suffixAsString);
     }
 
+    pollingProcessingStatusService.onPoll(handler.getQualifiedTable(), messageTableSuffix, pollingSpec, nIds);
+
     onActivity();
 
     return nIds;
@@ -227,6 +511,8 @@ public class PollingDao extends BinlogEntryReader {
             () -> namedParameterJdbcTemplate.update(markEventsAsReadQuery, ImmutableMap.of("ids", ids)),
             this::onInterrupted,
             running));
+
+    replicaPolling.ifPresent(replica -> replica.onMarked(handler.getQualifiedTable() + messageTableSuffix, ids));
   }
 
   private Object extractId(CompletableFuture<Object> id) {
@@ -238,33 +524,93 @@ public class PollingDao extends BinlogEntryReader {
     return null;
   }
 
-  private CompletableFuture<Object> handleEvent(Object id, BinlogEntryHandler handler, SqlRowSet sqlRowSet, Integer partitionOffset) {
+  private List<PollingRow> queryEvents(PollingQueryKey pollingQueryKey, String pk, int limit) {
+    PollingQuery pollingQuery = pollingQueries.computeIfAbsent(pollingQueryKey, key -> makePollingQuery(key, pk));
+
+    try {
+      return queryEvents(pollingQuery, limit);
+    } catch (RuntimeException e) {
+      //table could be recreated with different columns
+      pollingQueries.remove(pollingQueryKey, pollingQuery);
+      throw e;
+    }
+  }
+
+  private List<PollingRow> queryEvents(PollingQuery pollingQuery, int limit) {
+    Object[] args = pollingQuery.args("limit", limit);
+    PollingRowExtractor pollingRowExtractor = new PollingRowExtractor(pollingQuery);
+
+    if (pollingTransactionTemplate == null) {
+      return pollingJdbcTemplate.query(pollingQuery.getSql(), pollingRowExtractor, args);
+    }
+
+    return pollingTransactionTemplate.execute(status -> pollingJdbcTemplate.query(pollingQuery.getSql(), pollingRowExtractor, args));
+  }
+
+  //only hash bucket polling specs read the partition key, so the dialect is known whenever it is used
+  private String partitionKeyColumn(BinlogEntryHandler<?> handler) {
+    return bucketHashFunction == null ? handler.getPartitionKeyColumn() : handler.getPartitionKeyColumn(bucketHashFunction::jsonField);
+  }
+
+  private PollingQuery makePollingQuery(PollingQueryKey pollingQueryKey, String pk) {
+    BinlogEntryHandler handler = pollingQueryKey.handler;
+    String table = handler.getQualifiedTable() + pollingQueryKey.messageTableSuffix.suffixAsString;
+
+    SqlFragment sqlFragment = pollingQueryKey.pollingSpec.addToWhere(handler.getDestinationColumn(), partitionKeyColumn(handler));
+
+    String findEventsQuery = eventuateSqlDialect.addLimitToSql(String.format("SELECT %s FROM %s WHERE %s = 0 %s ORDER BY %s ASC",
+            selectedColumns(handler, table, pk), table, PUBLISHED_FIELD, sqlFragment.sql, pk), ":limit");
+
+    logger.info("Polling with query {}", findEventsQuery);
+
+    return new PollingQuery(findEventsQuery, sqlFragment.params, jsonColumnConverter(handler));
+  }
+
+  private String selectedColumns(BinlogEntryHandler handler, String table, String pk) {
+    Optional<List<String>> columns = handler.getColumns();
+
+    if (!columns.isPresent()) {
+      return "*";
+    }
+
+    Set<String> tableColumns = pollingJdbcTemplate.query(String.format("SELECT * FROM %s WHERE 1 = 0", table), resultSet -> {
+      ResultSetMetaData metaData = resultSet.getMetaData();
+      Set<String> names = new LinkedHashSet<>();
+      for (int i = 1; i <= metaData.getColumnCount(); i++) {
+        names.add(metaData.getColumnLabel(i).toLowerCase());
+      }
+      return names;
+    });
+
+    Set<String> selectedColumns = new LinkedHashSet<>();
+    selectedColumns.add(pk);
+
+    //optional columns (e.g. auto generated ids) are selected only if they exist in the table
+    columns.get()
+            .stream()
+            .filter(column -> tableColumns.contains(column.toLowerCase()))
+            .filter(column -> !column.equalsIgnoreCase(pk))
+            .forEach(selectedColumns::add);
+
+    return String.join(", ", selectedColumns);
+  }
+
+  private BiFunction<String, Object, String> jsonColumnConverter(BinlogEntryHandler handler) {
     SchemaAndTable schemaAndTable = handler.getSchemaAndTable();
+    EventuateSchema eventuateSchema = new EventuateSchema(schemaAndTable.getSchema());
+
+    return (column, value) -> eventuateSqlDialect.jsonColumnToString(value,
+            eventuateSchema,
+            schemaAndTable.getTableName(),
+            column,
+            eventuateJdbcStatementExecutor);
+  }
 
+  private CompletableFuture<Object> handleEvent(Object id, BinlogEntryHandler handler, PollingRow row, Integer partitionOffset) {
     CompletableFuture<?> future = null;
 
     try {
-      future = handler.publish(new BinlogEntry() {
-        @Override
-        public Object getColumn(String name) {
-          return sqlRowSet.getObject(name);
-        }
-
-        @Override
-        public BinlogFileOffset getBinlogFileOffset() {
-          return null;
-        }
-
-        @Override
-        public String getJsonColumn(String name) {
-          return  eventuateSqlDialect
-                  .jsonColumnToString(sqlRowSet.getObject(name),
-                          new EventuateSchema(schemaAndTable.getSchema()),
-                          schemaAndTable.getTableName(),
-                          name,
-                          eventuateJdbcStatementExecutor);
-        }
-      }, partitionOffset);
+      future = handler.publish(row, partitionOffset);
     } catch (Exception e) {
       handleProcessingFailException(e);
     }
@@ -290,6 +636,31 @@ public class PollingDao extends BinlogEntryReader {
     return pk;
   }
 
+  private static class PollingQueryKey {
+    private final BinlogEntryHandler handler;
+    private final PollingSpec pollingSpec;
+    private final OutboxTableSuffix messageTableSuffix;
+
+    public PollingQueryKey(BinlogEntryHandler handler, PollingSpec pollingSpec, OutboxTableSuffix messageTableSuffix) {
+      this.handler = handler;
+      this.pollingSpec = pollingSpec;
+      this.messageTableSuffix = messageTableSuffix;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      PollingQueryKey that = (PollingQueryKey) o;
+      return handler == that.handler && pollingSpec == that.pollingSpec && messageTableSuffix == that.messageTableSuffix;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(handler), System.identityHashCode(pollingSpec), System.identityHashCode(messageTableSuffix));
+    }
+  }
+
   private void onInterrupted() {
     running.set(false);
     stopCountDownLatch.countDown();
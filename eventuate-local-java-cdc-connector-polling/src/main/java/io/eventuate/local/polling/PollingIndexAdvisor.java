@@ -0,0 +1,158 @@
+package io.eventuate.local.polling;
+
+import io.eventuate.common.jdbc.SchemaAndTable;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Verifies that outbox tables have an index serving "WHERE published = 0 ORDER BY pk"
+ * and either logs the DDL of the recommended index or creates it.
+ */
+public class PollingIndexAdvisor {
+  private Logger logger = LoggerFactory.getLogger(getClass());
+
+  private final MeterRegistry meterRegistry;
+  private final String readerName;
+  private final DataSource dataSource;
+  private final JdbcTemplate jdbcTemplate;
+  private final OutboxIndexPlan outboxIndexPlan;
+  private final boolean createIndexes;
+  private final String publishedColumn;
+  //gauges keep their state weakly, so the state of each table gauge is kept here
+  private final Map<String, AtomicInteger> indexedTables = new ConcurrentHashMap<>();
+
+  public PollingIndexAdvisor(MeterRegistry meterRegistry,
+                             String readerName,
+                             DataSource dataSource,
+                             String dataSourceUrl,
+                             String publishedColumn,
+                             boolean createIndexes) {
+    this.meterRegistry = meterRegistry;
+    this.readerName = readerName;
+    this.dataSource = dataSource;
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.outboxIndexPlan = outboxIndexPlanFor(dataSourceUrl);
+    this.publishedColumn = publishedColumn;
+    this.createIndexes = createIndexes;
+  }
+
+  public void check(SchemaAndTable schemaAndTable, String tableSuffix, Supplier<String> pk) {
+    String tableName = schemaAndTable.getTableName() + tableSuffix;
+    String table = String.format("%s.%s", schemaAndTable.getSchema(), tableName);
+
+    if (outboxIndexPlan == null) {
+      return;
+    }
+
+    AtomicInteger indexed = new AtomicInteger(0);
+
+    if (indexedTables.putIfAbsent(table, indexed) != null) {
+      return;
+    }
+
+    if (meterRegistry != null) {
+      meterRegistry.gauge("eventuate.cdc.polling.outbox.index",
+              Tags.of("reader", readerName, "table", table, "plan", outboxIndexPlan.getName()),
+              indexed);
+    }
+
+    try {
+      if (hasPollingIndex(schemaAndTable.getSchema(), tableName)) {
+        logger.info("Table {} has an index for polling", table);
+        indexed.set(1);
+        return;
+      }
+
+      String ddl = outboxIndexPlan.createIndexDdl(tableName + "_unpublished", table, publishedColumn, pk.get());
+
+      if (!createIndexes) {
+        logger.warn("Table {} has no index for polling, polling cost grows with the table size. Recommended {} index: {}",
+                table, outboxIndexPlan.getName(), ddl);
+        return;
+      }
+
+      logger.info("Creating {} index for polling: {}", outboxIndexPlan.getName(), ddl);
+      jdbcTemplate.execute(ddl);
+      indexed.set(1);
+    } catch (Exception e) {
+      logger.error(String.format("Checking index for polling of table %s failed", table), e);
+    }
+  }
+
+  private OutboxIndexPlan outboxIndexPlanFor(String dataSourceUrl) {
+    try {
+      return OutboxIndexPlan.forDataSourceUrl(dataSourceUrl);
+    } catch (IllegalArgumentException e) {
+      logger.warn("Polling index advice is disabled for reader {}: {}", readerName, e.getMessage());
+      return null;
+    }
+  }
+
+  private boolean hasPollingIndex(String schema, String tableName) throws SQLException {
+    try (Connection connection = dataSource.getConnection()) {
+      DatabaseMetaData metaData = connection.getMetaData();
+
+      if (hasPollingIndex(metaData, schema, tableName)) {
+        return true;
+      }
+
+      //identifiers are stored in upper or lower case depending on the database
+      return hasPollingIndex(metaData, schema.toLowerCase(), tableName.toLowerCase())
+              || hasPollingIndex(metaData, schema.toUpperCase(), tableName.toUpperCase());
+    }
+  }
+
+  private boolean hasPollingIndex(DatabaseMetaData metaData, String schema, String tableName) throws SQLException {
+    try (ResultSet resultSet = outboxIndexPlan.isCatalogSchema()
+            ? metaData.getIndexInfo(schema, null, tableName, false, false)
+            : metaData.getIndexInfo(null, schema, tableName, false, false)) {
+
+      while (resultSet.next()) {
+        String indexName = resultSet.getString("INDEX_NAME");
+
+        if (indexName == null) {
+          continue;
+        }
+
+        String filterCondition = resultSet.getString("FILTER_CONDITION");
+
+        boolean leadingPublished = resultSet.getInt("ORDINAL_POSITION") == 1 && publishedColumn.equalsIgnoreCase(resultSet.getString("COLUMN_NAME"));
+        boolean filteredByPublished = filterCondition != null && isFilteredByUnpublished(filterCondition);
+        boolean recommended = indexName.equalsIgnoreCase(tableName + "_unpublished");
+
+        if (leadingPublished || filteredByPublished || recommended) {
+          return true;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Accepts a filter that requires "published = 0", alone or in a conjunction,
+   * e.g. "(published = 0)" on postgres and "([published]=(0))" on mssql.
+   */
+  private boolean isFilteredByUnpublished(String filterCondition) {
+    String unpublished = publishedColumn.toLowerCase() + "=0";
+
+    return Arrays
+            .stream(filterCondition.toLowerCase().replaceAll("[()\\[\\]\"`]", "").split("\\s+and\\s+"))
+            .map(predicate -> predicate.replaceAll("\\s+", ""))
+            .anyMatch(unpublished::equals);
+  }
+}
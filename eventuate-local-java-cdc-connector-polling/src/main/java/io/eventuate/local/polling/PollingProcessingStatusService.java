@@ -1,13 +1,18 @@
 package io.eventuate.local.polling;
 
+import io.eventuate.common.jdbc.OutboxTableSuffix;
 import io.eventuate.common.jdbc.sqldialect.EventuateSqlDialect;
 import io.eventuate.local.common.CdcProcessingStatus;
 import io.eventuate.local.common.CdcProcessingStatusService;
+import io.eventuate.local.polling.spec.PollingSpec;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 import javax.sql.DataSource;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 
 public class PollingProcessingStatusService implements CdcProcessingStatusService {
@@ -15,17 +20,38 @@ public class PollingProcessingStatusService implements CdcProcessingStatusServic
   private final String publishedField;
   private final Set<String> tables = new CopyOnWriteArraySet<>();
   private final EventuateSqlDialect eventuateSqlDialect;
+  private final List<OutboxTableSuffix> outboxTableSuffixes;
+  private final List<PollingSpec> pollingSpecs;
+  private final long pendingPollValidityInMilliseconds;
+  private final long emptyPollValidityInMilliseconds;
+  private final Map<String, Map<PollingSpec, Poll>> polls = new ConcurrentHashMap<>();
 
-  public PollingProcessingStatusService(DataSource dataSource, String publishedField, EventuateSqlDialect eventuateSqlDialect) {
+  public PollingProcessingStatusService(DataSource dataSource,
+                                        String publishedField,
+                                        EventuateSqlDialect eventuateSqlDialect,
+                                        List<OutboxTableSuffix> outboxTableSuffixes,
+                                        List<PollingSpec> pollingSpecs,
+                                        long pendingPollValidityInMilliseconds,
+                                        long emptyPollValidityInMilliseconds) {
     jdbcTemplate = new JdbcTemplate(dataSource);
     this.publishedField = publishedField;
     this.eventuateSqlDialect = eventuateSqlDialect;
+    this.outboxTableSuffixes = outboxTableSuffixes;
+    this.pollingSpecs = pollingSpecs;
+    this.pendingPollValidityInMilliseconds = pendingPollValidityInMilliseconds;
+    this.emptyPollValidityInMilliseconds = emptyPollValidityInMilliseconds;
   }
 
   public void addTable(String table) {
     tables.add(table);
   }
 
+  public void onPoll(String table, OutboxTableSuffix outboxTableSuffix, PollingSpec pollingSpec, int processedEvents) {
+    polls
+            .computeIfAbsent(table + outboxTableSuffix.suffixAsString, t -> new ConcurrentHashMap<>())
+            .put(pollingSpec, new Poll(System.currentTimeMillis(), processedEvents == 0));
+  }
+
   @Override
   public CdcProcessingStatus getCurrentStatus() {
     return new CdcProcessingStatus(-1, -1, isProcessingFinished());
@@ -37,10 +63,45 @@ public class PollingProcessingStatusService implements CdcProcessingStatusServic
   }
 
   private boolean isProcessingFinished() {
+    long now = System.currentTimeMillis();
+
+    if (polls.values().stream().flatMap(specPolls -> specPolls.values().stream()).anyMatch(poll -> !poll.empty && now - poll.time <= pendingPollValidityInMilliseconds)) {
+      return false;
+    }
+
+    //a table is probed only when its polls are not recent, the probe stops on the first unpublished event
     return tables
             .stream()
-            .allMatch(table ->
-                    jdbcTemplate.queryForObject(eventuateSqlDialect.addLimitToSql(String.format("select count(*) from %s where %s = 0",
-                            table, publishedField), "1"), Long.class) == 0);
+            .allMatch(table -> outboxTableSuffixes
+                    .stream()
+                    .map(suffix -> table + suffix.suffixAsString)
+                    .allMatch(tableWithSuffix -> hasRecentEmptyPolls(tableWithSuffix, now) || !hasUnpublishedEvents(tableWithSuffix)));
+  }
+
+  /**
+   * The last poll of every polling spec of the table found nothing, so the table was drained at most emptyPollValidityInMilliseconds ago.
+   */
+  private boolean hasRecentEmptyPolls(String tableWithSuffix, long now) {
+    Map<PollingSpec, Poll> specPolls = polls.getOrDefault(tableWithSuffix, Collections.emptyMap());
+
+    return pollingSpecs
+            .stream()
+            .map(specPolls::get)
+            .allMatch(poll -> poll != null && poll.empty && now - poll.time <= emptyPollValidityInMilliseconds);
+  }
+
+  private boolean hasUnpublishedEvents(String table) {
+    return !jdbcTemplate.queryForList(eventuateSqlDialect.addLimitToSql(String.format("select 1 from %s where %s = 0",
+            table, publishedField), "1")).isEmpty();
+  }
+
+  private static class Poll {
+    private final long time;
+    private final boolean empty;
+
+    Poll(long time, boolean empty) {
+      this.time = time;
+      this.empty = empty;
+    }
   }
-}
\ No newline at end of file
+}
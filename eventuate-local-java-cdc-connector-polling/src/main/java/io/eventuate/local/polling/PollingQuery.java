@@ -0,0 +1,60 @@
+package io.eventuate.local.polling;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+public class PollingQuery {
+  private final ParsedSql parsedSql;
+  private final String sql;
+  private final Map<String, Object> params;
+  private final BiFunction<String, Object, String> jsonColumnConverter;
+  private volatile PollingRowColumns columns;
+
+  public PollingQuery(String namedParameterSql, Map<String, Object> params, BiFunction<String, Object, String> jsonColumnConverter) {
+    this.parsedSql = NamedParameterUtils.parseSqlStatement(namedParameterSql);
+    this.params = params;
+    this.jsonColumnConverter = jsonColumnConverter;
+    this.sql = NamedParameterUtils.substituteNamedParameters(parsedSql, new MapSqlParameterSource(params));
+  }
+
+  public String getSql() {
+    return sql;
+  }
+
+  public BiFunction<String, Object, String> getJsonColumnConverter() {
+    return jsonColumnConverter;
+  }
+
+  public Object[] args() {
+    return NamedParameterUtils.buildValueArray(parsedSql, new MapSqlParameterSource(params), null);
+  }
+
+  public Object[] args(String limitParameter, int limit) {
+    Map<String, Object> paramsWithLimit = new HashMap<>(params);
+    paramsWithLimit.put(limitParameter, limit);
+    return NamedParameterUtils.buildValueArray(parsedSql, new MapSqlParameterSource(paramsWithLimit), null);
+  }
+
+  public PollingRowColumns getColumns(ResultSetMetaData metaData) throws SQLException {
+    PollingRowColumns pollingRowColumns = columns;
+
+    if (pollingRowColumns == null) {
+      pollingRowColumns = PollingRowColumns.fromMetaData(metaData);
+      columns = pollingRowColumns;
+    }
+
+    return pollingRowColumns;
+  }
+
+  @Override
+  public String toString() {
+    return sql;
+  }
+}
@@ -0,0 +1,39 @@
+package io.eventuate.local.polling;
+
+import io.eventuate.common.eventuate.local.BinlogFileOffset;
+import io.eventuate.local.common.BinlogEntry;
+
+import java.util.function.BiFunction;
+
+public class PollingRow implements BinlogEntry {
+  private final PollingRowColumns columns;
+  private final Object[] values;
+  private final BiFunction<String, Object, String> jsonColumnConverter;
+
+  public PollingRow(PollingRowColumns columns, Object[] values, BiFunction<String, Object, String> jsonColumnConverter) {
+    this.columns = columns;
+    this.values = values;
+    this.jsonColumnConverter = jsonColumnConverter;
+  }
+
+  @Override
+  public Object getColumn(String name) {
+    return values[columns.indexOf(name)];
+  }
+
+  @Override
+  public BinlogFileOffset getBinlogFileOffset() {
+    return null;
+  }
+
+  @Override
+  public String getJsonColumn(String name) {
+    Object value = getColumn(name);
+
+    if (value == null || value instanceof String) {
+      return (String) value;
+    }
+
+    return jsonColumnConverter.apply(name, value);
+  }
+}
@@ -0,0 +1,79 @@
+package io.eventuate.local.polling;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Map;
+
+public class PollingRowColumns {
+  private final String[] names;
+  private final boolean[] textual;
+  private final Map<String, Integer> indexes = new HashMap<>();
+
+  public PollingRowColumns(String[] names) {
+    this(names, new boolean[names.length]);
+  }
+
+  public PollingRowColumns(String[] names, boolean[] textual) {
+    this.names = names;
+    this.textual = textual;
+
+    for (int i = 0; i < names.length; i++) {
+      indexes.putIfAbsent(names[i], i);
+      indexes.putIfAbsent(names[i].toLowerCase(), i);
+    }
+  }
+
+  public static PollingRowColumns fromMetaData(ResultSetMetaData metaData) throws SQLException {
+    String[] names = new String[metaData.getColumnCount()];
+    boolean[] textual = new boolean[names.length];
+
+    for (int i = 0; i < names.length; i++) {
+      names[i] = metaData.getColumnLabel(i + 1);
+      textual[i] = isTextual(metaData.getColumnType(i + 1), metaData.getColumnTypeName(i + 1));
+    }
+
+    return new PollingRowColumns(names, textual);
+  }
+
+  public int size() {
+    return names.length;
+  }
+
+  public int indexOf(String name) {
+    Integer index = indexes.get(name);
+
+    if (index == null) {
+      index = indexes.get(name.toLowerCase());
+    }
+
+    if (index == null) {
+      throw new IllegalArgumentException(String.format("Column %s is not found, available columns: %s", name, indexes.keySet()));
+    }
+
+    return index;
+  }
+
+  public Object readValue(ResultSet resultSet, int index) throws SQLException {
+    return textual[index] ? resultSet.getString(index + 1) : resultSet.getObject(index + 1);
+  }
+
+  //json columns are read as text by the drivers, so the dialect is not consulted for every row
+  private static boolean isTextual(int type, String typeName) {
+    switch (type) {
+      case Types.CHAR:
+      case Types.VARCHAR:
+      case Types.LONGVARCHAR:
+      case Types.NCHAR:
+      case Types.NVARCHAR:
+      case Types.LONGNVARCHAR:
+      case Types.CLOB:
+      case Types.NCLOB:
+        return true;
+      default:
+        return "json".equalsIgnoreCase(typeName) || "jsonb".equalsIgnoreCase(typeName);
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package io.eventuate.local.polling;
+
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PollingRowExtractor implements ResultSetExtractor<List<PollingRow>> {
+  private final PollingQuery pollingQuery;
+
+  public PollingRowExtractor(PollingQuery pollingQuery) {
+    this.pollingQuery = pollingQuery;
+  }
+
+  @Override
+  public List<PollingRow> extractData(ResultSet resultSet) throws SQLException {
+    PollingRowColumns columns = pollingQuery.getColumns(resultSet.getMetaData());
+
+    List<PollingRow> rows = new ArrayList<>();
+
+    while (resultSet.next()) {
+      Object[] values = new Object[columns.size()];
+
+      for (int i = 0; i < values.length; i++) {
+        values[i] = columns.readValue(resultSet, i);
+      }
+
+      rows.add(new PollingRow(columns, values, pollingQuery.getJsonColumnConverter()));
+    }
+
+    return rows;
+  }
+}
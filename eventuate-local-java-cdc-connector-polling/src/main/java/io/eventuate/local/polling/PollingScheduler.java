@@ -0,0 +1,68 @@
+package io.eventuate.local.polling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs polling iterations of all polling readers on a bounded pool instead of a dedicated thread per polling spec and table suffix.
+ * A pool size of 0 disables the scheduler.
+ */
+public class PollingScheduler {
+  private Logger logger = LoggerFactory.getLogger(getClass());
+
+  private final MeterRegistry meterRegistry;
+  private final int poolSize;
+  private final ScheduledThreadPoolExecutor executor;
+
+  public PollingScheduler(MeterRegistry meterRegistry, int poolSize) {
+    if (poolSize < 0) {
+      throw new IllegalArgumentException("Polling pool size should not be negative");
+    }
+
+    this.meterRegistry = meterRegistry;
+    this.poolSize = poolSize;
+
+    if (poolSize == 0) {
+      executor = null;
+      return;
+    }
+
+    AtomicInteger threadCounter = new AtomicInteger(0);
+    ThreadFactory threadFactory = runnable -> new Thread(runnable, "eventuate-polling-" + threadCounter.incrementAndGet());
+
+    executor = new ScheduledThreadPoolExecutor(poolSize, threadFactory);
+    executor.setRemoveOnCancelPolicy(true);
+
+    if (meterRegistry != null) {
+      meterRegistry.gauge("eventuate.cdc.polling.scheduler.active", Tags.empty(), executor, ScheduledThreadPoolExecutor::getActiveCount);
+      meterRegistry.gauge("eventuate.cdc.polling.scheduler.utilization", Tags.empty(), executor, e -> (double) e.getActiveCount() / poolSize);
+      meterRegistry.gauge("eventuate.cdc.polling.scheduler.queue", Tags.empty(), executor, e -> e.getQueue().size());
+    }
+  }
+
+  public boolean isEnabled() {
+    return executor != null;
+  }
+
+  public ScheduledPollingTask createTask(Tags tags, LongSupplier iteration, Runnable onCompletion) {
+    if (!isEnabled()) {
+      throw new IllegalStateException("Polling scheduler is disabled");
+    }
+
+    return new ScheduledPollingTask(executor, meterRegistry, tags, iteration, onCompletion);
+  }
+
+  public void shutdown() {
+    if (executor != null) {
+      logger.info("Shutting down polling scheduler with {} threads", poolSize);
+      executor.shutdownNow();
+    }
+  }
+}
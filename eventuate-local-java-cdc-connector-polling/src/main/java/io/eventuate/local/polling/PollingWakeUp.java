@@ -0,0 +1,18 @@
+package io.eventuate.local.polling;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public class PollingWakeUp {
+  private final Semaphore signal = new Semaphore(0);
+
+  public void wakeUp() {
+    signal.release();
+  }
+
+  public boolean await(long timeoutInMilliseconds) throws InterruptedException {
+    boolean wokenUp = signal.tryAcquire(timeoutInMilliseconds, TimeUnit.MILLISECONDS);
+    signal.drainPermits();
+    return wokenUp;
+  }
+}
@@ -0,0 +1,112 @@
+package io.eventuate.local.polling;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+public class PostgresNotificationListener {
+  private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+  private static final int MIN_TIMEOUT_IN_MILLISECONDS = 1000;
+
+  private Logger logger = LoggerFactory.getLogger(getClass());
+
+  private final DataSource dataSource;
+  private final String channel;
+  private final int timeoutInMilliseconds;
+  private final Consumer<String> notificationCallback;
+  private final Runnable reconnectCallback;
+  private final AtomicBoolean running = new AtomicBoolean(false);
+  private Thread thread;
+
+  public PostgresNotificationListener(DataSource dataSource,
+                                      String channel,
+                                      int timeoutInMilliseconds,
+                                      Consumer<String> notificationCallback,
+                                      Runnable reconnectCallback) {
+    checkChannel(channel);
+
+    this.dataSource = dataSource;
+    this.channel = channel;
+    //getNotifications(0) waits until a notification arrives, so stop() would never return and reconnecting would not pause
+    this.timeoutInMilliseconds = Math.max(timeoutInMilliseconds, MIN_TIMEOUT_IN_MILLISECONDS);
+    this.notificationCallback = notificationCallback;
+    this.reconnectCallback = reconnectCallback;
+  }
+
+  public static void checkChannel(String channel) {
+    if (channel == null || !CHANNEL_PATTERN.matcher(channel).matches()) {
+      throw new IllegalArgumentException(String.format("Notification channel '%s' should be a valid unquoted identifier", channel));
+    }
+  }
+
+  public void start() {
+    if (!running.compareAndSet(false, true)) {
+      return;
+    }
+
+    thread = new Thread(this::listen, "postgres-notification-listener-" + channel);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  public void stop() {
+    if (!running.compareAndSet(true, false)) {
+      return;
+    }
+
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      logger.error(e.getMessage(), e);
+    }
+  }
+
+  private void listen() {
+    while (running.get()) {
+      try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+        statement.execute("LISTEN " + channel);
+        logger.info("Listening for notifications on channel {}", channel);
+
+        //notifications sent while the listener was not connected are lost
+        reconnectCallback.run();
+
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+        while (running.get()) {
+          PGNotification[] notifications = pgConnection.getNotifications(timeoutInMilliseconds);
+
+          if (notifications != null) {
+            for (PGNotification notification : notifications) {
+              notificationCallback.accept(notification.getParameter());
+            }
+          }
+        }
+
+        statement.execute("UNLISTEN " + channel);
+      } catch (SQLException e) {
+        logger.error("Listening for notifications failed, reconnecting", e);
+        sleepBeforeReconnect();
+      }
+    }
+
+    logger.info("Stopped listening for notifications on channel {}", channel);
+  }
+
+  private void sleepBeforeReconnect() {
+    try {
+      Thread.sleep(timeoutInMilliseconds);
+    } catch (InterruptedException e) {
+      running.set(false);
+      Thread.currentThread().interrupt();
+    }
+  }
+}
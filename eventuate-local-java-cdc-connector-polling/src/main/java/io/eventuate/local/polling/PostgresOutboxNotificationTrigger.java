@@ -0,0 +1,28 @@
+package io.eventuate.local.polling;
+
+import io.eventuate.common.jdbc.SchemaAndTable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class PostgresOutboxNotificationTrigger {
+
+  public static List<String> createTriggerStatements(SchemaAndTable schemaAndTable, String destinationColumn, String channel) {
+    PostgresNotificationListener.checkChannel(channel);
+
+    String table = String.format("%s.%s", schemaAndTable.getSchema(), schemaAndTable.getTableName());
+    String function = String.format("%s.eventuate_notify_%s", schemaAndTable.getSchema(), schemaAndTable.getTableName());
+
+    return Arrays.asList(
+            String.format("CREATE OR REPLACE FUNCTION %s() RETURNS trigger AS $$ " +
+                    "BEGIN PERFORM pg_notify('%s', NEW.%s); RETURN NULL; END; " +
+                    "$$ LANGUAGE plpgsql", function, channel, destinationColumn),
+            String.format("DROP TRIGGER IF EXISTS eventuate_notify ON %s", table),
+            String.format("CREATE TRIGGER eventuate_notify AFTER INSERT ON %s FOR EACH ROW EXECUTE PROCEDURE %s()", table, function));
+  }
+
+  public static void createTrigger(JdbcTemplate jdbcTemplate, SchemaAndTable schemaAndTable, String destinationColumn, String channel) {
+    createTriggerStatements(schemaAndTable, destinationColumn, channel).forEach(jdbcTemplate::execute);
+  }
+}
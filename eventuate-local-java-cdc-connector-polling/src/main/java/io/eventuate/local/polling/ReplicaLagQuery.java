@@ -0,0 +1,58 @@
+package io.eventuate.local.polling;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public enum ReplicaLagQuery {
+
+  MYSQL {
+    @Override
+    public long lagInMilliseconds(JdbcTemplate jdbcTemplate) {
+      return jdbcTemplate.query("SHOW SLAVE STATUS", resultSet -> {
+        if (!resultSet.next()) {
+          return 0L;
+        }
+
+        long secondsBehindMaster = resultSet.getLong("Seconds_Behind_Master");
+
+        //null means that replication is not running
+        return resultSet.wasNull() ? Long.MAX_VALUE : secondsBehindMaster * 1000;
+      });
+    }
+  },
+
+  POSTGRES {
+    @Override
+    public long lagInMilliseconds(JdbcTemplate jdbcTemplate) {
+      //an idle replica that replayed everything it received is not lagging, even if the last replayed transaction is old
+      return jdbcTemplate.queryForObject("SELECT CASE " +
+              "WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+              "ELSE COALESCE(CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT), 0) END", Long.class);
+    }
+  },
+
+  MSSQL {
+    @Override
+    public long lagInMilliseconds(JdbcTemplate jdbcTemplate) {
+      return jdbcTemplate.queryForObject("SELECT ISNULL(MAX(secondary_lag_seconds), 0) * 1000 " +
+              "FROM sys.dm_hadr_database_replica_states WHERE is_local = 1 AND database_id = DB_ID()", Long.class);
+    }
+  };
+
+  public abstract long lagInMilliseconds(JdbcTemplate jdbcTemplate);
+
+  public static ReplicaLagQuery forDataSourceUrl(String dataSourceUrl) {
+    if (dataSourceUrl.startsWith("jdbc:mysql:") || dataSourceUrl.startsWith("jdbc:mariadb:")) {
+      return MYSQL;
+    }
+
+    if (dataSourceUrl.startsWith("jdbc:postgresql:")) {
+      return POSTGRES;
+    }
+
+    if (dataSourceUrl.startsWith("jdbc:sqlserver:")) {
+      return MSSQL;
+    }
+
+    throw new IllegalArgumentException(String.format("Replica polling is not supported for %s", dataSourceUrl));
+  }
+}
@@ -0,0 +1,91 @@
+package io.eventuate.local.polling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Events are fetched from a read replica and marked as published on the primary.
+ *
+ * Rows are fetched in primary key order from a replica that applies the primary's commits in order,
+ * so a row that is not yet visible on the replica is published by a later poll, after the rows preceding it.
+ * Polling is skipped while the replica lags more than the tolerated maximum.
+ * The replica can still return rows that were already marked on the primary, they are skipped
+ * while the marking can be not yet replicated.
+ */
+public class ReplicaPolling {
+  private Logger logger = LoggerFactory.getLogger(getClass());
+
+  private final DataSource dataSource;
+  private final JdbcTemplate jdbcTemplate;
+  private final ReplicaLagQuery replicaLagQuery;
+  private final int maxReplicaLagInMilliseconds;
+  private final int lagCheckIntervalInMilliseconds;
+  private final long markedIdRetentionInMilliseconds;
+  private final Map<List<Object>, Long> markedIds = new ConcurrentHashMap<>();
+  private final AtomicLong replicaLag = new AtomicLong(0);
+  private final Counter laggingCounter;
+  private volatile long lastLagCheckTime;
+
+  public ReplicaPolling(MeterRegistry meterRegistry,
+                        String readerName,
+                        DataSource dataSource,
+                        String dataSourceUrl,
+                        int maxReplicaLagInMilliseconds,
+                        int lagCheckIntervalInMilliseconds) {
+    this.dataSource = dataSource;
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.replicaLagQuery = ReplicaLagQuery.forDataSourceUrl(dataSourceUrl);
+    this.maxReplicaLagInMilliseconds = maxReplicaLagInMilliseconds;
+    this.lagCheckIntervalInMilliseconds = lagCheckIntervalInMilliseconds;
+    this.markedIdRetentionInMilliseconds = 2L * maxReplicaLagInMilliseconds + lagCheckIntervalInMilliseconds;
+
+    meterRegistry.gauge("eventuate.cdc.polling.replica.lag", Tags.of("reader", readerName), replicaLag);
+    laggingCounter = meterRegistry.counter("eventuate.cdc.polling.replica.lagging", "reader", readerName);
+  }
+
+  public DataSource getDataSource() {
+    return dataSource;
+  }
+
+  public boolean isLagTolerable() {
+    long now = System.currentTimeMillis();
+
+    if (now - lastLagCheckTime >= lagCheckIntervalInMilliseconds) {
+      replicaLag.set(replicaLagQuery.lagInMilliseconds(jdbcTemplate));
+      lastLagCheckTime = now;
+    }
+
+    if (replicaLag.get() > maxReplicaLagInMilliseconds) {
+      logger.debug("Replica lag {} ms exceeds {} ms, skipping polling", replicaLag.get(), maxReplicaLagInMilliseconds);
+      laggingCounter.increment();
+      return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * @param table the qualified table with its suffix, ids of different outbox tables can be equal
+   */
+  public boolean isMarked(String table, Object id) {
+    return markedIds.containsKey(Arrays.asList(table, id));
+  }
+
+  public void onMarked(String table, List<Object> ids) {
+    long now = System.currentTimeMillis();
+
+    markedIds.values().removeIf(time -> now - time > markedIdRetentionInMilliseconds);
+    ids.forEach(id -> markedIds.put(Arrays.asList(table, id), now));
+  }
+}
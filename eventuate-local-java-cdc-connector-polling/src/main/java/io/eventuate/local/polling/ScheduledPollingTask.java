@@ -0,0 +1,102 @@
+package io.eventuate.local.polling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A polling iteration rescheduled by the delay it returns, a negative delay completes the task.
+ * The task is never executed concurrently, a wake up during an iteration reschedules it without delay.
+ */
+public class ScheduledPollingTask implements Runnable {
+  private final ScheduledExecutorService executor;
+  private final LongSupplier iteration;
+  private final Runnable onCompletion;
+  private final Timer executionTimer;
+  private final Timer schedulingDelayTimer;
+
+  private ScheduledFuture<?> future;
+  private long dueTime;
+  private boolean executing;
+  private boolean wokenUp;
+
+  public ScheduledPollingTask(ScheduledExecutorService executor,
+                              MeterRegistry meterRegistry,
+                              Tags tags,
+                              LongSupplier iteration,
+                              Runnable onCompletion) {
+    this.executor = executor;
+    this.iteration = iteration;
+    this.onCompletion = onCompletion;
+
+    executionTimer = meterRegistry == null ? null : meterRegistry.timer("eventuate.cdc.polling.task.execution", tags);
+    schedulingDelayTimer = meterRegistry == null ? null : meterRegistry.timer("eventuate.cdc.polling.task.scheduling.delay", tags);
+  }
+
+  public void start() {
+    schedule(0);
+  }
+
+  public synchronized void wakeUp() {
+    if (executing) {
+      wokenUp = true;
+      return;
+    }
+
+    if (future != null && future.cancel(false)) {
+      schedule(0);
+    }
+  }
+
+  private synchronized void schedule(long delayInMilliseconds) {
+    dueTime = System.currentTimeMillis() + delayInMilliseconds;
+    future = executor.schedule(this, delayInMilliseconds, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void run() {
+    long startTime;
+
+    synchronized (this) {
+      executing = true;
+      wokenUp = false;
+      startTime = System.currentTimeMillis();
+    }
+
+    if (schedulingDelayTimer != null) {
+      schedulingDelayTimer.record(Math.max(0, startTime - dueTime), TimeUnit.MILLISECONDS);
+    }
+
+    long delay = -1;
+    boolean failed = false;
+
+    try {
+      delay = iteration.getAsLong();
+    } catch (RuntimeException e) {
+      //the failure is handled by the iteration, the task is not rescheduled
+      failed = true;
+    }
+
+    if (executionTimer != null) {
+      executionTimer.record(System.currentTimeMillis() - startTime, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized (this) {
+      executing = false;
+
+      if (!failed && delay >= 0) {
+        schedule(wokenUp ? 0 : delay);
+        return;
+      }
+    }
+
+    if (!failed) {
+      onCompletion.run();
+    }
+  }
+}
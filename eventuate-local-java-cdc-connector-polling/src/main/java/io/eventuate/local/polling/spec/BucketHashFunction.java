@@ -0,0 +1,40 @@
+package io.eventuate.local.polling.spec;
+
+public enum BucketHashFunction {
+
+    MYSQL("CRC32(%s) %% %s", "JSON_UNQUOTE(JSON_EXTRACT(%s, '$.%s'))"),
+    POSTGRES("ABS(HASHTEXT(CAST(%s AS TEXT)) %% %s)", "%s::json->>'%s'"),
+    MSSQL("ABS(CHECKSUM(%s) %% %s)", "JSON_VALUE(%s, '$.%s')");
+
+    private final String format;
+    private final String jsonFieldFormat;
+
+    BucketHashFunction(String format, String jsonFieldFormat) {
+        this.format = format;
+        this.jsonFieldFormat = jsonFieldFormat;
+    }
+
+    public String bucketOf(String column, int buckets) {
+        return String.format(format, column, buckets);
+    }
+
+    public String jsonField(String column, String field) {
+        return String.format(jsonFieldFormat, column, field);
+    }
+
+    public static BucketHashFunction forDataSourceUrl(String dataSourceUrl) {
+        if (dataSourceUrl.startsWith("jdbc:mysql:") || dataSourceUrl.startsWith("jdbc:mariadb:")) {
+            return MYSQL;
+        }
+
+        if (dataSourceUrl.startsWith("jdbc:postgresql:")) {
+            return POSTGRES;
+        }
+
+        if (dataSourceUrl.startsWith("jdbc:sqlserver:")) {
+            return MSSQL;
+        }
+
+        throw new IllegalArgumentException(String.format("Hash bucket polling is not supported for %s", dataSourceUrl));
+    }
+}
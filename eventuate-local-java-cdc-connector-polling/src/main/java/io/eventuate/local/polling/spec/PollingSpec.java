@@ -13,6 +13,18 @@ public abstract class PollingSpec {
         return new PollingSpecForChannel(channel);
     }
 
+    public static PollingSpec forHashBucket(PollingSpec pollingSpec, BucketHashFunction bucketHashFunction, int buckets, int bucket) {
+        return new PollingSpecForHashBucket(pollingSpec, bucketHashFunction, buckets, bucket);
+    }
+
     public abstract SqlFragment addToWhere(String destination);
 
+    public SqlFragment addToWhere(String destination, String partitionKey) {
+        return addToWhere(destination);
+    }
+
+    public boolean matches(String destination) {
+        return true;
+    }
+
 }
@@ -21,4 +21,9 @@ public class PollingSpecExcludingChannels extends PollingSpec {
     public SqlFragment addToWhere(String destination) {
         return SqlFragment.make("AND %s NOT IN (%s)", destination, "channels", exclusions);
     }
+
+    @Override
+    public boolean matches(String destination) {
+        return !exclusions.contains(destination);
+    }
 }
@@ -18,4 +18,9 @@ public class PollingSpecForChannel extends PollingSpec {
     public SqlFragment addToWhere(String destination) {
         return SqlFragment.make("AND %s = %s", destination, "channel", channel);
     }
+
+    @Override
+    public boolean matches(String destination) {
+        return channel.equals(destination);
+    }
 }
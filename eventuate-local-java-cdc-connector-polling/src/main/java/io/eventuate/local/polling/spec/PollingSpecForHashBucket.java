@@ -0,0 +1,49 @@
+package io.eventuate.local.polling.spec;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class PollingSpecForHashBucket extends PollingSpec {
+
+    private final PollingSpec pollingSpec;
+    private final BucketHashFunction bucketHashFunction;
+    private final int buckets;
+    private final int bucket;
+
+    public PollingSpecForHashBucket(PollingSpec pollingSpec, BucketHashFunction bucketHashFunction, int buckets, int bucket) {
+        this.pollingSpec = pollingSpec;
+        this.bucketHashFunction = bucketHashFunction;
+        this.buckets = buckets;
+        this.bucket = bucket;
+    }
+
+    @Override
+    public String toString() {
+        return "PollingSpecForHashBucket{" +
+                "pollingSpec=" + pollingSpec +
+                ", buckets=" + buckets +
+                ", bucket=" + bucket +
+                '}';
+    }
+
+    @Override
+    public SqlFragment addToWhere(String destination) {
+        return addToWhere(destination, destination);
+    }
+
+    @Override
+    public SqlFragment addToWhere(String destination, String partitionKey) {
+        SqlFragment sqlFragment = pollingSpec.addToWhere(destination, partitionKey);
+
+        Map<String, Object> params = new HashMap<>(sqlFragment.params);
+        params.put("hashBucket", bucket);
+
+        return new SqlFragment(String.format("%s AND %s = :hashBucket", sqlFragment.sql, bucketHashFunction.bucketOf(partitionKey, buckets)), params);
+    }
+
+    //the bucket is computed by the database, so every bucket of the matching spec is woken up
+    @Override
+    public boolean matches(String destination) {
+        return pollingSpec.matches(destination);
+    }
+}
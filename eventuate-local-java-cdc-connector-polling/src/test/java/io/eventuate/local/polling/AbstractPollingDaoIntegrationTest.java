@@ -77,6 +77,8 @@ public class AbstractPollingDaoIntegrationTest {
 
   protected PollingDao pollingDao;
 
+  protected MeterRegistry meterRegistry;
+
   @Before
   public void init() {
     processedEvents = new AtomicInteger(0);
@@ -96,7 +98,7 @@ public class AbstractPollingDaoIntegrationTest {
   }
 
   private PollingDao createPollingDao() {
-    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    meterRegistry = new SimpleMeterRegistry();
     return new PollingDao(meterRegistry,
             dataSourceURL,
             dataSource,
@@ -0,0 +1,62 @@
+package io.eventuate.local.polling;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdaptivePollingControllerTest {
+
+  @Test
+  public void shouldBackOffWhenIdleAndResetWhenRowsArrive() {
+    AdaptivePollingController controller = new AdaptivePollingController(100, 1000, 10, 100, 500);
+
+    controller.onPoll(0, 1);
+    assertEquals(100, controller.getIntervalInMilliseconds());
+
+    controller.onPoll(0, 1);
+    controller.onPoll(0, 1);
+    controller.onPoll(0, 1);
+    controller.onPoll(0, 1);
+    assertEquals(1000, controller.getIntervalInMilliseconds());
+
+    controller.onPoll(5, 10);
+    assertEquals(0, controller.getIntervalInMilliseconds());
+
+    controller.onPoll(0, 1);
+    assertEquals(100, controller.getIntervalInMilliseconds());
+  }
+
+  @Test
+  public void shouldAdaptBatchSizeToBatchDuration() {
+    AdaptivePollingController controller = new AdaptivePollingController(100, 1000, 10, 100, 500);
+
+    assertEquals(100, controller.getBatchSize());
+
+    controller.onPoll(100, 2000);
+    assertEquals(50, controller.getBatchSize());
+
+    controller.onPoll(50, 2000);
+    controller.onPoll(25, 2000);
+    controller.onPoll(12, 2000);
+    assertEquals(10, controller.getBatchSize());
+
+    controller.onPoll(10, 100);
+    assertEquals(20, controller.getBatchSize());
+
+    controller.onPoll(5, 100);
+    assertEquals(20, controller.getBatchSize());
+  }
+
+  @Test
+  public void shouldBehaveAsFixedPolling() {
+    AdaptivePollingController controller = AdaptivePollingController.fixed(500, 1000);
+
+    controller.onPoll(0, 1);
+    controller.onPoll(0, 1);
+    assertEquals(500, controller.getIntervalInMilliseconds());
+
+    controller.onPoll(1000, 10000);
+    assertEquals(1000, controller.getBatchSize());
+    assertEquals(0, controller.getIntervalInMilliseconds());
+  }
+}
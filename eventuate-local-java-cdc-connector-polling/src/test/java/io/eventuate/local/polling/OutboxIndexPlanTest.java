@@ -0,0 +1,20 @@
+package io.eventuate.local.polling;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class OutboxIndexPlanTest {
+
+  @Test
+  public void shouldRecommendIndexPerDatabase() {
+    assertEquals("CREATE INDEX message_unpublished ON eventuate.message (published, id)",
+            OutboxIndexPlan.forDataSourceUrl("jdbc:mysql://localhost/eventuate").createIndexDdl("message_unpublished", "eventuate.message", "published", "id"));
+
+    assertEquals("CREATE INDEX CONCURRENTLY IF NOT EXISTS message_unpublished ON eventuate.message (id) WHERE published = 0",
+            OutboxIndexPlan.forDataSourceUrl("jdbc:postgresql://localhost/eventuate").createIndexDdl("message_unpublished", "eventuate.message", "published", "id"));
+
+    assertEquals("CREATE INDEX message_unpublished ON eventuate.message (id) WHERE published = 0",
+            OutboxIndexPlan.forDataSourceUrl("jdbc:sqlserver://localhost:1433;databaseName=eventuate").createIndexDdl("message_unpublished", "eventuate.message", "published", "id"));
+  }
+}
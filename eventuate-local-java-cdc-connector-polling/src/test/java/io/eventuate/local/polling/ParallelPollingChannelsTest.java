@@ -0,0 +1,58 @@
+package io.eventuate.local.polling;
+
+import io.eventuate.local.polling.spec.BucketHashFunction;
+import io.eventuate.local.polling.spec.PollingSpec;
+import io.eventuate.local.polling.spec.SqlFragment;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ParallelPollingChannelsTest {
+
+  @Test
+  public void shouldCreateSingleSpecWithoutChannelsAndBuckets() {
+    List<PollingSpec> specs = new ParallelPollingChannels(Collections.emptySet()).makePollingSpecs(BucketHashFunction.MYSQL);
+
+    assertEquals(Collections.singletonList(PollingSpec.ALL), specs);
+  }
+
+  @Test
+  public void shouldCreateSpecPerHashBucket() {
+    List<PollingSpec> specs = new ParallelPollingChannels(Collections.emptySet(), 4).makePollingSpecs(BucketHashFunction.MYSQL);
+
+    assertEquals(4, specs.size());
+
+    SqlFragment sqlFragment = specs.get(2).addToWhere("entity_type", "entity_id");
+
+    assertEquals(" AND CRC32(entity_id) % 4 = :hashBucket", sqlFragment.sql);
+    assertEquals(2, sqlFragment.params.get("hashBucket"));
+  }
+
+  @Test
+  public void shouldSplitEveryChannelIntoHashBuckets() {
+    List<PollingSpec> specs = new ParallelPollingChannels(Collections.singleton("x"), 3).makePollingSpecs(BucketHashFunction.POSTGRES);
+
+    assertEquals(6, specs.size());
+
+    SqlFragment sqlFragment = specs.get(4).addToWhere("destination");
+
+    assertEquals("AND destination = :channel AND ABS(HASHTEXT(CAST(destination AS TEXT)) % 3) = :hashBucket", sqlFragment.sql);
+    assertEquals("x", sqlFragment.params.get("channel"));
+    assertEquals(1, sqlFragment.params.get("hashBucket"));
+  }
+
+  @Test
+  public void shouldReadJsonFieldsWithDatabaseFunctions() {
+    assertEquals("JSON_UNQUOTE(JSON_EXTRACT(headers, '$.PARTITION_ID'))", BucketHashFunction.MYSQL.jsonField("headers", "PARTITION_ID"));
+    assertEquals("headers::json->>'PARTITION_ID'", BucketHashFunction.POSTGRES.jsonField("headers", "PARTITION_ID"));
+    assertEquals("JSON_VALUE(headers, '$.PARTITION_ID')", BucketHashFunction.MSSQL.jsonField("headers", "PARTITION_ID"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectUnsupportedDatabase() {
+    BucketHashFunction.forDataSourceUrl("jdbc:h2:mem:test");
+  }
+}
@@ -0,0 +1,102 @@
+package io.eventuate.local.polling;
+
+import io.eventuate.common.jdbc.OutboxTableSuffix;
+import io.eventuate.local.common.BinlogEntryHandler;
+import io.eventuate.local.polling.spec.BucketHashFunction;
+import io.eventuate.local.polling.spec.PollingSpec;
+import io.eventuate.local.testutil.DefaultAndPollingProfilesResolver;
+import io.eventuate.tram.cdc.connector.BinlogEntryToMessageConverter;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@ActiveProfiles(resolver = DefaultAndPollingProfilesResolver.class)
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(classes = AbstractPollingDaoIntegrationTest.Config.class)
+@EnableAutoConfiguration
+public class PollingDaoProbeTablesIntegrationTest extends AbstractPollingDaoIntegrationTest {
+
+    private final OutboxTableSuffix messageTableSuffix = new OutboxTableSuffix(null);
+
+    @Value("${spring.datasource.url}")
+    private String dataSourceURL;
+
+    private BinlogEntryHandler eventsHandler;
+    private BinlogEntryHandler messagesHandler;
+
+    @Before
+    public void prepareHandlers() {
+        jdbcTemplate.execute(String.format("update %s set published = 1", eventuateSchema.qualifyTable("message")));
+
+        pollingDao.setPollingProbeTables(true);
+
+        eventsHandler = prepareBinlogEntryHandler(CompletableFuture.completedFuture(null));
+        messagesHandler = pollingDao.addBinlogEntryHandler(eventuateSchema,
+                "message",
+                new BinlogEntryToMessageConverter(idGenerator),
+                message -> CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    public void shouldProbeEveryTableInOneQuery() {
+        PollingQuery probeQuery = pollingDao.makeProbeQuery(Arrays.asList(eventsHandler, messagesHandler), PollingSpec.ALL, messageTableSuffix);
+
+        assertEquals(String.format("SELECT CASE WHEN EXISTS (SELECT 1 FROM %s WHERE published = 0 ) THEN 1 ELSE 0 END, " +
+                        "CASE WHEN EXISTS (SELECT 1 FROM %s WHERE published = 0 ) THEN 1 ELSE 0 END",
+                eventsHandler.getQualifiedTable(), messagesHandler.getQualifiedTable()),
+                probeQuery.getSql());
+
+        assertEquals(0, probeQuery.args().length);
+    }
+
+    @Test
+    public void shouldMergeParametersOfEveryTable() {
+        PollingSpec pollingSpec = PollingSpec.forHashBucket(PollingSpec.forChannel("test-channel"),
+                BucketHashFunction.forDataSourceUrl(dataSourceURL),
+                2,
+                1);
+
+        PollingQuery probeQuery = pollingDao.makeProbeQuery(Arrays.asList(eventsHandler, messagesHandler), pollingSpec, messageTableSuffix);
+
+        assertTrue(probeQuery.getSql().contains("AND entity_type = ?"));
+        assertTrue(probeQuery.getSql().contains("AND destination = ?"));
+        assertArrayEquals(new Object[] {"test-channel", 1, "test-channel", 1}, probeQuery.args());
+    }
+
+    @Test
+    public void shouldPollOnlyTablesWithUnpublishedRows() {
+        assertEquals(Collections.emptyList(), pollingDao.handlersToPoll(PollingSpec.ALL, messageTableSuffix));
+
+        testHelper.saveRandomEvent();
+
+        assertEquals(Collections.singletonList(eventsHandler), pollingDao.handlersToPoll(PollingSpec.ALL, messageTableSuffix));
+
+        testHelper.saveMessage(idGenerator, testHelper.generateRandomPayload(), testHelper.generateId(), Collections.emptyMap(), eventuateSchema);
+
+        assertEquals(Arrays.asList(eventsHandler, messagesHandler), pollingDao.handlersToPoll(PollingSpec.ALL, messageTableSuffix));
+    }
+
+    @Test
+    public void shouldPollOnlyTablesWithUnpublishedRowsOfPolledChannel() {
+        testHelper.saveMessage(idGenerator, testHelper.generateRandomPayload(), "other-channel", Collections.emptyMap(), eventuateSchema);
+
+        assertEquals(Collections.emptyList(), pollingDao.handlersToPoll(PollingSpec.forChannel("test-channel"), messageTableSuffix));
+
+        testHelper.saveMessage(idGenerator, testHelper.generateRandomPayload(), "test-channel", Collections.emptyMap(), eventuateSchema);
+
+        assertEquals(Collections.singletonList(messagesHandler), pollingDao.handlersToPoll(PollingSpec.forChannel("test-channel"), messageTableSuffix));
+    }
+}
@@ -0,0 +1,108 @@
+package io.eventuate.local.polling;
+
+import io.eventuate.common.jdbc.SchemaAndTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+
+public class PollingIndexAdvisorTest {
+
+  private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  public void shouldKeepGaugeStateAfterGc() throws SQLException {
+    DataSource dataSource = Mockito.mock(DataSource.class);
+    Mockito.when(dataSource.getConnection()).thenThrow(new SQLException("not available"));
+
+    PollingIndexAdvisor pollingIndexAdvisor =
+            new PollingIndexAdvisor(meterRegistry, "reader", dataSource, "jdbc:mysql://localhost/eventuate", "published", false);
+
+    pollingIndexAdvisor.check(new SchemaAndTable("eventuate", "message"), "", () -> "id");
+
+    System.gc();
+
+    assertEquals(0, meterRegistry.get("eventuate.cdc.polling.outbox.index").gauge().value(), 0);
+  }
+
+  @Test
+  public void shouldBeDisabledForUnsupportedDataSourceUrl() {
+    DataSource dataSource = Mockito.mock(DataSource.class);
+
+    PollingIndexAdvisor pollingIndexAdvisor =
+            new PollingIndexAdvisor(meterRegistry, "reader", dataSource, "jdbc:tc:mysql:5.7://localhost/eventuate", "published", false);
+
+    pollingIndexAdvisor.check(new SchemaAndTable("eventuate", "message"), "", () -> "id");
+
+    Mockito.verifyNoInteractions(dataSource);
+    assertNull(meterRegistry.find("eventuate.cdc.polling.outbox.index").gauge());
+  }
+
+  @Test
+  public void shouldDetectIndexFilteredByUnpublishedEvents() throws SQLException {
+    assertEquals(1, indexedGaugeValue("jdbc:postgresql://localhost/eventuate", "message_pending", "id", "(published = 0)"), 0);
+  }
+
+  @Test
+  public void shouldDetectMssqlIndexFilteredByUnpublishedEvents() throws SQLException {
+    assertEquals(1, indexedGaugeValue("jdbc:sqlserver://localhost;databaseName=eventuate", "message_pending", "id", "([published]=(0))"), 0);
+  }
+
+  @Test
+  public void shouldDetectIndexFilteredByUnpublishedEventsOfDestination() throws SQLException {
+    assertEquals(1, indexedGaugeValue("jdbc:postgresql://localhost/eventuate", "message_pending", "id", "((published = 0) AND (destination = 'orders'))"), 0);
+  }
+
+  @Test
+  public void shouldNotAcceptIndexFilteredByPublishedEvents() throws SQLException {
+    assertEquals(0, indexedGaugeValue("jdbc:postgresql://localhost/eventuate", "message_published", "id", "(published = 1)"), 0);
+  }
+
+  @Test
+  public void shouldNotAcceptIndexFilteredByUnpublishedOrOtherEvents() throws SQLException {
+    assertEquals(0, indexedGaugeValue("jdbc:postgresql://localhost/eventuate", "message_pending", "id", "((published = 0) OR (destination = 'orders'))"), 0);
+  }
+
+  @Test
+  public void shouldDetectIndexLedByPublishedColumn() throws SQLException {
+    assertEquals(1, indexedGaugeValue("jdbc:mysql://localhost/eventuate", "message_published_id", "published", null), 0);
+  }
+
+  @Test
+  public void shouldNotAcceptIndexOfOtherColumns() throws SQLException {
+    assertEquals(0, indexedGaugeValue("jdbc:mysql://localhost/eventuate", "message_destination", "destination", null), 0);
+  }
+
+  private double indexedGaugeValue(String dataSourceUrl, String indexName, String firstColumn, String filterCondition) throws SQLException {
+    DataSource dataSource = Mockito.mock(DataSource.class);
+    Connection connection = Mockito.mock(Connection.class);
+    DatabaseMetaData metaData = Mockito.mock(DatabaseMetaData.class);
+    ResultSet indexInfo = Mockito.mock(ResultSet.class);
+
+    Mockito.when(dataSource.getConnection()).thenReturn(connection);
+    Mockito.when(connection.getMetaData()).thenReturn(metaData);
+    Mockito.when(metaData.getIndexInfo(any(), any(), any(), anyBoolean(), anyBoolean())).thenReturn(indexInfo);
+    Mockito.when(indexInfo.next()).thenReturn(true, false);
+    Mockito.when(indexInfo.getString("INDEX_NAME")).thenReturn(indexName);
+    Mockito.when(indexInfo.getString("COLUMN_NAME")).thenReturn(firstColumn);
+    Mockito.when(indexInfo.getInt("ORDINAL_POSITION")).thenReturn(1);
+    Mockito.when(indexInfo.getString("FILTER_CONDITION")).thenReturn(filterCondition);
+
+    PollingIndexAdvisor pollingIndexAdvisor =
+            new PollingIndexAdvisor(meterRegistry, "reader", dataSource, dataSourceUrl, "published", false);
+
+    pollingIndexAdvisor.check(new SchemaAndTable("eventuate", "message"), "", () -> "id");
+
+    return meterRegistry.get("eventuate.cdc.polling.outbox.index").gauge().value();
+  }
+}
@@ -0,0 +1,89 @@
+package io.eventuate.local.polling;
+
+import io.eventuate.common.jdbc.SchemaAndTable;
+import io.eventuate.local.testutil.DefaultAndPollingProfilesResolver;
+import io.eventuate.util.test.async.Eventually;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+@ActiveProfiles(resolver = DefaultAndPollingProfilesResolver.class)
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(classes = AbstractPollingDaoIntegrationTest.Config.class)
+@EnableAutoConfiguration
+public class PollingNotificationPerformanceTest extends AbstractPollingDaoIntegrationTest {
+
+  private static final String CHANNEL = "eventuate_events";
+  private static final int EVENTS = 50;
+  private static final int QUIET_PERIOD_IN_MILLISECONDS = 200;
+
+  @Value("${spring.datasource.url}")
+  private String dataSourceUrl;
+
+  @Before
+  public void createTrigger() {
+    Assume.assumeTrue(dataSourceUrl.startsWith("jdbc:postgresql:"));
+
+    PostgresOutboxNotificationTrigger.createTrigger(jdbcTemplate,
+            new SchemaAndTable(eventuateSchema.getEventuateDatabaseSchema(), "events"),
+            "entity_type",
+            CHANNEL);
+  }
+
+  @After
+  public void stopPolling() {
+    pollingDao.stop();
+  }
+
+  @Test
+  public void measureFixedIntervalPolling() throws InterruptedException {
+    measure("fixed interval");
+  }
+
+  @Test
+  public void measureNotificationDrivenPolling() throws InterruptedException {
+    pollingDao.setAdaptivePolling((int) TimeUnit.SECONDS.toMillis(10), 0, 0);
+    pollingDao.setNotificationChannel(CHANNEL);
+
+    measure("notifications");
+  }
+
+  private void measure(String name) throws InterruptedException {
+    prepareBinlogEntryHandler(CompletableFuture.completedFuture(null));
+
+    pollingDao.start();
+
+    long totalLatency = 0;
+    long start = System.currentTimeMillis();
+
+    for (int i = 0; i < EVENTS; i++) {
+      Thread.sleep(QUIET_PERIOD_IN_MILLISECONDS);
+
+      int expectedEvents = i + 1;
+      long saved = System.currentTimeMillis();
+      testHelper.saveRandomEvent();
+
+      Eventually.eventually(100, 50, TimeUnit.MILLISECONDS, () -> assertEquals(expectedEvents, processedEvents.get()));
+
+      totalLatency += System.currentTimeMillis() - saved;
+    }
+
+    double seconds = (System.currentTimeMillis() - start) / 1000.0;
+    long queries = meterRegistry.find("eventuate.cdc.polling.query").timer().count();
+
+    System.out.println(String.format("%s: average latency %s ms, %s queries per second",
+            name, totalLatency / EVENTS, queries / seconds));
+  }
+}
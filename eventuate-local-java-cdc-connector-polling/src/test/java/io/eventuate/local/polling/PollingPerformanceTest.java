@@ -0,0 +1,105 @@
+package io.eventuate.local.polling;
+
+import io.eventuate.common.jdbc.EventuateJdbcStatementExecutor;
+import io.eventuate.common.jdbc.sqldialect.EventuateSqlDialect;
+import io.eventuate.common.jdbc.sqldialect.SqlDialectSelector;
+import io.eventuate.common.spring.jdbc.EventuateSpringJdbcStatementExecutor;
+import io.eventuate.local.common.BinlogEntryToPublishedEventConverter;
+import io.eventuate.local.testutil.DefaultAndPollingProfilesResolver;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+
+@ActiveProfiles(resolver = DefaultAndPollingProfilesResolver.class)
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(classes = AbstractPollingDaoIntegrationTest.Config.class)
+@EnableAutoConfiguration
+public class PollingPerformanceTest extends AbstractPollingDaoIntegrationTest {
+
+  private static final int EVENTS = 1000;
+  private static final int ITERATIONS = 100;
+  private static final String[] JSON_COLUMNS = {"event_data", "metadata"};
+
+  @Value("${spring.datasource.driver-class-name}")
+  private String driver;
+
+  @Autowired
+  private SqlDialectSelector sqlDialectSelector;
+
+  @Test
+  public void compareSelectAllWithProjectedPollingQuery() {
+    for (int i = 0; i < EVENTS; i++) {
+      testHelper.saveRandomEvent();
+    }
+
+    EventuateSqlDialect eventuateSqlDialect = sqlDialectSelector.getDialect(driver);
+    EventuateJdbcStatementExecutor eventuateJdbcStatementExecutor = new EventuateSpringJdbcStatementExecutor(jdbcTemplate);
+    String table = eventuateSchema.qualifyTable("events");
+
+    String selectAllQuery = eventuateSqlDialect.addLimitToSql(String.format("SELECT * FROM %s WHERE published = 0 ORDER BY id ASC", table), "?");
+
+    String columns = String.join(", ", new BinlogEntryToPublishedEventConverter(idGenerator).getColumns().get());
+    PollingQuery pollingQuery = new PollingQuery(eventuateSqlDialect.addLimitToSql(String.format("SELECT %s FROM %s WHERE published = 0 ORDER BY id ASC", columns, table), ":limit"),
+            Collections.emptyMap(),
+            (column, value) -> eventuateSqlDialect.jsonColumnToString(value, eventuateSchema, "events", column, eventuateJdbcStatementExecutor));
+
+    PollingRowExtractor pollingRowExtractor = new PollingRowExtractor(pollingQuery);
+
+    Supplier<Integer> selectAll = () -> {
+      SqlRowSet sqlRowSet = jdbcTemplate.queryForRowSet(selectAllQuery, EVENTS);
+      int rows = 0;
+      while (sqlRowSet.next()) {
+        for (String column : sqlRowSet.getMetaData().getColumnNames()) {
+          sqlRowSet.getObject(column);
+        }
+        for (String column : JSON_COLUMNS) {
+          eventuateSqlDialect.jsonColumnToString(sqlRowSet.getObject(column), eventuateSchema, "events", column, eventuateJdbcStatementExecutor);
+        }
+        rows++;
+      }
+      return rows;
+    };
+
+    Supplier<Integer> projected = () -> {
+      List<PollingRow> rows = jdbcTemplate.query(pollingQuery.getSql(), pollingRowExtractor, pollingQuery.args("limit", EVENTS));
+      for (PollingRow row : rows) {
+        for (String column : JSON_COLUMNS) {
+          row.getJsonColumn(column);
+        }
+      }
+      return rows.size();
+    };
+
+    measure("select all", selectAll);
+    measure("projected", projected);
+  }
+
+  private void measure(String name, Supplier<Integer> polling) {
+    //warm up
+    for (int i = 0; i < ITERATIONS / 10; i++) {
+      polling.get();
+    }
+
+    long start = System.nanoTime();
+
+    for (int i = 0; i < ITERATIONS; i++) {
+      assertEquals(EVENTS, (int) polling.get());
+    }
+
+    double elapsed = (System.nanoTime() - start) / 1_000_000.0;
+
+    System.out.println(String.format("%s: %s ms per poll of %s rows", name, elapsed / ITERATIONS, EVENTS));
+  }
+}
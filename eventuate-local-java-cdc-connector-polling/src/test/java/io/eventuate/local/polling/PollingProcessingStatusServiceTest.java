@@ -0,0 +1,115 @@
+package io.eventuate.local.polling;
+
+import io.eventuate.common.jdbc.OutboxTableSuffix;
+import io.eventuate.common.jdbc.sqldialect.EventuateSqlDialect;
+import io.eventuate.local.polling.spec.PollingSpec;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class PollingProcessingStatusServiceTest {
+
+  private final OutboxTableSuffix suffix = new OutboxTableSuffix(null);
+
+  private DataSource dataSource;
+  private Statement statement;
+  private EventuateSqlDialect eventuateSqlDialect;
+
+  @Before
+  public void init() throws SQLException {
+    dataSource = mock(DataSource.class);
+    Connection connection = mock(Connection.class);
+    statement = mock(Statement.class);
+    ResultSet resultSet = mock(ResultSet.class);
+    ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.createStatement()).thenReturn(statement);
+    when(statement.executeQuery(anyString())).thenReturn(resultSet);
+    when(resultSet.getMetaData()).thenReturn(metaData);
+    when(metaData.getColumnCount()).thenReturn(1);
+
+    eventuateSqlDialect = mock(EventuateSqlDialect.class);
+    when(eventuateSqlDialect.addLimitToSql(anyString(), anyString())).thenAnswer(invocation -> invocation.getArgument(0) + " limit 1");
+  }
+
+  @Test
+  public void shouldReportUnfinishedProcessingWithoutQueryingWhenPollReturnedEvents() {
+    PollingProcessingStatusService pollingProcessingStatusService = createPollingProcessingStatusService(60000);
+
+    pollingProcessingStatusService.addTable("eventuate.message");
+    pollingProcessingStatusService.onPoll("eventuate.message", suffix, PollingSpec.ALL, 10);
+
+    assertFalse(pollingProcessingStatusService.getCurrentStatus().isCdcProcessingFinished());
+
+    verifyNoInteractions(dataSource);
+  }
+
+  @Test
+  public void shouldReportFinishedProcessingWithoutQueryingWhenRecentPollsWereEmpty() {
+    PollingProcessingStatusService pollingProcessingStatusService = createPollingProcessingStatusService(60000);
+
+    pollingProcessingStatusService.addTable("eventuate.message");
+    pollingProcessingStatusService.onPoll("eventuate.message", suffix, PollingSpec.ALL, 10);
+    pollingProcessingStatusService.onPoll("eventuate.message", suffix, PollingSpec.ALL, 0);
+
+    assertTrue(pollingProcessingStatusService.getCurrentStatus().isCdcProcessingFinished());
+
+    verifyNoInteractions(dataSource);
+  }
+
+  @Test
+  public void shouldProbeTableWhenEmptyPollIsStale() throws Exception {
+    PollingProcessingStatusService pollingProcessingStatusService = createPollingProcessingStatusService(50);
+
+    pollingProcessingStatusService.addTable("eventuate.message");
+    pollingProcessingStatusService.onPoll("eventuate.message", suffix, PollingSpec.ALL, 0);
+
+    Thread.sleep(100);
+
+    assertTrue(pollingProcessingStatusService.getCurrentStatus().isCdcProcessingFinished());
+
+    verify(statement).executeQuery("select 1 from eventuate.message where published = 0 limit 1");
+  }
+
+  @Test
+  public void shouldProbeOnlyTablesWithoutRecentEmptyPoll() throws Exception {
+    PollingProcessingStatusService pollingProcessingStatusService = createPollingProcessingStatusService(60000);
+
+    pollingProcessingStatusService.addTable("eventuate.message");
+    pollingProcessingStatusService.addTable("eventuate.events");
+    pollingProcessingStatusService.onPoll("eventuate.message", suffix, PollingSpec.ALL, 0);
+
+    assertTrue(pollingProcessingStatusService.getCurrentStatus().isCdcProcessingFinished());
+
+    verify(statement).executeQuery("select 1 from eventuate.events where published = 0 limit 1");
+    verify(statement, never()).executeQuery(contains("eventuate.message"));
+  }
+
+  private PollingProcessingStatusService createPollingProcessingStatusService(long emptyPollValidityInMilliseconds) {
+    return new PollingProcessingStatusService(dataSource,
+            "published",
+            eventuateSqlDialect,
+            Collections.singletonList(suffix),
+            Collections.singletonList(PollingSpec.ALL),
+            60000,
+            emptyPollValidityInMilliseconds);
+  }
+}
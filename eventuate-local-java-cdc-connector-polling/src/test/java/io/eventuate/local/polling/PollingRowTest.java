@@ -0,0 +1,33 @@
+package io.eventuate.local.polling;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class PollingRowTest {
+
+  private final PollingRowColumns columns = new PollingRowColumns(new String[]{"ID", "destination", "headers", "published"});
+
+  @Test
+  public void shouldReadColumnsIgnoringCase() {
+    PollingRow row = new PollingRow(columns, new Object[]{1L, "d", new StringBuilder("{}"), 0}, (name, value) -> "json:" + value.getClass().getSimpleName());
+
+    assertEquals(1L, (long) row.getLongColumn("id"));
+    assertEquals("d", row.getStringColumn("DESTINATION"));
+    assertEquals("json:StringBuilder", row.getJsonColumn("headers"));
+    assertFalse(row.getBooleanColumn("published"));
+  }
+
+  @Test
+  public void shouldReturnTextualJsonColumnWithoutConversion() {
+    PollingRow row = new PollingRow(columns, new Object[]{1L, "d", "{}", 0}, (name, value) -> "json:" + value);
+
+    assertEquals("{}", row.getJsonColumn("headers"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldFailOnUnknownColumn() {
+    new PollingRow(columns, new Object[4], (name, value) -> null).getColumn("payload");
+  }
+}
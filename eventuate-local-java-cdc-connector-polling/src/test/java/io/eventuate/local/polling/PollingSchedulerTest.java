@@ -0,0 +1,58 @@
+package io.eventuate.local.polling;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PollingSchedulerTest {
+
+  private final PollingScheduler pollingScheduler = new PollingScheduler(new SimpleMeterRegistry(), 1);
+
+  @After
+  public void shutdown() {
+    pollingScheduler.shutdown();
+  }
+
+  @Test
+  public void shouldRescheduleTaskByReturnedDelayUntilCompleted() throws InterruptedException {
+    AtomicInteger iterations = new AtomicInteger();
+    CountDownLatch completed = new CountDownLatch(1);
+
+    pollingScheduler.createTask(Tags.empty(), () -> iterations.incrementAndGet() < 3 ? 10 : -1, completed::countDown).start();
+
+    assertTrue(completed.await(5, TimeUnit.SECONDS));
+    assertEquals(3, iterations.get());
+  }
+
+  @Test
+  public void shouldRunTaskWhenWokenUp() throws InterruptedException {
+    CountDownLatch secondIteration = new CountDownLatch(2);
+
+    ScheduledPollingTask task = pollingScheduler.createTask(Tags.empty(), () -> {
+      secondIteration.countDown();
+      return TimeUnit.HOURS.toMillis(1);
+    }, () -> {});
+
+    task.start();
+
+    assertFalse(secondIteration.await(200, TimeUnit.MILLISECONDS));
+
+    task.wakeUp();
+
+    assertTrue(secondIteration.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void shouldBeDisabledWithoutThreads() {
+    assertFalse(new PollingScheduler(new SimpleMeterRegistry(), 0).isEnabled());
+  }
+}
@@ -0,0 +1,38 @@
+package io.eventuate.local.polling;
+
+import org.junit.Test;
+import org.postgresql.PGConnection;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PostgresNotificationListenerTest {
+
+  @Test
+  public void shouldNotWaitForNotificationsWithoutTimeout() throws Exception {
+    DataSource dataSource = mock(DataSource.class);
+    Connection connection = mock(Connection.class);
+    PGConnection pgConnection = mock(PGConnection.class);
+
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.createStatement()).thenReturn(mock(Statement.class));
+    when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+
+    PostgresNotificationListener listener = new PostgresNotificationListener(dataSource, "test_channel", 0, destination -> {}, () -> {});
+
+    listener.start();
+
+    verify(pgConnection, timeout(10000).atLeastOnce()).getNotifications(1000);
+
+    listener.stop();
+
+    verify(connection, atLeastOnce()).close();
+  }
+}
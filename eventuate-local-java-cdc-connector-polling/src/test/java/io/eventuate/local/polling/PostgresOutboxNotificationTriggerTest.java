@@ -0,0 +1,26 @@
+package io.eventuate.local.polling;
+
+import io.eventuate.common.jdbc.SchemaAndTable;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PostgresOutboxNotificationTriggerTest {
+
+  @Test
+  public void shouldCreateTriggerNotifyingWithDestination() {
+    List<String> statements = PostgresOutboxNotificationTrigger.createTriggerStatements(new SchemaAndTable("eventuate", "message"), "destination", "eventuate_messages");
+
+    assertEquals(3, statements.size());
+    assertTrue(statements.get(0).contains("pg_notify('eventuate_messages', NEW.destination)"));
+    assertTrue(statements.get(2).contains("AFTER INSERT ON eventuate.message"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectInvalidChannel() {
+    PostgresOutboxNotificationTrigger.createTriggerStatements(new SchemaAndTable("eventuate", "message"), "destination", "messages'; drop table message; --");
+  }
+}
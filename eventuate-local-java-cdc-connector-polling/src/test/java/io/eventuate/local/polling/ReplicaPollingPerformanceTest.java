@@ -0,0 +1,84 @@
+package io.eventuate.local.polling;
+
+import io.eventuate.common.jdbc.OutboxTableSuffix;
+import io.eventuate.local.common.BinlogEntryHandler;
+import io.eventuate.local.polling.spec.PollingSpec;
+import io.eventuate.local.testutil.DefaultAndPollingProfilesResolver;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import javax.sql.DataSource;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Compares the work done by the primary postgres server while polling from it and while polling from a replica.
+ * Requires a streaming replica of the test database, configured by eventuate.test.replica.datasource.url.
+ */
+@ActiveProfiles(resolver = DefaultAndPollingProfilesResolver.class)
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(classes = AbstractPollingDaoIntegrationTest.Config.class)
+@EnableAutoConfiguration
+public class ReplicaPollingPerformanceTest extends AbstractPollingDaoIntegrationTest {
+
+  private static final int POLLS = 1000;
+
+  private final OutboxTableSuffix messageTableSuffix = new OutboxTableSuffix(null);
+
+  @Value("${eventuate.test.replica.datasource.url:#{null}}")
+  private String replicaDataSourceUrl;
+
+  @Value("${spring.datasource.username}")
+  private String userName;
+
+  @Value("${spring.datasource.password}")
+  private String password;
+
+  @Test
+  public void comparePrimaryLoad() {
+    Assume.assumeTrue(replicaDataSourceUrl != null && replicaDataSourceUrl.startsWith("jdbc:postgresql:"));
+
+    BinlogEntryHandler binlogEntryHandler = prepareBinlogEntryHandler(CompletableFuture.completedFuture(null));
+
+    measure("primary", binlogEntryHandler);
+
+    DataSource replicaDataSource = new DriverManagerDataSource(replicaDataSourceUrl, userName, password);
+    pollingDao.setReplica(replicaDataSource, replicaDataSourceUrl, 1000);
+
+    measure("replica", binlogEntryHandler);
+  }
+
+  private void measure(String name, BinlogEntryHandler binlogEntryHandler) {
+    saveEvents();
+
+    long tuplesBefore = primaryTuplesRead();
+    long start = System.currentTimeMillis();
+
+    for (int i = 0; i < POLLS; i++) {
+      pollingDao.processEvents(binlogEntryHandler, PollingSpec.ALL, messageTableSuffix);
+    }
+
+    long elapsed = System.currentTimeMillis() - start;
+    long tuplesRead = primaryTuplesRead() - tuplesBefore;
+
+    System.out.println(String.format("%s: %s polls in %s ms, %s tuples read on primary, %s events published",
+            name, POLLS, elapsed, tuplesRead, processedEvents.get()));
+  }
+
+  private long primaryTuplesRead() {
+    //statistics are published with a delay
+    try {
+      Thread.sleep(1000);
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+
+    return jdbcTemplate.queryForObject("SELECT tup_returned + tup_fetched FROM pg_stat_database WHERE datname = current_database()", Long.class);
+  }
+}
@@ -0,0 +1,37 @@
+package io.eventuate.local.polling;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ReplicaPollingTest {
+
+  @Test
+  public void shouldSkipRowsMarkedOnPrimary() {
+    ReplicaPolling replicaPolling = new ReplicaPolling(new SimpleMeterRegistry(),
+            "reader",
+            mock(DataSource.class),
+            "jdbc:postgresql://replica/eventuate",
+            1000,
+            500);
+
+    replicaPolling.onMarked("eventuate.message", Arrays.asList("1", "2"));
+
+    assertTrue(replicaPolling.isMarked("eventuate.message", "1"));
+    assertTrue(replicaPolling.isMarked("eventuate.message", "2"));
+    assertFalse(replicaPolling.isMarked("eventuate.message", "3"));
+    assertFalse(replicaPolling.isMarked("eventuate.message_1", "1"));
+    assertFalse(replicaPolling.isMarked("eventuate.events", "1"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectUnsupportedDatabase() {
+    ReplicaLagQuery.forDataSourceUrl("jdbc:h2:mem:eventuate");
+  }
+}
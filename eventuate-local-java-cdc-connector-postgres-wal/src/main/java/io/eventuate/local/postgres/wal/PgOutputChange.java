@@ -0,0 +1,43 @@
+package io.eventuate.local.postgres.wal;
+
+public class PgOutputChange {
+  private final String kind;
+  private final PgOutputRelation relation;
+  private final Object[] values;
+
+  public PgOutputChange(String kind, PgOutputRelation relation, Object[] values) {
+    this.kind = kind;
+    this.relation = relation;
+    this.values = values;
+  }
+
+  public String getKind() {
+    return kind;
+  }
+
+  public boolean isInsert() {
+    return PgOutputDecoder.INSERT_KIND.equals(kind);
+  }
+
+  public PgOutputRelation getRelation() {
+    return relation;
+  }
+
+  public String getSchema() {
+    return relation.getSchema();
+  }
+
+  public String getTable() {
+    return relation.getTable();
+  }
+
+  public Object getValue(String columnName) {
+    int index = relation.indexOf(columnName);
+
+    if (index < 0) {
+      throw new IllegalArgumentException(String.format("Column %s is not found in %s", columnName, relation.getSchemaAndTable()));
+    }
+
+    return values[index];
+  }
+}
@@ -0,0 +1,263 @@
+package io.eventuate.local.postgres.wal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Decodes messages of the pgoutput logical replication protocol (versions 1 and 2).
+ * Relation messages are cached by oid, inserts and updates are converted into typed rows:
+ * int2, int4 and int8 columns become Short, Integer and Long, everything else is kept as text.
+ * Messages of streamed in-progress transactions (version 2) are not decoded when received,
+ * they are recognized by {@link #isStreamedMessage(ByteBuffer)} and decoded on commit by {@link #decodeStreamed(ByteBuffer, Consumer)}.
+ */
+public class PgOutputDecoder {
+  public static final byte BEGIN = 'B';
+  public static final byte COMMIT = 'C';
+  public static final byte RELATION = 'R';
+  public static final byte INSERT = 'I';
+  public static final byte UPDATE = 'U';
+  public static final byte STREAM_START = 'S';
+  public static final byte STREAM_STOP = 'E';
+  public static final byte STREAM_COMMIT = 'c';
+  public static final byte STREAM_ABORT = 'A';
+
+  public static final String INSERT_KIND = "insert";
+  public static final String UPDATE_KIND = "update";
+
+  private static final int INT2_OID = 21;
+  private static final int INT4_OID = 23;
+  private static final int INT8_OID = 20;
+
+  private final Map<Integer, PgOutputRelation> relations = new HashMap<>();
+  private long finalLsn;
+  private long endLsn;
+  private boolean streaming;
+  private int streamXid;
+  private int abortedSubXid;
+
+  /**
+   * @return the type of the decoded message, changes of inserts and updates are passed to the consumer
+   */
+  public byte decode(ByteBuffer buffer, Consumer<PgOutputChange> changeConsumer) {
+    byte type = buffer.get();
+
+    switch (type) {
+      case BEGIN:
+        finalLsn = buffer.getLong();
+        break;
+      case COMMIT:
+        buffer.get(); // flags
+        buffer.getLong(); // commit lsn
+        endLsn = buffer.getLong();
+        break;
+      case STREAM_START:
+        streamXid = buffer.getInt();
+        buffer.get(); // first segment
+        streaming = true;
+        break;
+      case STREAM_STOP:
+        streaming = false;
+        break;
+      case STREAM_COMMIT:
+        streamXid = buffer.getInt();
+        buffer.get(); // flags
+        finalLsn = buffer.getLong();
+        endLsn = buffer.getLong();
+        break;
+      case STREAM_ABORT:
+        streamXid = buffer.getInt();
+        abortedSubXid = buffer.getInt();
+        break;
+      default:
+        decodeChange(type, buffer, changeConsumer);
+        break;
+    }
+
+    return type;
+  }
+
+  /**
+   * @return true if the message belongs to the streamed transaction {@link #getStreamXid()} and should be kept until its commit
+   */
+  public boolean isStreamedMessage(ByteBuffer buffer) {
+    return streaming && buffer.get(buffer.position()) != STREAM_STOP;
+  }
+
+  /**
+   * Decodes a message of a streamed transaction, it is prefixed with the xid of the (sub)transaction.
+   */
+  public byte decodeStreamed(ByteBuffer buffer, Consumer<PgOutputChange> changeConsumer) {
+    byte type = buffer.get();
+    buffer.getInt(); // xid
+    decodeChange(type, buffer, changeConsumer);
+    return type;
+  }
+
+  private void decodeChange(byte type, ByteBuffer buffer, Consumer<PgOutputChange> changeConsumer) {
+    switch (type) {
+      case RELATION:
+        PgOutputRelation relation = readRelation(buffer);
+        relations.put(relation.getOid(), relation);
+        break;
+      case INSERT:
+        changeConsumer.accept(readInsert(buffer));
+        break;
+      case UPDATE:
+        changeConsumer.accept(readUpdate(buffer));
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * @return the top-level xid of the last started, committed or aborted streamed transaction
+   */
+  public int getStreamXid() {
+    return streamXid;
+  }
+
+  /**
+   * @return the xid of the aborted subtransaction, equal to {@link #getStreamXid()} when the whole transaction is aborted
+   */
+  public int getAbortedSubXid() {
+    return abortedSubXid;
+  }
+
+  /**
+   * @return the LSN of the commit record of the transaction that was started by the last decoded BEGIN message
+   * or committed by the last decoded STREAM COMMIT message
+   */
+  public long getFinalLsn() {
+    return finalLsn;
+  }
+
+  /**
+   * @return the LSN following the commit record of the transaction that was finished by the last decoded COMMIT or STREAM COMMIT message
+   */
+  public long getEndLsn() {
+    return endLsn;
+  }
+
+  private PgOutputRelation readRelation(ByteBuffer buffer) {
+    int oid = buffer.getInt();
+    String schema = readString(buffer);
+    String table = readString(buffer);
+    buffer.get(); // replica identity
+    int columnCount = buffer.getShort();
+
+    String[] columnNames = new String[columnCount];
+    int[] columnTypes = new int[columnCount];
+
+    for (int i = 0; i < columnCount; i++) {
+      buffer.get(); // flags
+      columnNames[i] = readString(buffer);
+      columnTypes[i] = buffer.getInt();
+      buffer.getInt(); // type modifier
+    }
+
+    return new PgOutputRelation(oid, schema.isEmpty() ? "pg_catalog" : schema, table, columnNames, columnTypes);
+  }
+
+  private PgOutputChange readInsert(ByteBuffer buffer) {
+    PgOutputRelation relation = getRelation(buffer.getInt());
+    buffer.get(); // 'N'
+    return new PgOutputChange(INSERT_KIND, relation, readTuple(buffer, relation));
+  }
+
+  private PgOutputChange readUpdate(ByteBuffer buffer) {
+    PgOutputRelation relation = getRelation(buffer.getInt());
+
+    byte tupleType = buffer.get();
+
+    if (tupleType == 'K' || tupleType == 'O') {
+      readTuple(buffer, relation);
+      buffer.get(); // 'N'
+    }
+
+    return new PgOutputChange(UPDATE_KIND, relation, readTuple(buffer, relation));
+  }
+
+  private PgOutputRelation getRelation(int oid) {
+    PgOutputRelation relation = relations.get(oid);
+
+    if (relation == null) {
+      throw new IllegalStateException(String.format("Change of relation %s received before its relation message", oid));
+    }
+
+    return relation;
+  }
+
+  private Object[] readTuple(ByteBuffer buffer, PgOutputRelation relation) {
+    int columnCount = buffer.getShort();
+    Object[] values = new Object[columnCount];
+
+    for (int i = 0; i < columnCount; i++) {
+      byte kind = buffer.get();
+
+      if (kind == 't') {
+        int length = buffer.getInt();
+        values[i] = readValue(buffer, length, relation.getColumnType(i));
+      }
+    }
+
+    return values;
+  }
+
+  private Object readValue(ByteBuffer buffer, int length, int type) {
+    switch (type) {
+      case INT2_OID:
+        return (short) readLong(buffer, length);
+      case INT4_OID:
+        return (int) readLong(buffer, length);
+      case INT8_OID:
+        return readLong(buffer, length);
+      default:
+        return readText(buffer, length);
+    }
+  }
+
+  private long readLong(ByteBuffer buffer, int length) {
+    boolean negative = buffer.get(buffer.position()) == '-';
+    long value = 0;
+
+    for (int i = negative ? 1 : 0; i < length; i++) {
+      value = value * 10 - (buffer.get(buffer.position() + i) - '0');
+    }
+
+    buffer.position(buffer.position() + length);
+
+    return negative ? value : -value;
+  }
+
+  private String readText(ByteBuffer buffer, int length) {
+    String text;
+
+    if (buffer.hasArray()) {
+      text = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+      buffer.position(buffer.position() + length);
+    } else {
+      byte[] bytes = new byte[length];
+      buffer.get(bytes);
+      text = new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    return text;
+  }
+
+  private String readString(ByteBuffer buffer) {
+    int start = buffer.position();
+    int end = start;
+
+    while (buffer.get(end) != 0) {
+      end++;
+    }
+
+    String text = readText(buffer, end - start);
+    buffer.get(); // terminating zero
+    return text;
+  }
+}
@@ -0,0 +1,68 @@
+package io.eventuate.local.postgres.wal;
+
+import io.eventuate.common.jdbc.SchemaAndTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the publication that the pgoutput plugin streams from.
+ * The publication contains only the tables the reader is interested in and publishes only inserts and updates,
+ * so other changes are not decoded and not sent by the server.
+ */
+public class PgOutputPublication {
+  private static final Pattern IDENTIFIER = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_$]*");
+
+  private Logger logger = LoggerFactory.getLogger(getClass());
+
+  private final JdbcTemplate jdbcTemplate;
+  private final String publicationName;
+
+  public PgOutputPublication(DataSource dataSource, String publicationName) {
+    if (publicationName == null || !IDENTIFIER.matcher(publicationName).matches()) {
+      throw new IllegalArgumentException(String.format("Invalid publication name: %s", publicationName));
+    }
+
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.publicationName = publicationName;
+  }
+
+  public String getPublicationName() {
+    return publicationName;
+  }
+
+  public void createOrUpdate(Collection<SchemaAndTable> tables) {
+    Set<SchemaAndTable> publishedTables = jdbcTemplate
+            .query("SELECT schemaname, tablename FROM pg_publication_tables WHERE pubname = ?",
+                    (rs, rowNum) -> new SchemaAndTable(rs.getString(1), rs.getString(2)),
+                    publicationName)
+            .stream()
+            .collect(Collectors.toSet());
+
+    boolean exists = !publishedTables.isEmpty() ||
+            !jdbcTemplate.queryForList("SELECT 1 FROM pg_publication WHERE pubname = ?", publicationName).isEmpty();
+
+    List<String> missingTables = tables
+            .stream()
+            .distinct()
+            .filter(table -> !publishedTables.contains(table))
+            .map(table -> String.format("%s.%s", table.getSchema(), table.getTableName()))
+            .collect(Collectors.toList());
+
+    if (!exists) {
+      logger.info("Creating publication {} for tables {}", publicationName, missingTables);
+      jdbcTemplate.execute(String.format("CREATE PUBLICATION %s FOR TABLE %s WITH (publish = 'insert, update')",
+              publicationName, String.join(", ", missingTables)));
+    } else if (!missingTables.isEmpty()) {
+      logger.info("Adding tables {} to publication {}", missingTables, publicationName);
+      jdbcTemplate.execute(String.format("ALTER PUBLICATION %s ADD TABLE %s", publicationName, String.join(", ", missingTables)));
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package io.eventuate.local.postgres.wal;
+
+import io.eventuate.common.jdbc.SchemaAndTable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class PgOutputRelation {
+  private final int oid;
+  private final SchemaAndTable schemaAndTable;
+  private final String[] columnNames;
+  private final int[] columnTypes;
+  private final Map<String, Integer> columnIndexes = new HashMap<>();
+
+  public PgOutputRelation(int oid, String schema, String table, String[] columnNames, int[] columnTypes) {
+    this.oid = oid;
+    this.schemaAndTable = new SchemaAndTable(schema, table);
+    this.columnNames = columnNames;
+    this.columnTypes = columnTypes;
+
+    for (int i = 0; i < columnNames.length; i++) {
+      columnIndexes.put(columnNames[i], i);
+    }
+  }
+
+  public int getOid() {
+    return oid;
+  }
+
+  public String getSchema() {
+    return schemaAndTable.getSchema();
+  }
+
+  public String getTable() {
+    return schemaAndTable.getTableName();
+  }
+
+  public SchemaAndTable getSchemaAndTable() {
+    return schemaAndTable;
+  }
+
+  public String[] getColumnNames() {
+    return columnNames;
+  }
+
+  public int getColumnType(int index) {
+    return columnTypes[index];
+  }
+
+  public int getColumnCount() {
+    return columnNames.length;
+  }
+
+  public int indexOf(String columnName) {
+    Integer index = columnIndexes.get(columnName);
+    return index == null ? -1 : index;
+  }
+}
@@ -0,0 +1,204 @@
+package io.eventuate.local.postgres.wal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the messages of in-progress transactions streamed by pgoutput until they are committed or aborted.
+ * Messages are kept in memory while the total size of the kept messages is under the limit,
+ * after that the messages of the transaction that exceeded the limit are moved to a temporary file.
+ * On commit the messages are passed to the consumer one by one in the order they were received.
+ */
+public class PgOutputStreamedTransactions {
+  private Logger logger = LoggerFactory.getLogger(getClass());
+
+  private final long maxInMemoryBytes;
+  private final Map<Integer, StreamedTransaction> transactions = new HashMap<>();
+  private long inMemoryBytes;
+
+  public PgOutputStreamedTransactions(long maxInMemoryBytes) {
+    this.maxInMemoryBytes = maxInMemoryBytes;
+  }
+
+  /**
+   * @param message a streamed message, prefixed with its type and the xid of its (sub)transaction
+   */
+  public void add(int xid, ByteBuffer message) {
+    byte[] bytes = new byte[message.remaining()];
+    message.get(bytes);
+
+    StreamedTransaction transaction = transactions.computeIfAbsent(xid, StreamedTransaction::new);
+    transaction.messages.add(bytes);
+    transaction.inMemoryBytes += bytes.length;
+    inMemoryBytes += bytes.length;
+
+    if (inMemoryBytes > maxInMemoryBytes) {
+      spill(transaction);
+    }
+  }
+
+  public void commit(int xid, Consumer<ByteBuffer> messageConsumer) {
+    StreamedTransaction transaction = transactions.remove(xid);
+
+    if (transaction == null) {
+      return;
+    }
+
+    try {
+      if (transaction.file != null) {
+        transaction.closeOutput();
+        replayFile(transaction, messageConsumer);
+      }
+
+      for (byte[] message : transaction.messages) {
+        if (!transaction.isAborted(message)) {
+          messageConsumer.accept(ByteBuffer.wrap(message));
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      release(transaction);
+    }
+  }
+
+  public void abort(int xid, int subXid) {
+    StreamedTransaction transaction = transactions.get(xid);
+
+    if (transaction == null) {
+      return;
+    }
+
+    if (xid == subXid) {
+      transactions.remove(xid);
+      release(transaction);
+    } else {
+      transaction.abortedSubXids.add(subXid);
+    }
+  }
+
+  public void clear() {
+    transactions.values().forEach(this::release);
+    transactions.clear();
+  }
+
+  public int getTransactionCount() {
+    return transactions.size();
+  }
+
+  public long getInMemoryBytes() {
+    return inMemoryBytes;
+  }
+
+  private void spill(StreamedTransaction transaction) {
+    try {
+      if (transaction.file == null) {
+        transaction.file = Files.createTempFile("eventuate-pgoutput-" + transaction.xid + "-", ".spill");
+        transaction.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(transaction.file)));
+        logger.info("Moving streamed transaction {} to {}", transaction.xid, transaction.file);
+      }
+
+      for (byte[] message : transaction.messages) {
+        transaction.output.writeInt(message.length);
+        transaction.output.write(message);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    transaction.messages.clear();
+    inMemoryBytes -= transaction.inMemoryBytes;
+    transaction.inMemoryBytes = 0;
+  }
+
+  private void replayFile(StreamedTransaction transaction, Consumer<ByteBuffer> messageConsumer) {
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(transaction.file)))) {
+      byte[] buffer = new byte[1024];
+
+      while (true) {
+        int length;
+
+        try {
+          length = input.readInt();
+        } catch (EOFException e) {
+          break;
+        }
+
+        if (length > buffer.length) {
+          buffer = new byte[Math.max(length, buffer.length * 2)];
+        }
+
+        input.readFully(buffer, 0, length);
+
+        ByteBuffer message = ByteBuffer.wrap(buffer, 0, length);
+
+        if (!transaction.isAborted(message)) {
+          messageConsumer.accept(message);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void release(StreamedTransaction transaction) {
+    inMemoryBytes -= transaction.inMemoryBytes;
+    transaction.inMemoryBytes = 0;
+    transaction.messages.clear();
+
+    if (transaction.file != null) {
+      try {
+        transaction.closeOutput();
+        Files.deleteIfExists(transaction.file);
+      } catch (IOException e) {
+        logger.warn("Cannot delete {}", transaction.file, e);
+      }
+    }
+  }
+
+  private static class StreamedTransaction {
+    private final int xid;
+    private final List<byte[]> messages = new ArrayList<>();
+    private final Set<Integer> abortedSubXids = new HashSet<>();
+    private long inMemoryBytes;
+    private Path file;
+    private DataOutputStream output;
+
+    StreamedTransaction(int xid) {
+      this.xid = xid;
+    }
+
+    boolean isAborted(byte[] message) {
+      return !abortedSubXids.isEmpty() && isAborted(ByteBuffer.wrap(message));
+    }
+
+    boolean isAborted(ByteBuffer message) {
+      return !abortedSubXids.isEmpty() && abortedSubXids.contains(message.getInt(message.position() + 1));
+    }
+
+    void closeOutput() throws IOException {
+      if (output != null) {
+        output.close();
+        output = null;
+      }
+    }
+  }
+}
@@ -3,24 +3,32 @@ package io.eventuate.local.postgres.wal;
 import io.eventuate.common.eventuate.local.BinlogFileOffset;
 import io.eventuate.local.common.BinlogEntry;
 
-import java.util.Arrays;
-import java.util.List;
-
 public class PostgresWalBinlogEntryExtractor {
 
-  public BinlogEntry extract(PostgresWalChange postgresWalChange) {
-    List<String> columns = Arrays.asList(postgresWalChange.getColumnnames());
-    List<String> values = Arrays.asList(postgresWalChange.getColumnvalues());
+  public BinlogEntry extract(PgOutputChange pgOutputChange, BinlogFileOffset binlogFileOffset) {
+    return new BinlogEntry() {
+      @Override
+      public Object getColumn(String name) {
+        return pgOutputChange.getValue(name);
+      }
+
+      @Override
+      public BinlogFileOffset getBinlogFileOffset() {
+        return binlogFileOffset;
+      }
+    };
+  }
 
+  public BinlogEntry extract(PostgresWalChangeSlice postgresWalChangeSlice, BinlogFileOffset binlogFileOffset) {
     return new BinlogEntry() {
       @Override
       public Object getColumn(String name) {
-        return values.get(columns.indexOf(name));
+        return postgresWalChangeSlice.getValue(name);
       }
 
       @Override
       public BinlogFileOffset getBinlogFileOffset() {
-        return null;
+        return binlogFileOffset;
       }
     };
   }
@@ -6,27 +6,35 @@ import org.postgresql.replication.LogSequenceNumber;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 import javax.sql.DataSource;
-import java.util.UUID;
 
+/**
+ * Compares the current WAL position of the server with the position acknowledged by the reader.
+ * The reader acknowledges the end of a transaction when all of its changes are published,
+ * and the last received position when nothing is left to publish,
+ * so processing is finished when the acknowledged position reaches the WAL position taken at the start of the check.
+ */
 public class PostgresWalCdcProcessingStatusService implements CdcProcessingStatusService {
+  private static final int POSTGRES_10_VERSION_NUM = 100000;
+
   private final JdbcTemplate jdbcTemplate;
   private volatile long endingOffsetOfLastProcessedEvent;
   private long currentWalPosition;
-  private final String additionalSlotName;
+  private String currentWalPositionQuery;
   private final WaitUtil waitUtil;
 
   public PostgresWalCdcProcessingStatusService(DataSource dataSource,
-                                               String additionalSlotName,
                                                long waitForOffsetSyncTimeoutInMilliseconds) {
     jdbcTemplate = new JdbcTemplate(dataSource);
-    this.additionalSlotName = additionalSlotName;
     waitUtil = new WaitUtil(waitForOffsetSyncTimeoutInMilliseconds);
   }
 
   @Override
   public CdcProcessingStatus getCurrentStatus() {
     checkCurrentWalOffsetAndWaitForSyncWithOffsetOfLastProcessedEvent();
-    return new CdcProcessingStatus(endingOffsetOfLastProcessedEvent, currentWalPosition);
+
+    long lastProcessedEvent = endingOffsetOfLastProcessedEvent;
+
+    return new CdcProcessingStatus(lastProcessedEvent, currentWalPosition, lastProcessedEvent >= currentWalPosition);
   }
 
   @Override
@@ -38,7 +46,7 @@ public class PostgresWalCdcProcessingStatusService implements CdcProcessingStatu
     if (waitUtil.start()) {
       currentWalPosition = getCurrentWalPosition();
     } else {
-      if (currentWalPosition == endingOffsetOfLastProcessedEvent) {
+      if (endingOffsetOfLastProcessedEvent >= currentWalPosition) {
         waitUtil.stop();
       } else {
         waitUtil.tick();
@@ -47,19 +55,14 @@ public class PostgresWalCdcProcessingStatusService implements CdcProcessingStatu
   }
 
   private long getCurrentWalPosition() {
-    try {
-      jdbcTemplate.queryForList("SELECT * FROM pg_create_logical_replication_slot(?, 'test_decoding')", additionalSlotName);
-      jdbcTemplate.execute("CREATE TABLE if not exists eventuate.replication_test (id VARCHAR(64) PRIMARY KEY)");
-      jdbcTemplate.execute("DELETE FROM eventuate.replication_test");
-      jdbcTemplate.update("INSERT INTO eventuate.replication_test values (?)", UUID.randomUUID().toString());
+    if (currentWalPositionQuery == null) {
+      Integer versionNum = jdbcTemplate.queryForObject("SELECT current_setting('server_version_num')::int", Integer.class);
 
-      String position = jdbcTemplate.queryForObject("SELECT lsn FROM pg_logical_slot_get_changes(?, NULL, NULL) ORDER BY lsn DESC limit 1",
-              String.class,
-              additionalSlotName);
-
-      return LogSequenceNumber.valueOf(position).asLong();
-    } finally {
-      jdbcTemplate.queryForList("SELECT * FROM pg_drop_replication_slot(?)", additionalSlotName);
+      currentWalPositionQuery = versionNum != null && versionNum >= POSTGRES_10_VERSION_NUM
+              ? "SELECT pg_current_wal_lsn()::text"
+              : "SELECT pg_current_xlog_location()::text";
     }
+
+    return LogSequenceNumber.valueOf(jdbcTemplate.queryForObject(currentWalPositionQuery, String.class)).asLong();
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,424 @@
+package io.eventuate.local.postgres.wal;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Parses wal2json messages in place, between the position and the limit of the replication buffer.
+ * Both the chunks of format version 1 with write-in-chunks (the transaction start,
+ * a change per chunk and the transaction end) and the messages of format version 2 are supported.
+ * Schema, table and kind are decoded eagerly, column values are left in the buffer, see {@link PostgresWalChangeSlice}.
+ * Column names are resolved to positions once per table and column list, see {@link PostgresWalColumnShapeCache}.
+ */
+public class PostgresWalChangeParser {
+  public static final String BEGIN_KIND = "begin";
+  public static final String COMMIT_KIND = "commit";
+  public static final String INSERT_KIND = "insert";
+  public static final String UPDATE_KIND = "update";
+
+  private static final int INITIAL_COLUMNS = 16;
+
+  private ByteBuffer buffer;
+  private int index;
+  private int limit;
+
+  private String kind;
+  private String schema;
+  private String table;
+  private String nextLsn;
+  private int[] names = new int[INITIAL_COLUMNS * 2];
+  private int[] values;
+  private byte[] valueTypes;
+  private int nameCount;
+  private int valueCount;
+
+  private final CachedString cachedSchema = new CachedString();
+  private final CachedString cachedTable = new CachedString();
+  private final PostgresWalColumnShapeCache shapeCache = new PostgresWalColumnShapeCache();
+
+  public PostgresWalChangeSlice parse(ByteBuffer buffer) {
+    this.buffer = buffer;
+    this.index = buffer.position();
+    this.limit = buffer.limit();
+
+    kind = null;
+    schema = null;
+    table = null;
+    nextLsn = null;
+    values = new int[INITIAL_COLUMNS * 2];
+    valueTypes = new byte[INITIAL_COLUMNS];
+    nameCount = 0;
+    valueCount = 0;
+
+    skipWhitespace();
+
+    if (peek() == ']') {
+      kind = COMMIT_KIND;
+    } else {
+      if (peek() == ',') {
+        index++;
+      }
+
+      parseChange();
+    }
+
+    PostgresWalColumnShape shape = nameCount == 0
+            ? PostgresWalColumnShape.EMPTY
+            : shapeCache.get(schema, table, buffer, names, nameCount);
+
+    PostgresWalChangeSlice change = new PostgresWalChangeSlice(buffer,
+            kind, schema, table, shape, values, valueTypes, Math.min(shape.getColumnCount(), valueCount), nextLsn);
+
+    this.buffer = null;
+
+    return change;
+  }
+
+  private void parseChange() {
+    expect('{');
+
+    while (true) {
+      skipWhitespace();
+
+      if (peek() == '}') {
+        index++;
+        return;
+      }
+
+      if (peek() == ',') {
+        index++;
+        continue;
+      }
+
+      int keyStart = index + 1;
+      skipString();
+      int keyEnd = index - 1;
+
+      skipWhitespace();
+      expect(':');
+      skipWhitespace();
+
+      if (rangeEquals(keyStart, keyEnd, "change")) {
+        kind = BEGIN_KIND; // format version 1 transaction start: {"change":[
+        return;
+      } else if (rangeEquals(keyStart, keyEnd, "kind") || rangeEquals(keyStart, keyEnd, "action")) {
+        kind = readKind();
+      } else if (rangeEquals(keyStart, keyEnd, "schema")) {
+        schema = readString(cachedSchema);
+      } else if (rangeEquals(keyStart, keyEnd, "table")) {
+        table = readString(cachedTable);
+      } else if (rangeEquals(keyStart, keyEnd, "nextlsn")) {
+        int start = index + 1;
+        boolean escaped = skipString();
+        nextLsn = decode(start, index - 1, escaped);
+      } else if (rangeEquals(keyStart, keyEnd, "columnnames")) {
+        parseColumnNames();
+      } else if (rangeEquals(keyStart, keyEnd, "columnvalues")) {
+        parseColumnValues();
+      } else if (rangeEquals(keyStart, keyEnd, "columns")) {
+        parseColumns();
+      } else {
+        skipValue();
+      }
+    }
+  }
+
+  private void parseColumnNames() {
+    expect('[');
+
+    while (nextArrayElement()) {
+      int start = index + 1;
+      skipString();
+      addName(start, index - 1);
+    }
+  }
+
+  private void parseColumnValues() {
+    expect('[');
+
+    while (nextArrayElement()) {
+      addValue();
+    }
+  }
+
+  private void parseColumns() {
+    expect('[');
+
+    while (nextArrayElement()) {
+      expect('{');
+
+      while (true) {
+        skipWhitespace();
+
+        if (peek() == '}') {
+          index++;
+          break;
+        }
+
+        if (peek() == ',') {
+          index++;
+          continue;
+        }
+
+        int keyStart = index + 1;
+        skipString();
+        int keyEnd = index - 1;
+
+        skipWhitespace();
+        expect(':');
+        skipWhitespace();
+
+        if (rangeEquals(keyStart, keyEnd, "name")) {
+          int start = index + 1;
+          skipString();
+          addName(start, index - 1);
+        } else if (rangeEquals(keyStart, keyEnd, "value")) {
+          addValue();
+        } else {
+          skipValue();
+        }
+      }
+    }
+  }
+
+  private boolean nextArrayElement() {
+    skipWhitespace();
+
+    if (peek() == ',') {
+      index++;
+      skipWhitespace();
+    }
+
+    if (peek() == ']') {
+      index++;
+      return false;
+    }
+
+    return true;
+  }
+
+  private void addName(int start, int end) {
+    ensureCapacity(nameCount);
+    names[nameCount * 2] = start;
+    names[nameCount * 2 + 1] = end;
+    nameCount++;
+  }
+
+  private void addValue() {
+    ensureCapacity(valueCount);
+
+    byte type;
+    int start;
+    int end;
+
+    if (peek() == '"') {
+      start = index + 1;
+      type = skipString() ? PostgresWalChangeSlice.ESCAPED_STRING : PostgresWalChangeSlice.STRING;
+      end = index - 1;
+    } else {
+      start = index;
+      type = (peek() == '-' || (peek() >= '0' && peek() <= '9')) ? PostgresWalChangeSlice.NUMBER : PostgresWalChangeSlice.LITERAL;
+      skipScalar();
+      end = index;
+    }
+
+    values[valueCount * 2] = start;
+    values[valueCount * 2 + 1] = end;
+    valueTypes[valueCount] = type;
+    valueCount++;
+  }
+
+  private void ensureCapacity(int column) {
+    if (column * 2 >= names.length) {
+      names = Arrays.copyOf(names, names.length * 2);
+    }
+
+    if (column >= valueTypes.length) {
+      values = Arrays.copyOf(values, values.length * 2);
+      valueTypes = Arrays.copyOf(valueTypes, valueTypes.length * 2);
+    }
+  }
+
+  private void skipValue() {
+    byte b = peek();
+
+    if (b == '"') {
+      skipString();
+    } else if (b == '{' || b == '[') {
+      skipContainer();
+    } else {
+      skipScalar();
+    }
+  }
+
+  private void skipContainer() {
+    int depth = 0;
+
+    do {
+      byte b = peek();
+
+      if (b == '"') {
+        skipString();
+        continue;
+      }
+
+      if (b == '{' || b == '[') {
+        depth++;
+      } else if (b == '}' || b == ']') {
+        depth--;
+      }
+
+      index++;
+    } while (depth > 0);
+  }
+
+  private void skipScalar() {
+    while (index < limit) {
+      byte b = buffer.get(index);
+
+      if (b == ',' || b == '}' || b == ']' || b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+        return;
+      }
+
+      index++;
+    }
+  }
+
+  /**
+   * @return true if the string contains escape sequences
+   */
+  private boolean skipString() {
+    expect('"');
+
+    boolean escaped = false;
+
+    while (true) {
+      byte b = next();
+
+      if (b == '"') {
+        return escaped;
+      }
+
+      if (b == '\\') {
+        escaped = true;
+        index++;
+      }
+    }
+  }
+
+  private String readKind() {
+    int start = index + 1;
+    boolean escaped = skipString();
+    int end = index - 1;
+
+    if (rangeEquals(start, end, INSERT_KIND) || rangeEquals(start, end, "I")) {
+      return INSERT_KIND;
+    } else if (rangeEquals(start, end, UPDATE_KIND) || rangeEquals(start, end, "U")) {
+      return UPDATE_KIND;
+    } else if (rangeEquals(start, end, "B")) {
+      return BEGIN_KIND;
+    } else if (rangeEquals(start, end, "C")) {
+      return COMMIT_KIND;
+    }
+
+    return decode(start, end, escaped);
+  }
+
+  private String readString(CachedString cache) {
+    int start = index + 1;
+    boolean escaped = skipString();
+    int end = index - 1;
+
+    if (escaped) {
+      return decode(start, end, true);
+    }
+
+    if (!cache.matches(buffer, start, end)) {
+      cache.update(buffer, start, end, decode(start, end, false));
+    }
+
+    return cache.value;
+  }
+
+  private String decode(int start, int end, boolean escaped) {
+    return PostgresWalChangeSlice.decodeString(buffer, start, end, escaped);
+  }
+
+  private boolean rangeEquals(int start, int end, String key) {
+    if (end - start != key.length()) {
+      return false;
+    }
+
+    for (int i = 0; i < key.length(); i++) {
+      if (buffer.get(start + i) != key.charAt(i)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private void skipWhitespace() {
+    while (index < limit) {
+      byte b = buffer.get(index);
+
+      if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+        return;
+      }
+
+      index++;
+    }
+  }
+
+  private byte peek() {
+    if (index >= limit) {
+      throw new IllegalArgumentException("Unexpected end of wal2json message");
+    }
+
+    return buffer.get(index);
+  }
+
+  private byte next() {
+    byte b = peek();
+    index++;
+    return b;
+  }
+
+  private void expect(char expected) {
+    byte actual = next();
+
+    if (actual != expected) {
+      throw new IllegalArgumentException(String.format("Unexpected character '%s' in wal2json message, '%s' is expected",
+              (char) actual, expected));
+    }
+  }
+
+  private static class CachedString {
+    private byte[] bytes = new byte[0];
+    private String value;
+
+    boolean matches(ByteBuffer buffer, int start, int end) {
+      if (value == null || end - start != bytes.length) {
+        return false;
+      }
+
+      for (int i = 0; i < bytes.length; i++) {
+        if (buffer.get(start + i) != bytes[i]) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    void update(ByteBuffer buffer, int start, int end, String value) {
+      bytes = new byte[end - start];
+
+      for (int i = start; i < end; i++) {
+        bytes[i - start] = buffer.get(i);
+      }
+
+      this.value = value;
+    }
+  }
+}
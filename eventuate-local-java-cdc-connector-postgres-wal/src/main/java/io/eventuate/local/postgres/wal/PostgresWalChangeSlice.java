@@ -0,0 +1,189 @@
+package io.eventuate.local.postgres.wal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A wal2json change that references its column names and values in the replication buffer.
+ * Values are decoded only when they are requested.
+ */
+public class PostgresWalChangeSlice {
+  static final byte STRING = 's';
+  static final byte ESCAPED_STRING = 'e';
+  static final byte NUMBER = 'n';
+  static final byte LITERAL = 'l';
+
+  private final ByteBuffer buffer;
+  private final String kind;
+  private final String schema;
+  private final String table;
+  private final PostgresWalColumnShape shape;
+  private final int[] values;
+  private final byte[] valueTypes;
+  private final int columnCount;
+  private final String nextLsn;
+
+  PostgresWalChangeSlice(ByteBuffer buffer,
+                         String kind,
+                         String schema,
+                         String table,
+                         PostgresWalColumnShape shape,
+                         int[] values,
+                         byte[] valueTypes,
+                         int columnCount,
+                         String nextLsn) {
+    this.buffer = buffer;
+    this.kind = kind;
+    this.schema = schema;
+    this.table = table;
+    this.shape = shape;
+    this.values = values;
+    this.valueTypes = valueTypes;
+    this.columnCount = columnCount;
+    this.nextLsn = nextLsn;
+  }
+
+  public String getKind() {
+    return kind;
+  }
+
+  public String getSchema() {
+    return schema;
+  }
+
+  public String getTable() {
+    return table;
+  }
+
+  public int getColumnCount() {
+    return columnCount;
+  }
+
+  /**
+   * @return the LSN following the commit of the transaction, present in the transaction start when wal2json is run with include-lsn
+   */
+  public String getNextLsn() {
+    return nextLsn;
+  }
+
+  public Object getValue(String columnName) {
+    int index = shape.indexOf(columnName);
+
+    if (index < 0 || index >= columnCount) {
+      throw new IllegalArgumentException(String.format("Column %s is not found in %s.%s", columnName, schema, table));
+    }
+
+    return decodeValue(index);
+  }
+
+  private Object decodeValue(int column) {
+    int start = values[column * 2];
+    int end = values[column * 2 + 1];
+
+    switch (valueTypes[column]) {
+      case STRING:
+        return decodeString(start, end, false);
+      case ESCAPED_STRING:
+        return decodeString(start, end, true);
+      case NUMBER:
+        return decodeNumber(start, end);
+      default:
+        return decodeLiteral(start, end);
+    }
+  }
+
+  private Object decodeNumber(int start, int end) {
+    boolean negative = buffer.get(start) == '-';
+    int first = negative ? start + 1 : start;
+
+    if (end - first > 18) {
+      return decodeString(start, end, false);
+    }
+
+    long value = 0;
+
+    for (int i = first; i < end; i++) {
+      byte b = buffer.get(i);
+
+      if (b < '0' || b > '9') {
+        return decodeString(start, end, false);
+      }
+
+      value = value * 10 + (b - '0');
+    }
+
+    return negative ? -value : value;
+  }
+
+  private Object decodeLiteral(int start, int end) {
+    switch (buffer.get(start)) {
+      case 't':
+        return Boolean.TRUE;
+      case 'f':
+        return Boolean.FALSE;
+      default:
+        return null;
+    }
+  }
+
+  private String decodeString(int start, int end, boolean escaped) {
+    return decodeString(buffer, start, end, escaped);
+  }
+
+  static String decodeString(ByteBuffer buffer, int start, int end, boolean escaped) {
+    String text;
+
+    if (buffer.hasArray()) {
+      text = new String(buffer.array(), buffer.arrayOffset() + start, end - start, StandardCharsets.UTF_8);
+    } else {
+      byte[] bytes = new byte[end - start];
+      for (int i = start; i < end; i++) {
+        bytes[i - start] = buffer.get(i);
+      }
+      text = new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    return escaped ? unescape(text) : text;
+  }
+
+  private static String unescape(String text) {
+    StringBuilder result = new StringBuilder(text.length());
+
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+
+      if (c != '\\') {
+        result.append(c);
+        continue;
+      }
+
+      char escaped = text.charAt(++i);
+
+      switch (escaped) {
+        case 'b':
+          result.append('\b');
+          break;
+        case 'f':
+          result.append('\f');
+          break;
+        case 'n':
+          result.append('\n');
+          break;
+        case 'r':
+          result.append('\r');
+          break;
+        case 't':
+          result.append('\t');
+          break;
+        case 'u':
+          result.append((char) Integer.parseInt(text.substring(i + 1, i + 5), 16));
+          i += 4;
+          break;
+        default:
+          result.append(escaped);
+      }
+    }
+
+    return result.toString();
+  }
+}
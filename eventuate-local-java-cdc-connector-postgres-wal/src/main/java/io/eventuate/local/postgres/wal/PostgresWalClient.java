@@ -2,7 +2,6 @@ package io.eventuate.local.postgres.wal;
 
 import io.eventuate.common.jdbc.EventuateSchema;
 import io.eventuate.common.jdbc.SchemaAndTable;
-import io.eventuate.common.json.mapper.JSonMapper;
 import io.eventuate.local.common.BinlogEntry;
 import io.eventuate.local.common.BinlogEntryHandler;
 import io.eventuate.local.common.CdcProcessingStatusService;
@@ -13,19 +12,21 @@ import org.postgresql.PGConnection;
 import org.postgresql.PGProperty;
 import org.postgresql.replication.LogSequenceNumber;
 import org.postgresql.replication.PGReplicationStream;
+import org.postgresql.replication.fluent.logical.ChainedLogicalStreamBuilder;
 
 import javax.sql.DataSource;
 import java.nio.ByteBuffer;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class PostgresWalClient extends DbLogClient {
@@ -41,6 +42,17 @@ public class PostgresWalClient extends DbLogClient {
   private final PostgresWalCdcProcessingStatusService postgresWalCdcProcessingStatusService;
   private OffsetProcessor<LogSequenceNumber> offsetProcessor;
   private final PostgresConnectionFactory connectionFactory;
+  private PostgresWalOutputPlugin outputPlugin = PostgresWalOutputPlugin.WAL2JSON;
+  private PgOutputPublication pgOutputPublication;
+  private final PostgresWalReplicationSlot replicationSlot;
+  private String sourceReplicationSlotName;
+  private boolean pgOutputStreaming;
+  private long pgOutputStreamingMaxInMemoryBytes;
+  private int wal2JsonFormatVersion = 1;
+  private boolean serverSideTableFiltering;
+  private int readParkIntervalInMicroseconds;
+  private PostgresWalTransaction transaction;
+  private boolean transactionInProgress;
 
   public PostgresWalClient(MeterRegistry meterRegistry,
                            String dataSourceUrl,
@@ -56,7 +68,6 @@ public class PostgresWalClient extends DbLogClient {
                            long replicationLagMeasuringIntervalInMilliseconds,
                            int monitoringRetryIntervalInMilliseconds,
                            int monitoringRetryAttempts,
-                           String additionalServiceReplicationSlotName,
                            long waitForOffsetSyncTimeoutInMilliseconds,
                            EventuateSchema monitoringSchema,
                            Long outboxId,
@@ -83,12 +94,115 @@ public class PostgresWalClient extends DbLogClient {
     this.postgresWalBinlogEntryExtractor = new PostgresWalBinlogEntryExtractor();
     this.maxLsnDiffInMb = maxLsnDiffInMb;
     this.connectionFactory = connectionFactory;
+    this.replicationSlot = new PostgresWalReplicationSlot(dataSource);
 
     postgresWalCdcProcessingStatusService = new PostgresWalCdcProcessingStatusService(dataSource,
-            additionalServiceReplicationSlotName,
             waitForOffsetSyncTimeoutInMilliseconds);
   }
 
+  /**
+   * @deprecated the additional service replication slot is not used, the processing status is checked without it
+   */
+  @Deprecated
+  public PostgresWalClient(MeterRegistry meterRegistry,
+                           String dataSourceUrl,
+                           String user,
+                           String password,
+                           int walIntervalInMilliseconds,
+                           int connectionTimeoutInMilliseconds,
+                           int maxAttemptsForBinlogConnection,
+                           int replicationStatusIntervalInMilliseconds,
+                           String replicationSlotName,
+                           DataSource dataSource,
+                           String readerName,
+                           long replicationLagMeasuringIntervalInMilliseconds,
+                           int monitoringRetryIntervalInMilliseconds,
+                           int monitoringRetryAttempts,
+                           String additionalServiceReplicationSlotName,
+                           long waitForOffsetSyncTimeoutInMilliseconds,
+                           EventuateSchema monitoringSchema,
+                           Long outboxId,
+                           int maxLsnDiffInMb,
+                           PostgresConnectionFactory connectionFactory) {
+
+    this(meterRegistry,
+            dataSourceUrl,
+            user,
+            password,
+            walIntervalInMilliseconds,
+            connectionTimeoutInMilliseconds,
+            maxAttemptsForBinlogConnection,
+            replicationStatusIntervalInMilliseconds,
+            replicationSlotName,
+            dataSource,
+            readerName,
+            replicationLagMeasuringIntervalInMilliseconds,
+            monitoringRetryIntervalInMilliseconds,
+            monitoringRetryAttempts,
+            waitForOffsetSyncTimeoutInMilliseconds,
+            monitoringSchema,
+            outboxId,
+            maxLsnDiffInMb,
+            connectionFactory);
+  }
+
+  /**
+   * Creates the replication slot, when it does not exist, as a copy of the slot its tables were read through before.
+   * Without the source slot only the pgoutput slot is created, the default wal2json slot is expected to be created with the database.
+   */
+  public void setSourceReplicationSlotName(String sourceReplicationSlotName) {
+    this.sourceReplicationSlotName = sourceReplicationSlotName;
+  }
+
+  public void prepareReplicationSlot() {
+    if (sourceReplicationSlotName != null) {
+      replicationSlot.copyIfNotExists(replicationSlotName, sourceReplicationSlotName, outputPlugin);
+    } else if (outputPlugin == PostgresWalOutputPlugin.PGOUTPUT) {
+      replicationSlot.createIfNotExists(replicationSlotName, outputPlugin);
+    }
+  }
+
+  public void setOutputPlugin(PostgresWalOutputPlugin outputPlugin, String publicationName) {
+    this.outputPlugin = outputPlugin;
+
+    if (outputPlugin == PostgresWalOutputPlugin.PGOUTPUT) {
+      pgOutputPublication = new PgOutputPublication(dataSource, publicationName);
+    }
+  }
+
+  /**
+   * Enables streaming of in-progress transactions (pgoutput protocol version 2, Postgres 14+).
+   * Streamed changes are kept until the commit of their transaction, in memory up to maxInMemoryBytes and in temporary files beyond that.
+   */
+  public void setPgOutputStreaming(boolean pgOutputStreaming, long maxInMemoryBytes) {
+    this.pgOutputStreaming = pgOutputStreaming;
+    this.pgOutputStreamingMaxInMemoryBytes = maxInMemoryBytes;
+  }
+
+  public void setWal2JsonFormatVersion(int wal2JsonFormatVersion) {
+    if (wal2JsonFormatVersion != 1 && wal2JsonFormatVersion != 2) {
+      throw new IllegalArgumentException(String.format("Unsupported wal2json format version: %s", wal2JsonFormatVersion));
+    }
+
+    this.wal2JsonFormatVersion = wal2JsonFormatVersion;
+  }
+
+  /**
+   * Lets wal2json send only inserts and updates of the replicated tables (add-tables and actions options).
+   * Off by default, wal2json versions without the actions option reject it and the stream does not start.
+   */
+  public void setServerSideTableFiltering(boolean serverSideTableFiltering) {
+    this.serverSideTableFiltering = serverSideTableFiltering;
+  }
+
+  /**
+   * When positive, an empty read is retried every readParkIntervalInMicroseconds until data arrives
+   * or walIntervalInMilliseconds passes, instead of sleeping walIntervalInMilliseconds.
+   */
+  public void setReadParkIntervalInMicroseconds(int readParkIntervalInMicroseconds) {
+    this.readParkIntervalInMicroseconds = readParkIntervalInMicroseconds;
+  }
+
   @Override
   public CdcProcessingStatusService getCdcProcessingStatusService() {
     return postgresWalCdcProcessingStatusService;
@@ -146,112 +260,208 @@ public class PostgresWalClient extends DbLogClient {
 
     PGConnection replConnection = connection.unwrap(PGConnection.class);
 
-    stream = replConnection.getReplicationAPI()
+    ChainedLogicalStreamBuilder streamBuilder = replConnection.getReplicationAPI()
             .replicationStream()
             .logical()
-            .withSlotName(replicationSlotName)
-            .withSlotOption("include-xids", false)
-            .withSlotOption("write-in-chunks", true)
+            .withSlotName(replicationSlotName);
+
+    if (outputPlugin == PostgresWalOutputPlugin.PGOUTPUT) {
+      preparePgOutputPublication();
+
+      streamBuilder = streamBuilder
+              .withSlotOption("proto_version", pgOutputStreaming ? "2" : "1")
+              .withSlotOption("publication_names", pgOutputPublication.getPublicationName());
+
+      if (pgOutputStreaming) {
+        streamBuilder = streamBuilder.withSlotOption("streaming", "on");
+      }
+    } else {
+      streamBuilder = streamBuilder.withSlotOption("include-lsn", true);
+
+      if (wal2JsonFormatVersion == 2) {
+        streamBuilder = streamBuilder.withSlotOption("format-version", 2);
+      } else {
+        streamBuilder = streamBuilder
+                .withSlotOption("include-xids", false)
+                .withSlotOption("write-in-chunks", true);
+      }
+
+      if (serverSideTableFiltering) {
+        streamBuilder = streamBuilder
+                .withSlotOption("add-tables", wal2JsonTables(replicatedTables()))
+                .withSlotOption("actions", "insert,update");
+      }
+    }
+
+    prepareReplicationSlot();
+
+    stream = streamBuilder
             .withStatusInterval(replicationStatusIntervalInMilliseconds, TimeUnit.MILLISECONDS)
             .start();
 
     offsetProcessor = new OffsetProcessor<>(logSequenceNumber -> {
-      stream.setAppliedLSN(stream.getLastReceiveLSN());
-      stream.setFlushedLSN(stream.getLastReceiveLSN());
+      stream.setAppliedLSN(logSequenceNumber);
+      stream.setFlushedLSN(logSequenceNumber);
       try {
         stream.forceUpdateStatus();
       } catch (SQLException e) {
         throw new RuntimeException(e);
       }
+      postgresWalCdcProcessingStatusService.saveEndingOffsetOfLastProcessedEvent(logSequenceNumber.asLong());
     }, this::handleProcessingFailException);
 
     onConnected();
 
     logger.info("connection to postgres wal {} succeeded", dataSourceUrl);
 
-    StringBuilder messageBuilder = new StringBuilder();
+    if (outputPlugin == PostgresWalOutputPlugin.PGOUTPUT) {
+      processPgOutputMessages();
+    } else {
+      processWal2JsonMessages();
+    }
+
+    stopCountDownLatch.countDown();
+  }
+
+  private void processWal2JsonMessages() throws SQLException {
+    PostgresWalChangeParser postgresWalChangeParser = new PostgresWalChangeParser();
+    transaction = new PostgresWalTransaction(stream.getLastReceiveLSN().asLong());
+    boolean nextLsnReceived = false;
 
     while (running.get()) {
-      ByteBuffer messageBuffer = stream.readPending();
+      ByteBuffer messageBuffer = readMessage();
 
       if (messageBuffer == null) {
-        long lsnDiffInMb = getLsnDiffInMb(stream.getLastReceiveLSN(), stream.getLastFlushedLSN());
-        if (lsnDiffInMb > maxLsnDiffInMb) {
-          offsetProcessor.saveOffset(CompletableFuture.completedFuture(Optional.of(stream.getLastReceiveLSN())));
-        }
-        saveOffsetOfLastProcessedEvent();
-        logger.debug("Got empty message, sleeping");
-        sleep();
+        onEmptyMessage();
         continue;
       }
 
-      String messagePart = extractStringFromBuffer(messageBuffer);
-
-      messageBuilder.append(messagePart);
+      PostgresWalChangeSlice change = postgresWalChangeParser.parse(messageBuffer);
 
-      if (!"]}".equals(messagePart)) {
+      if (PostgresWalChangeParser.BEGIN_KIND.equals(change.getKind())) {
+        transactionInProgress = true;
+        nextLsnReceived = change.getNextLsn() != null;
+        transaction = new PostgresWalTransaction(nextLsnReceived
+                ? LogSequenceNumber.valueOf(change.getNextLsn()).asLong()
+                : stream.getLastReceiveLSN().asLong());
         continue;
       }
 
-      dbLogMetrics.onBinlogEntryProcessed();
+      if (PostgresWalChangeParser.COMMIT_KIND.equals(change.getKind())) {
+        transactionInProgress = false;
+        commitTransaction(nextLsnReceived ? LogSequenceNumber.valueOf(transaction.getLsn()) : stream.getLastReceiveLSN());
+      } else if (cdcMonitoringDao.isMonitoringTableChange(change.getSchema(), change.getTable())) {
+        onMonitoringChange(postgresWalBinlogEntryExtractor.extract(change, null).getLongColumn("last_time"));
+      } else if (PostgresWalChangeParser.INSERT_KIND.equals(change.getKind())) {
+        publishChange(postgresWalBinlogEntryExtractor.extract(change, transaction.nextOffset()),
+                new SchemaAndTable(change.getSchema(), change.getTable()));
+      }
+    }
+  }
 
-      String messageString = messageBuilder.toString();
-      messageBuilder.setLength(0);
+  private void processPgOutputMessages() throws SQLException {
+    PgOutputDecoder pgOutputDecoder = new PgOutputDecoder();
+    PgOutputStreamedTransactions streamedTransactions = new PgOutputStreamedTransactions(pgOutputStreamingMaxInMemoryBytes);
+    transaction = new PostgresWalTransaction(stream.getLastReceiveLSN().asLong());
+
+    Consumer<PgOutputChange> changeHandler = change -> {
+      if (cdcMonitoringDao.isMonitoringTableChange(change.getSchema(), change.getTable())) {
+        onMonitoringChange(postgresWalBinlogEntryExtractor.extract(change, null).getLongColumn("last_time"));
+      } else if (change.isInsert()) {
+        publishChange(postgresWalBinlogEntryExtractor.extract(change, transaction.nextOffset()),
+                change.getRelation().getSchemaAndTable());
+      }
+    };
 
-      logger.debug("Got message: {}", messageString);
+    try {
+      while (running.get()) {
+        ByteBuffer messageBuffer = readMessage();
 
-      PostgresWalMessage postgresWalMessage = JSonMapper.fromJson(messageString, PostgresWalMessage.class);
+        if (messageBuffer == null) {
+          onEmptyMessage();
+          continue;
+        }
 
-      checkMonitoringChange(postgresWalMessage);
+        if (pgOutputDecoder.isStreamedMessage(messageBuffer)) {
+          streamedTransactions.add(pgOutputDecoder.getStreamXid(), messageBuffer);
+          continue;
+        }
 
-      LogSequenceNumber lastReceivedLSN = stream.getLastReceiveLSN();
+        byte messageType = pgOutputDecoder.decode(messageBuffer, changeHandler);
+
+        if (messageType == PgOutputDecoder.BEGIN) {
+          transactionInProgress = true;
+          transaction = new PostgresWalTransaction(pgOutputDecoder.getFinalLsn());
+        } else if (messageType == PgOutputDecoder.COMMIT) {
+          transactionInProgress = false;
+          commitTransaction(LogSequenceNumber.valueOf(pgOutputDecoder.getEndLsn()));
+        } else if (messageType == PgOutputDecoder.STREAM_COMMIT) {
+          transaction = new PostgresWalTransaction(pgOutputDecoder.getFinalLsn());
+          streamedTransactions.commit(pgOutputDecoder.getStreamXid(),
+                  message -> pgOutputDecoder.decodeStreamed(message, changeHandler));
+          commitTransaction(LogSequenceNumber.valueOf(pgOutputDecoder.getEndLsn()));
+        } else if (messageType == PgOutputDecoder.STREAM_ABORT) {
+          streamedTransactions.abort(pgOutputDecoder.getStreamXid(), pgOutputDecoder.getAbortedSubXid());
+        }
+      }
+    } finally {
+      streamedTransactions.clear();
+    }
+  }
+
+  private ByteBuffer readMessage() throws SQLException {
+    ByteBuffer messageBuffer = stream.readPending();
+
+    if (messageBuffer != null || readParkIntervalInMicroseconds <= 0) {
+      return messageBuffer;
+    }
 
-      logger.debug("received offset: {} == {}", lastReceivedLSN, lastReceivedLSN.asLong());
+    long parkIntervalInNanos = TimeUnit.MICROSECONDS.toNanos(readParkIntervalInMicroseconds);
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(walIntervalInMilliseconds);
 
-      List<BinlogEntryWithSchemaAndTable> inserts = Arrays
-              .stream(postgresWalMessage.getChange())
-              .filter(change -> change.getKind().equals("insert"))
-              .map(change -> BinlogEntryWithSchemaAndTable.make(postgresWalBinlogEntryExtractor, change))
-              .collect(Collectors.toList());
+    while (running.get() && System.nanoTime() - deadline < 0) {
+      LockSupport.parkNanos(parkIntervalInNanos);
 
-      binlogEntryHandlers.forEach(handler ->
-              inserts
-                      .stream()
-                      .filter(entry -> handler.isFor(entry.getSchemaAndTable()))
-                      .map(BinlogEntryWithSchemaAndTable::getBinlogEntry)
-                      .forEach(e -> handleBinlogEntry(e, handler)));
-      saveOffsetOfLastProcessedEvent();
+      if (Thread.interrupted()) {
+        handleProcessingFailException(new InterruptedException());
+      }
+
+      messageBuffer = stream.readPending();
+
+      if (messageBuffer != null) {
+        return messageBuffer;
+      }
     }
 
-    stopCountDownLatch.countDown();
+    return null;
   }
 
-  private void sleep() {
-    try {
-      TimeUnit.MILLISECONDS.sleep(walIntervalInMilliseconds);
-    } catch (InterruptedException e) {
-      handleProcessingFailException(e);
+  private void publishChange(BinlogEntry entry, SchemaAndTable schemaAndTable) {
+    for (BinlogEntryHandler handler : binlogEntryHandlers) {
+      if (handler.isFor(schemaAndTable)) {
+        try {
+          transaction.add(handler.publish(entry, null));
+        } catch (Exception e) {
+          handleProcessingFailException(e);
+        }
+
+        onEventReceived();
+      }
     }
   }
 
-  private long getLsnDiffInMb(LogSequenceNumber lsn1, LogSequenceNumber lsn2) {
-    return (lsn1.asLong() - lsn2.asLong()) / (1024 * 1024);
-  }
+  /**
+   * @param logSequenceNumber the position to flush once all changes of the transaction are published,
+   *                          the offset processor flushes positions in the order of the transactions
+   */
+  private void commitTransaction(LogSequenceNumber logSequenceNumber) {
+    dbLogMetrics.onBinlogEntryProcessed();
 
-  private void handleBinlogEntry(BinlogEntry entry, BinlogEntryHandler handler) {
-    LogSequenceNumber logSequenceNumber = stream.getLastReceiveLSN();
+    logger.debug("received offset: {} == {}", logSequenceNumber, logSequenceNumber.asLong());
 
     CompletableFuture<Optional<LogSequenceNumber>> futureOffset = new CompletableFuture<>();
 
-    CompletableFuture<?> future = null;
-
-    try {
-      future = handler.publish(entry, null);
-    } catch (Exception e) {
-      handleProcessingFailException(e);
-    }
-
-    future.whenComplete((o, throwable) -> {
+    transaction.commit().whenComplete((o, throwable) -> {
       if (throwable == null) {
         futureOffset.complete(Optional.of(logSequenceNumber));
       }
@@ -262,84 +472,91 @@ public class PostgresWalClient extends DbLogClient {
     });
 
     offsetProcessor.saveOffset(futureOffset);
+  }
 
-    onEventReceived();
+  private void preparePgOutputPublication() {
+    pgOutputPublication.createOrUpdate(replicatedTables());
   }
 
-  @Override
-  public void stop(boolean removeHandlers) {
-    logger.info("Stopping PostgresWalClient");
-    super.stop(removeHandlers);
+  private List<SchemaAndTable> replicatedTables() {
+    List<SchemaAndTable> tables = binlogEntryHandlers
+            .stream()
+            .map(BinlogEntryHandler::getSchemaAndTable)
+            .distinct()
+            .collect(Collectors.toList());
 
-    try {
-      stream.close();
-    } catch (Exception e) {
-      logger.error(e.getMessage(), e);
-    }
+    tables.add(cdcMonitoringDao.getMonitoringSchemaAndTable());
 
-    try {
-      connection.close();
-    } catch (Exception e) {
-      logger.error(e.getMessage(), e);
-    }
-    logger.info("Stopped PostgresWalClient");
+    return tables;
   }
 
-  private void checkMonitoringChange(PostgresWalMessage postgresWalMessage) {
-    Optional<PostgresWalChange> monitoringChange = Arrays
-            .stream(postgresWalMessage.getChange())
-            .filter(change -> {
-              String changeSchema = change.getSchema();
-              String changeTable = change.getTable();
-              return cdcMonitoringDao.isMonitoringTableChange(changeSchema, changeTable);
-            })
-            .findAny();
-
-    monitoringChange.ifPresent(change -> {
-      int index = Arrays.asList(change.getColumnnames()).indexOf("last_time");
-      dbLogMetrics.onLagMeasurementEventReceived(Long.parseLong(change.getColumnvalues()[index]));
-      onEventReceived();
-    });
+  static String wal2JsonTables(List<SchemaAndTable> tables) {
+    return tables
+            .stream()
+            .map(table -> escapeWal2JsonName(table.getSchema()) + "." + escapeWal2JsonName(table.getTableName()))
+            .collect(Collectors.joining(","));
   }
 
+  private static String escapeWal2JsonName(String name) {
+    return name.replaceAll("([\\\\.,* ])", "\\\\$1");
+  }
 
-  private String extractStringFromBuffer(ByteBuffer byteBuffer) {
-    int offset = byteBuffer.arrayOffset();
-    byte[] source = byteBuffer.array();
-    int length = source.length - offset;
+  private void onEmptyMessage() {
+    LogSequenceNumber lastReceiveLSN = stream.getLastReceiveLSN();
+    long lsnDiffInMb = getLsnDiffInMb(lastReceiveLSN, stream.getLastFlushedLSN());
+    if (lsnDiffInMb > maxLsnDiffInMb || isIdle(lastReceiveLSN)) {
+      offsetProcessor.saveOffset(CompletableFuture.completedFuture(Optional.of(lastReceiveLSN)));
+    }
+    if (readParkIntervalInMicroseconds <= 0) {
+      logger.debug("Got empty message, sleeping");
+      sleep();
+    }
+  }
 
-    return new String(source, offset, length);
+  /**
+   * When no transaction is being read or published, everything up to the last received position is processed.
+   * Keepalives move that position past the WAL the reader does not get, e.g. changes of other tables and checkpoints,
+   * so acknowledging it lets the processing status reach the current WAL position without waiting for a replicated commit.
+   */
+  private boolean isIdle(LogSequenceNumber lastReceiveLSN) {
+    return !transactionInProgress &&
+            offsetProcessor.getUnprocessedOffsetCount().get() == 0 &&
+            lastReceiveLSN.asLong() > stream.getLastFlushedLSN().asLong();
   }
 
-  private void saveOffsetOfLastProcessedEvent() {
-    if (postgresWalCdcProcessingStatusService != null) {
-      postgresWalCdcProcessingStatusService.saveEndingOffsetOfLastProcessedEvent(stream.getLastReceiveLSN().asLong());
+  private void sleep() {
+    try {
+      TimeUnit.MILLISECONDS.sleep(walIntervalInMilliseconds);
+    } catch (InterruptedException e) {
+      handleProcessingFailException(e);
     }
   }
 
-  private static class BinlogEntryWithSchemaAndTable {
-    private BinlogEntry binlogEntry;
-    private SchemaAndTable schemaAndTable;
+  private long getLsnDiffInMb(LogSequenceNumber lsn1, LogSequenceNumber lsn2) {
+    return (lsn1.asLong() - lsn2.asLong()) / (1024 * 1024);
+  }
 
-    public BinlogEntryWithSchemaAndTable(BinlogEntry binlogEntry, SchemaAndTable schemaAndTable) {
-      this.binlogEntry = binlogEntry;
-      this.schemaAndTable = schemaAndTable;
-    }
+  @Override
+  public void stop(boolean removeHandlers) {
+    logger.info("Stopping PostgresWalClient");
+    super.stop(removeHandlers);
 
-    public BinlogEntry getBinlogEntry() {
-      return binlogEntry;
+    try {
+      stream.close();
+    } catch (Exception e) {
+      logger.error(e.getMessage(), e);
     }
 
-    public SchemaAndTable getSchemaAndTable() {
-      return schemaAndTable;
+    try {
+      connection.close();
+    } catch (Exception e) {
+      logger.error(e.getMessage(), e);
     }
+    logger.info("Stopped PostgresWalClient");
+  }
 
-    public static BinlogEntryWithSchemaAndTable make(PostgresWalBinlogEntryExtractor extractor,
-                                                     PostgresWalChange change) {
-
-      BinlogEntry binlogEntry = extractor.extract(change);
-      SchemaAndTable schemaAndTable = new SchemaAndTable(change.getSchema(), change.getTable());
-      return new BinlogEntryWithSchemaAndTable(binlogEntry, schemaAndTable);
-    }
+  private void onMonitoringChange(long lastTime) {
+    dbLogMetrics.onLagMeasurementEventReceived(lastTime);
+    onEventReceived();
   }
 }
@@ -0,0 +1,83 @@
+package io.eventuate.local.postgres.wal;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Column positions of a table, resolved once and reused while the column list of the changes stays the same.
+ */
+public class PostgresWalColumnShape {
+  public static final PostgresWalColumnShape EMPTY = new PostgresWalColumnShape(new String[0], new byte[0][]);
+
+  private final String[] names;
+  private final byte[][] rawNames;
+  private final Map<String, Integer> indexes = new HashMap<>();
+
+  private PostgresWalColumnShape(String[] names, byte[][] rawNames) {
+    this.names = names;
+    this.rawNames = rawNames;
+
+    for (int i = 0; i < names.length; i++) {
+      indexes.putIfAbsent(names[i], i);
+    }
+  }
+
+  /**
+   * @param nameRanges start and end pairs of the column names in the buffer
+   */
+  public static PostgresWalColumnShape of(ByteBuffer buffer, int[] nameRanges, int count) {
+    String[] names = new String[count];
+    byte[][] rawNames = new byte[count][];
+
+    for (int i = 0; i < count; i++) {
+      int start = nameRanges[i * 2];
+      int end = nameRanges[i * 2 + 1];
+
+      rawNames[i] = new byte[end - start];
+      boolean escaped = false;
+
+      for (int j = start; j < end; j++) {
+        rawNames[i][j - start] = buffer.get(j);
+        escaped |= rawNames[i][j - start] == '\\';
+      }
+
+      names[i] = PostgresWalChangeSlice.decodeString(buffer, start, end, escaped);
+    }
+
+    return new PostgresWalColumnShape(names, rawNames);
+  }
+
+  public int getColumnCount() {
+    return names.length;
+  }
+
+  public int indexOf(String name) {
+    Integer index = indexes.get(name);
+    return index == null ? -1 : index;
+  }
+
+  public boolean matches(ByteBuffer buffer, int[] nameRanges, int count) {
+    if (rawNames.length != count) {
+      return false;
+    }
+
+    for (int i = 0; i < count; i++) {
+      int start = nameRanges[i * 2];
+      int end = nameRanges[i * 2 + 1];
+      byte[] rawName = rawNames[i];
+
+      if (end - start != rawName.length) {
+        return false;
+      }
+
+      for (int j = 0; j < rawName.length; j++) {
+        if (buffer.get(start + j) != rawName[j]) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+}
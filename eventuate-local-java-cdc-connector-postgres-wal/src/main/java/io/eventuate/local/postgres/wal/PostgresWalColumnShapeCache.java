@@ -0,0 +1,32 @@
+package io.eventuate.local.postgres.wal;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the last column shape of every table. A shape is replaced only when a change arrives with a different column list.
+ */
+public class PostgresWalColumnShapeCache {
+  private final Map<String, Map<String, PostgresWalColumnShape>> shapes = new HashMap<>();
+
+  public PostgresWalColumnShape get(String schema, String table, ByteBuffer buffer, int[] nameRanges, int count) {
+    PostgresWalColumnShape shape = find(schema, table);
+
+    if (shape == null || !shape.matches(buffer, nameRanges, count)) {
+      shape = PostgresWalColumnShape.of(buffer, nameRanges, count);
+      put(schema, table, shape);
+    }
+
+    return shape;
+  }
+
+  private PostgresWalColumnShape find(String schema, String table) {
+    Map<String, PostgresWalColumnShape> tables = shapes.get(schema);
+    return tables == null ? null : tables.get(table);
+  }
+
+  private void put(String schema, String table, PostgresWalColumnShape shape) {
+    shapes.computeIfAbsent(schema, s -> new HashMap<>()).put(table, shape);
+  }
+}
@@ -0,0 +1,167 @@
+package io.eventuate.local.postgres.wal;
+
+import io.eventuate.common.eventuate.local.BinLogEvent;
+import io.eventuate.common.jdbc.EventuateSchema;
+import io.eventuate.common.jdbc.SchemaAndTable;
+import io.eventuate.local.common.BinlogEntryHandler;
+import io.eventuate.local.common.BinlogEntryReader;
+import io.eventuate.local.common.BinlogEntryToEventConverter;
+import io.eventuate.local.common.CdcProcessingStatus;
+import io.eventuate.local.common.CdcProcessingStatusService;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the database through several replication slots, each slot is decoded by its own {@link PostgresWalClient} on its own thread
+ * and acknowledges its own LSN. The tables assigned to a slot are read only through that slot, so the order of their changes is kept,
+ * the other tables are read through the default slot. A missing additional slot is copied from the default slot before any client starts,
+ * so it starts at the position the default slot confirmed and no change of its tables is skipped.
+ */
+public class PostgresWalMultiSlotClient extends BinlogEntryReader {
+  private final PostgresWalClient defaultClient;
+  private final Map<SchemaAndTable, PostgresWalClient> clientsByTable;
+  private final List<PostgresWalClient> clients;
+  private final CdcProcessingStatusService cdcProcessingStatusService = new MultiSlotCdcProcessingStatusService();
+
+  public PostgresWalMultiSlotClient(MeterRegistry meterRegistry,
+                                    DataSource dataSource,
+                                    String readerName,
+                                    Long outboxId,
+                                    PostgresWalClient defaultClient,
+                                    Map<SchemaAndTable, PostgresWalClient> clientsByTable) {
+
+    super(meterRegistry, dataSource, readerName, outboxId);
+
+    this.defaultClient = defaultClient;
+    this.clientsByTable = clientsByTable;
+
+    List<PostgresWalClient> clients = new ArrayList<>();
+    clients.add(defaultClient);
+    clientsByTable.values().stream().distinct().forEach(clients::add);
+    this.clients = Collections.unmodifiableList(clients);
+  }
+
+  public List<PostgresWalClient> getClients() {
+    return clients;
+  }
+
+  @Override
+  public CdcProcessingStatusService getCdcProcessingStatusService() {
+    return cdcProcessingStatusService;
+  }
+
+  @Override
+  public Optional<String> getProcessingError() {
+    Optional<String> processingError = super.getProcessingError();
+
+    if (processingError.isPresent()) {
+      return processingError;
+    }
+
+    return clients
+            .stream()
+            .map(PostgresWalClient::getProcessingError)
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .findFirst();
+  }
+
+  @Override
+  public long getLastEventTime() {
+    return clients.stream().mapToLong(PostgresWalClient::getLastEventTime).max().orElse(0);
+  }
+
+  @Override
+  public <EVENT extends BinLogEvent> BinlogEntryHandler addBinlogEntryHandler(EventuateSchema eventuateSchema,
+                                                                              String sourceTableName,
+                                                                              BinlogEntryToEventConverter<EVENT> binlogEntryToEventConverter,
+                                                                              Function<EVENT, CompletableFuture<?>> eventPublisher) {
+
+    PostgresWalClient client = clientsByTable.getOrDefault(new SchemaAndTable(eventuateSchema.getEventuateDatabaseSchema(), sourceTableName),
+            defaultClient);
+
+    logger.info("Table {}.{} is read by {}", eventuateSchema.getEventuateDatabaseSchema(), sourceTableName, client.getReaderName());
+
+    return client.addBinlogEntryHandler(eventuateSchema, sourceTableName, binlogEntryToEventConverter, eventPublisher);
+  }
+
+  @Override
+  public void start() {
+    logger.info("Starting PostgresWalMultiSlotClient");
+    super.start();
+
+    stopCountDownLatch = new CountDownLatch(1);
+    running.set(true);
+
+    try {
+      //before the default client confirms changes of the tables it does not read any more
+      clients
+              .stream()
+              .filter(client -> client != defaultClient)
+              .forEach(PostgresWalClient::prepareReplicationSlot);
+    } catch (RuntimeException e) {
+      handleProcessingFailException(e);
+    }
+
+    List<Thread> threads = clients
+            .stream()
+            .map(client -> new Thread(client::start, client.getReaderName()))
+            .collect(Collectors.toList());
+
+    threads.forEach(Thread::start);
+
+    for (Thread thread : threads) {
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        logger.error(e.getMessage(), e);
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+
+    stopCountDownLatch.countDown();
+    logger.info("PostgresWalMultiSlotClient finished processing");
+  }
+
+  @Override
+  public void stop(boolean removeHandlers) {
+    logger.info("Stopping PostgresWalMultiSlotClient");
+
+    clients.forEach(client -> client.stop(removeHandlers));
+
+    super.stop(removeHandlers);
+  }
+
+  private class MultiSlotCdcProcessingStatusService implements CdcProcessingStatusService {
+
+    @Override
+    public CdcProcessingStatus getCurrentStatus() {
+      List<CdcProcessingStatus> statuses = clients
+              .stream()
+              .map(client -> client.getCdcProcessingStatusService().getCurrentStatus())
+              .collect(Collectors.toList());
+
+      return new CdcProcessingStatus(statuses.stream().mapToLong(CdcProcessingStatus::getLastEventOffset).min().orElse(0),
+              statuses.stream().mapToLong(CdcProcessingStatus::getLogsHighwaterMark).max().orElse(0),
+              statuses.stream().allMatch(CdcProcessingStatus::isCdcProcessingFinished));
+    }
+
+    /**
+     * Does nothing, the client of each replication slot saves the offset it acknowledged to its own status service.
+     */
+    @Override
+    public void saveEndingOffsetOfLastProcessedEvent(long endingOffsetOfLastProcessedEvent) {
+    }
+  }
+}
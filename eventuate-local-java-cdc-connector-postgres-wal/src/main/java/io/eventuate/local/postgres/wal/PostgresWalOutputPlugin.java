@@ -0,0 +1,26 @@
+package io.eventuate.local.postgres.wal;
+
+import java.util.Arrays;
+
+public enum PostgresWalOutputPlugin {
+  WAL2JSON("wal2json"),
+  PGOUTPUT("pgoutput");
+
+  private final String pluginName;
+
+  PostgresWalOutputPlugin(String pluginName) {
+    this.pluginName = pluginName;
+  }
+
+  public String getPluginName() {
+    return pluginName;
+  }
+
+  public static PostgresWalOutputPlugin fromPluginName(String pluginName) {
+    return Arrays
+            .stream(values())
+            .filter(plugin -> plugin.pluginName.equalsIgnoreCase(pluginName))
+            .findAny()
+            .orElseThrow(() -> new IllegalArgumentException(String.format("Unsupported postgres output plugin: %s", pluginName)));
+  }
+}
@@ -0,0 +1,100 @@
+package io.eventuate.local.postgres.wal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Creates the logical replication slot a {@link PostgresWalClient} streams from,
+ * so the pgoutput slots and the additional slots of {@link PostgresWalMultiSlotClient} do not have to be created by hand.
+ */
+public class PostgresWalReplicationSlot {
+  private static final int MIN_SERVER_VERSION_TO_COPY_SLOT = 120000;
+
+  private Logger logger = LoggerFactory.getLogger(getClass());
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public PostgresWalReplicationSlot(DataSource dataSource) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  public void createIfNotExists(String slotName, PostgresWalOutputPlugin outputPlugin) {
+    if (!exists(slotName, outputPlugin)) {
+      logger.info("Creating replication slot {} with plugin {}", slotName, outputPlugin.getPluginName());
+      jdbcTemplate.queryForList("SELECT * FROM pg_create_logical_replication_slot(?, ?)",
+              slotName,
+              outputPlugin.getPluginName());
+    }
+  }
+
+  /**
+   * Creates the slot tables are moved to from the source slot.
+   * A new slot starts at the current WAL position, while the source slot has confirmed only the changes published before,
+   * so the slot is copied from the source slot (Postgres 12+) and starts where the source slot stopped publishing the moved tables.
+   * The pgoutput slot cannot be copied because its new publication does not exist at that position,
+   * in that case and on older servers the slot has to be created by hand, see {@link #drainThenSwitchProcedure}.
+   */
+  public void copyIfNotExists(String slotName, String sourceSlotName, PostgresWalOutputPlugin outputPlugin) {
+    if (exists(slotName, outputPlugin)) {
+      return;
+    }
+
+    if (!findPlugin(sourceSlotName).isPresent()) {
+      //nothing was read through the source slot yet, so no change is skipped
+      createIfNotExists(slotName, outputPlugin);
+      return;
+    }
+
+    if (outputPlugin != PostgresWalOutputPlugin.WAL2JSON || serverVersion() < MIN_SERVER_VERSION_TO_COPY_SLOT) {
+      throw new IllegalStateException(drainThenSwitchProcedure(slotName, sourceSlotName, outputPlugin));
+    }
+
+    logger.info("Copying replication slot {} from {}", slotName, sourceSlotName);
+    jdbcTemplate.queryForList("SELECT * FROM pg_copy_logical_replication_slot(?, ?)", sourceSlotName, slotName);
+  }
+
+  /**
+   * The new slot is created before the reader stops publishing the moved tables through the source slot,
+   * so every change of them is published through one of the slots, some of them twice.
+   */
+  static String drainThenSwitchProcedure(String slotName, String sourceSlotName, PostgresWalOutputPlugin outputPlugin) {
+    String publication = outputPlugin == PostgresWalOutputPlugin.PGOUTPUT
+            ? "create the publication of the slot for the moved tables, then "
+            : "";
+
+    return String.format("Replication slot %s does not exist and cannot be copied from %s. " +
+                    "While the reader still uses the previous table assignment, %s" +
+                    "create the slot with pg_create_logical_replication_slot('%s', '%s'), " +
+                    "wait until confirmed_flush_lsn of %s passes the confirmed_flush_lsn of %s in pg_replication_slots, " +
+                    "then restart the reader with the new table assignment",
+            slotName, sourceSlotName, publication, slotName, outputPlugin.getPluginName(), sourceSlotName, slotName);
+  }
+
+  private boolean exists(String slotName, PostgresWalOutputPlugin outputPlugin) {
+    Optional<String> plugin = findPlugin(slotName);
+
+    if (plugin.isPresent() && !outputPlugin.getPluginName().equals(plugin.get())) {
+      throw new IllegalStateException(String.format("Replication slot %s uses plugin %s, %s is expected",
+              slotName, plugin.get(), outputPlugin.getPluginName()));
+    }
+
+    return plugin.isPresent();
+  }
+
+  private Optional<String> findPlugin(String slotName) {
+    List<String> plugins = jdbcTemplate.queryForList("SELECT plugin FROM pg_replication_slots WHERE slot_name = ?",
+            String.class,
+            slotName);
+
+    return plugins.stream().findFirst();
+  }
+
+  private int serverVersion() {
+    return jdbcTemplate.queryForObject("SHOW server_version_num", Integer.class);
+  }
+}
@@ -0,0 +1,69 @@
+package io.eventuate.local.postgres.wal;
+
+import io.eventuate.common.jdbc.SchemaAndTable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the assignment of tables to additional replication slots, e.g.
+ * "eventuate_slot_messages=eventuate.message_0,eventuate.message_1;eventuate_slot_events=eventuate.events".
+ * Each table can be read through only one slot, so the order of its changes is kept.
+ */
+public class PostgresWalReplicationSlotTables {
+  private static final Pattern SLOT_NAME = Pattern.compile("[a-z0-9_]+");
+
+  public static Map<String, List<SchemaAndTable>> parse(String slotTables) {
+    if (slotTables == null || slotTables.trim().isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    Map<String, List<SchemaAndTable>> tablesBySlot = new LinkedHashMap<>();
+    Set<SchemaAndTable> assignedTables = new HashSet<>();
+
+    for (String slot : slotTables.split(";")) {
+      if (slot.trim().isEmpty()) {
+        continue;
+      }
+
+      String[] slotAndTables = slot.split("=", 2);
+      String slotName = slotAndTables[0].trim();
+
+      if (slotAndTables.length != 2 || !SLOT_NAME.matcher(slotName).matches()) {
+        throw new IllegalArgumentException(String.format("Invalid replication slot tables: %s", slot));
+      }
+
+      if (tablesBySlot.containsKey(slotName)) {
+        throw new IllegalArgumentException(String.format("Replication slot %s is listed more than once", slotName));
+      }
+
+      List<SchemaAndTable> tables = new ArrayList<>();
+
+      for (String table : slotAndTables[1].split(",")) {
+        String[] schemaAndTable = table.trim().split("\\.");
+
+        if (schemaAndTable.length != 2 || schemaAndTable[0].isEmpty() || schemaAndTable[1].isEmpty()) {
+          throw new IllegalArgumentException(String.format("Invalid table %s of replication slot %s, schema.table is expected", table, slotName));
+        }
+
+        SchemaAndTable schemaAndTableName = new SchemaAndTable(schemaAndTable[0], schemaAndTable[1]);
+
+        if (!assignedTables.add(schemaAndTableName)) {
+          throw new IllegalArgumentException(String.format("Table %s is assigned to more than one replication slot", table.trim()));
+        }
+
+        tables.add(schemaAndTableName);
+      }
+
+      tablesBySlot.put(slotName, tables);
+    }
+
+    return tablesBySlot;
+  }
+}
@@ -0,0 +1,56 @@
+package io.eventuate.local.postgres.wal;
+
+import io.eventuate.common.eventuate.local.BinlogFileOffset;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks publishing of the changes of a single transaction without keeping the changes themselves,
+ * the transaction is complete when it is committed and all its changes are published.
+ * Changes are positioned by the commit LSN of the transaction and their index within the transaction,
+ * the LSN is written as fixed width hex, so that positions of different transactions are ordered as text as well.
+ */
+public class PostgresWalTransaction {
+  private final AtomicInteger pending = new AtomicInteger(1);
+  private final CompletableFuture<Void> completion = new CompletableFuture<>();
+  private final long lsn;
+  private final String lsnName;
+  private long nextIndex;
+
+  public PostgresWalTransaction(long lsn) {
+    this.lsn = lsn;
+    this.lsnName = String.format("%016X", lsn);
+  }
+
+  public long getLsn() {
+    return lsn;
+  }
+
+  public BinlogFileOffset nextOffset() {
+    return new BinlogFileOffset(lsnName, nextIndex++);
+  }
+
+  public void add(CompletableFuture<?> published) {
+    pending.incrementAndGet();
+
+    published.whenComplete((result, throwable) -> {
+      if (throwable == null) {
+        release();
+      } else {
+        completion.completeExceptionally(throwable);
+      }
+    });
+  }
+
+  public CompletableFuture<Void> commit() {
+    release();
+    return completion;
+  }
+
+  private void release() {
+    if (pending.decrementAndGet() == 0) {
+      completion.complete(null);
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package io.eventuate.local.postgres.wal;
+
+import io.eventuate.local.common.BinlogEntry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PgOutputDecoderTest {
+
+  private static final String[] COLUMNS = {"id", "destination", "headers", "payload", "published", "creation_time"};
+  private static final int[] TYPES = {1043, 1043, 25, 25, 21, 20};
+
+  private PgOutputDecoder decoder = new PgOutputDecoder();
+  private List<PgOutputChange> changes = new ArrayList<>();
+
+  @Test
+  public void shouldDecodeTypedInsert() {
+    decode(PgOutputMessages.relation(16384, "eventuate", "message", COLUMNS, TYPES));
+    decode(PgOutputMessages.insert(16384, "1", "destination", "{}", "\"payload\"", "0", "-1603287045123"));
+
+    Assert.assertEquals(1, changes.size());
+
+    PgOutputChange change = changes.get(0);
+    Assert.assertTrue(change.isInsert());
+    Assert.assertEquals("eventuate", change.getSchema());
+    Assert.assertEquals("message", change.getTable());
+
+    BinlogEntry entry = new PostgresWalBinlogEntryExtractor().extract(change, null);
+    Assert.assertEquals("destination", entry.getStringColumn("destination"));
+    Assert.assertEquals("\"payload\"", entry.getJsonColumn("payload"));
+    Assert.assertEquals((short) 0, entry.getColumn("published"));
+    Assert.assertFalse(entry.getBooleanColumn("published"));
+    Assert.assertEquals(Long.valueOf(-1603287045123L), entry.getLongColumn("creation_time"));
+  }
+
+  @Test
+  public void shouldReadIntegerColumnsAsLong() {
+    decode(PgOutputMessages.relation(16386, "eventuate", "events", new String[]{"id", "db_id", "published"}, new int[]{23, 23, 21}));
+    decode(PgOutputMessages.insert(16386, "42", "-7", "1"));
+
+    BinlogEntry entry = new PostgresWalBinlogEntryExtractor().extract(changes.get(0), null);
+    Assert.assertEquals(Long.valueOf(42), entry.getLongColumn("id"));
+    Assert.assertEquals(Long.valueOf(-7), entry.getLongColumn("db_id"));
+    Assert.assertEquals(Long.valueOf(1), entry.getLongColumn("published"));
+  }
+
+  @Test
+  public void shouldDecodeNullsAndNonAsciiText() {
+    decode(PgOutputMessages.relation(16384, "eventuate", "message", COLUMNS, TYPES));
+    decode(PgOutputMessages.insert(16384, "1", "\u00fcn\u00efc\u00f6d\u00e9", null, "{}", "1", null));
+
+    PgOutputChange change = changes.get(0);
+    Assert.assertEquals("\u00fcn\u00efc\u00f6d\u00e9", change.getValue("destination"));
+    Assert.assertNull(change.getValue("headers"));
+    Assert.assertNull(change.getValue("creation_time"));
+  }
+
+  @Test
+  public void shouldDecodeUpdateNewTuple() {
+    decode(PgOutputMessages.relation(16385, "eventuate", "cdc_monitoring", new String[]{"reader_id", "last_time"}, new int[]{1043, 20}));
+    decode(PgOutputMessages.update(16385, new String[]{"reader", "1"}, "reader", "2"));
+
+    PgOutputChange change = changes.get(0);
+    Assert.assertFalse(change.isInsert());
+    Assert.assertEquals(2L, change.getValue("last_time"));
+  }
+
+  @Test
+  public void shouldReturnMessageTypes() {
+    Assert.assertEquals(PgOutputDecoder.BEGIN, decode(PgOutputMessages.begin()));
+    Assert.assertEquals(PgOutputDecoder.COMMIT, decode(PgOutputMessages.commit()));
+    Assert.assertTrue(changes.isEmpty());
+  }
+
+  @Test
+  public void shouldKeepTransactionLsns() {
+    decode(PgOutputMessages.begin(0x16D3100L));
+    Assert.assertEquals(0x16D3100L, decoder.getFinalLsn());
+
+    decode(PgOutputMessages.commit(0x16D3100L, 0x16D3130L));
+    Assert.assertEquals(0x16D3130L, decoder.getEndLsn());
+  }
+
+  @Test
+  public void shouldRecognizeMessagesOfStreamedTransactions() {
+    Assert.assertEquals(PgOutputDecoder.STREAM_START, decode(PgOutputMessages.streamStart(700, true)));
+    Assert.assertEquals(700, decoder.getStreamXid());
+
+    ByteBuffer relation = PgOutputMessages.streamedRelation(700, 16384, "eventuate", "message", COLUMNS, TYPES);
+    ByteBuffer insert = PgOutputMessages.streamedInsert(701, 16384, "1", "destination", "{}", "\"payload\"", "0", "1");
+    Assert.assertTrue(decoder.isStreamedMessage(relation));
+    Assert.assertTrue(decoder.isStreamedMessage(insert));
+
+    Assert.assertFalse(decoder.isStreamedMessage(PgOutputMessages.streamStop()));
+    Assert.assertEquals(PgOutputDecoder.STREAM_STOP, decode(PgOutputMessages.streamStop()));
+    Assert.assertFalse(decoder.isStreamedMessage(PgOutputMessages.begin()));
+
+    Assert.assertEquals(PgOutputDecoder.STREAM_COMMIT, decode(PgOutputMessages.streamCommit(700, 0x16D3100L, 0x16D3130L)));
+    Assert.assertEquals(700, decoder.getStreamXid());
+    Assert.assertEquals(0x16D3100L, decoder.getFinalLsn());
+    Assert.assertEquals(0x16D3130L, decoder.getEndLsn());
+
+    decoder.decodeStreamed(relation, changes::add);
+    decoder.decodeStreamed(insert, changes::add);
+
+    Assert.assertEquals(1, changes.size());
+    Assert.assertEquals("destination", changes.get(0).getValue("destination"));
+  }
+
+  @Test
+  public void shouldDecodeStreamAbort() {
+    Assert.assertEquals(PgOutputDecoder.STREAM_ABORT, decode(PgOutputMessages.streamAbort(700, 701)));
+    Assert.assertEquals(700, decoder.getStreamXid());
+    Assert.assertEquals(701, decoder.getAbortedSubXid());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldRejectChangeOfUnknownRelation() {
+    decode(PgOutputMessages.insert(1, "1"));
+  }
+
+  private byte decode(ByteBuffer buffer) {
+    return decoder.decode(buffer, changes::add);
+  }
+}
@@ -0,0 +1,155 @@
+package io.eventuate.local.postgres.wal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class PgOutputMessages {
+
+  public static ByteBuffer relation(int oid, String schema, String table, String[] columnNames, int[] columnTypes) {
+    return message(out -> {
+      out.writeByte(PgOutputDecoder.RELATION);
+      out.writeInt(oid);
+      writeString(out, schema);
+      writeString(out, table);
+      out.writeByte('d');
+      out.writeShort(columnNames.length);
+      for (int i = 0; i < columnNames.length; i++) {
+        out.writeByte(0);
+        writeString(out, columnNames[i]);
+        out.writeInt(columnTypes[i]);
+        out.writeInt(-1);
+      }
+    });
+  }
+
+  public static ByteBuffer insert(int oid, String... values) {
+    return message(out -> {
+      out.writeByte(PgOutputDecoder.INSERT);
+      out.writeInt(oid);
+      out.writeByte('N');
+      writeTuple(out, values);
+    });
+  }
+
+  public static ByteBuffer update(int oid, String[] oldValues, String... values) {
+    return message(out -> {
+      out.writeByte(PgOutputDecoder.UPDATE);
+      out.writeInt(oid);
+      out.writeByte('O');
+      writeTuple(out, oldValues);
+      out.writeByte('N');
+      writeTuple(out, values);
+    });
+  }
+
+  public static ByteBuffer streamedRelation(int xid, int oid, String schema, String table, String[] columnNames, int[] columnTypes) {
+    return streamed(xid, relation(oid, schema, table, columnNames, columnTypes));
+  }
+
+  public static ByteBuffer streamedInsert(int xid, int oid, String... values) {
+    return streamed(xid, insert(oid, values));
+  }
+
+  public static ByteBuffer streamStart(int xid, boolean firstSegment) {
+    return message(out -> {
+      out.writeByte(PgOutputDecoder.STREAM_START);
+      out.writeInt(xid);
+      out.writeByte(firstSegment ? 1 : 0);
+    });
+  }
+
+  public static ByteBuffer streamStop() {
+    return message(out -> out.writeByte(PgOutputDecoder.STREAM_STOP));
+  }
+
+  public static ByteBuffer streamCommit(int xid, long commitLsn, long endLsn) {
+    return message(out -> {
+      out.writeByte(PgOutputDecoder.STREAM_COMMIT);
+      out.writeInt(xid);
+      out.writeByte(0);
+      out.writeLong(commitLsn);
+      out.writeLong(endLsn);
+      out.writeLong(0);
+    });
+  }
+
+  public static ByteBuffer streamAbort(int xid, int subXid) {
+    return message(out -> {
+      out.writeByte(PgOutputDecoder.STREAM_ABORT);
+      out.writeInt(xid);
+      out.writeInt(subXid);
+    });
+  }
+
+  public static ByteBuffer begin() {
+    return begin(0);
+  }
+
+  public static ByteBuffer begin(long finalLsn) {
+    return message(out -> {
+      out.writeByte(PgOutputDecoder.BEGIN);
+      out.writeLong(finalLsn);
+      out.writeLong(0);
+      out.writeInt(1);
+    });
+  }
+
+  public static ByteBuffer commit() {
+    return commit(0, 0);
+  }
+
+  public static ByteBuffer commit(long commitLsn, long endLsn) {
+    return message(out -> {
+      out.writeByte(PgOutputDecoder.COMMIT);
+      out.writeByte(0);
+      out.writeLong(commitLsn);
+      out.writeLong(endLsn);
+      out.writeLong(0);
+    });
+  }
+
+  private static ByteBuffer streamed(int xid, ByteBuffer message) {
+    return message(out -> {
+      out.writeByte(message.get());
+      out.writeInt(xid);
+      out.write(message.array(), message.position(), message.remaining());
+    });
+  }
+
+  private static void writeTuple(DataOutputStream out, String[] values) throws IOException {
+    out.writeShort(values.length);
+    for (String value : values) {
+      if (value == null) {
+        out.writeByte('n');
+      } else {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeByte('t');
+        out.writeInt(bytes.length);
+        out.write(bytes);
+      }
+    }
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    out.write(value.getBytes(StandardCharsets.UTF_8));
+    out.writeByte(0);
+  }
+
+  private static ByteBuffer message(MessageWriter writer) {
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      writer.write(new DataOutputStream(bytes));
+      return ByteBuffer.wrap(bytes.toByteArray());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private interface MessageWriter {
+    void write(DataOutputStream out) throws IOException;
+  }
+}
@@ -0,0 +1,85 @@
+package io.eventuate.local.postgres.wal;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PgOutputStreamedTransactionsTest {
+
+  @Test
+  public void shouldReplayMessagesInOrderOnCommit() {
+    PgOutputStreamedTransactions transactions = new PgOutputStreamedTransactions(1024 * 1024);
+
+    transactions.add(700, PgOutputMessages.streamedInsert(700, 1, "1"));
+    transactions.add(800, PgOutputMessages.streamedInsert(800, 1, "2"));
+    transactions.add(700, PgOutputMessages.streamedInsert(700, 1, "3"));
+
+    Assert.assertEquals(Arrays.asList("1", "3"), commit(transactions, 700));
+    Assert.assertEquals(1, transactions.getTransactionCount());
+    Assert.assertEquals(Arrays.asList("2"), commit(transactions, 800));
+    Assert.assertEquals(0, transactions.getInMemoryBytes());
+  }
+
+  @Test
+  public void shouldMoveMessagesOverLimitToFile() {
+    PgOutputStreamedTransactions transactions = new PgOutputStreamedTransactions(64);
+    List<String> expected = new ArrayList<>();
+
+    for (int i = 0; i < 100; i++) {
+      transactions.add(700, PgOutputMessages.streamedInsert(700, 1, "value" + i));
+      expected.add("value" + i);
+      Assert.assertTrue(transactions.getInMemoryBytes() <= 64);
+    }
+
+    Assert.assertEquals(expected, commit(transactions, 700));
+  }
+
+  @Test
+  public void shouldSkipAbortedSubtransactions() {
+    PgOutputStreamedTransactions transactions = new PgOutputStreamedTransactions(64);
+
+    transactions.add(700, PgOutputMessages.streamedInsert(700, 1, "1"));
+    transactions.add(700, PgOutputMessages.streamedInsert(701, 1, "2"));
+    transactions.add(700, PgOutputMessages.streamedInsert(702, 1, "3"));
+    transactions.add(700, PgOutputMessages.streamedInsert(701, 1, "4"));
+    transactions.abort(700, 701);
+
+    Assert.assertEquals(Arrays.asList("1", "3"), commit(transactions, 700));
+  }
+
+  @Test
+  public void shouldDiscardAbortedTransactions() {
+    PgOutputStreamedTransactions transactions = new PgOutputStreamedTransactions(1024);
+
+    transactions.add(700, PgOutputMessages.streamedInsert(700, 1, "1"));
+    transactions.abort(700, 700);
+
+    Assert.assertEquals(0, transactions.getTransactionCount());
+    Assert.assertEquals(0, transactions.getInMemoryBytes());
+    Assert.assertTrue(commit(transactions, 700).isEmpty());
+  }
+
+  private List<String> commit(PgOutputStreamedTransactions transactions, int xid) {
+    List<String> values = new ArrayList<>();
+
+    transactions.commit(xid, message -> values.add(readSingleValue(message)));
+
+    return values;
+  }
+
+  private String readSingleValue(ByteBuffer message) {
+    message.get(); // type
+    message.getInt(); // xid
+    message.getInt(); // oid
+    message.get(); // 'N'
+    message.getShort(); // column count
+    message.get(); // 't'
+    byte[] value = new byte[message.getInt()];
+    message.get(value);
+    return new String(value);
+  }
+}
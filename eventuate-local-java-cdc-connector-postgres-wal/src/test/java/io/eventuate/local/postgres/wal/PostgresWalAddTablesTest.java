@@ -0,0 +1,24 @@
+package io.eventuate.local.postgres.wal;
+
+import io.eventuate.common.jdbc.SchemaAndTable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class PostgresWalAddTablesTest {
+
+  @Test
+  public void shouldJoinQualifiedTables() {
+    Assert.assertEquals("eventuate.message,eventuate.cdc_monitoring",
+            PostgresWalClient.wal2JsonTables(Arrays.asList(new SchemaAndTable("eventuate", "message"),
+                    new SchemaAndTable("eventuate", "cdc_monitoring"))));
+  }
+
+  @Test
+  public void shouldEscapeSeparatorsInNames() {
+    Assert.assertEquals("my\\.schema.my\\,table,my\\ schema.my\\*table\\\\",
+            PostgresWalClient.wal2JsonTables(Arrays.asList(new SchemaAndTable("my.schema", "my,table"),
+                    new SchemaAndTable("my schema", "my*table\\"))));
+  }
+}
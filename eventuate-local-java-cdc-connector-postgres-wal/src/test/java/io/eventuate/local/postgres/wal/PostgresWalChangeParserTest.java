@@ -0,0 +1,128 @@
+package io.eventuate.local.postgres.wal;
+
+import io.eventuate.local.common.BinlogEntry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class PostgresWalChangeParserTest {
+
+  private PostgresWalChangeParser parser = new PostgresWalChangeParser();
+
+  @Test
+  public void shouldParseFormatVersion2Insert() {
+    PostgresWalChangeSlice change = parse("{\"action\":\"I\",\"schema\":\"eventuate\",\"table\":\"message\",\"columns\":[" +
+            "{\"name\":\"id\",\"type\":\"character varying(1000)\",\"value\":\"1\"}," +
+            "{\"name\":\"headers\",\"type\":\"text\",\"value\":\"{\\\"ID\\\":\\\"1\\\"}\"}," +
+            "{\"name\":\"published\",\"type\":\"smallint\",\"value\":0}," +
+            "{\"name\":\"message_partition\",\"type\":\"smallint\",\"value\":null}," +
+            "{\"name\":\"creation_time\",\"type\":\"bigint\",\"value\":1603287045123}]}");
+
+    Assert.assertEquals(PostgresWalChangeParser.INSERT_KIND, change.getKind());
+    Assert.assertEquals("eventuate", change.getSchema());
+    Assert.assertEquals("message", change.getTable());
+
+    assertMessageColumns(new PostgresWalBinlogEntryExtractor().extract(change, null));
+  }
+
+  @Test
+  public void shouldParseFormatVersion1Chunks() {
+    Assert.assertEquals(PostgresWalChangeParser.BEGIN_KIND, parse("{\"change\":[").getKind());
+
+    PostgresWalChangeSlice change = parse(",{\"kind\":\"insert\",\"schema\":\"eventuate\",\"table\":\"message\"," +
+            "\"columnnames\":[\"id\",\"headers\",\"published\",\"message_partition\",\"creation_time\"]," +
+            "\"columntypes\":[\"character varying(1000)\",\"text\",\"smallint\",\"smallint\",\"bigint\"]," +
+            "\"columnvalues\":[\"1\",\"{\\\"ID\\\":\\\"1\\\"}\",0,null,1603287045123]}");
+
+    Assert.assertEquals(PostgresWalChangeParser.INSERT_KIND, change.getKind());
+    assertMessageColumns(new PostgresWalBinlogEntryExtractor().extract(change, null));
+
+    Assert.assertEquals(PostgresWalChangeParser.COMMIT_KIND, parse("]}").getKind());
+  }
+
+  @Test
+  public void shouldParseNextLsnOfTransactionStart() {
+    Assert.assertEquals("0/16D3130", parse("{\"nextlsn\":\"0/16D3130\",\"timestamp\":\"2020-10-21 12:30:45.123+00\",\"change\":[").getNextLsn());
+    Assert.assertEquals("0/16D3130", parse("{\"action\":\"B\",\"nextlsn\":\"0/16D3130\"}").getNextLsn());
+    Assert.assertNull(parse("{\"action\":\"B\"}").getNextLsn());
+  }
+
+  @Test
+  public void shouldParseTransactionBoundaries() {
+    Assert.assertEquals(PostgresWalChangeParser.BEGIN_KIND, parse("{\"action\":\"B\"}").getKind());
+    Assert.assertEquals(PostgresWalChangeParser.COMMIT_KIND, parse("{\"action\":\"C\"}").getKind());
+  }
+
+  @Test
+  public void shouldDecodeEscapedAndNonAsciiValues() {
+    PostgresWalChangeSlice change = parse("{\"kind\":\"insert\",\"schema\":\"s\",\"table\":\"t\"," +
+            "\"columnnames\":[\"payload\",\"d\\u00e9st\"],\"columnvalues\":[\"line\\nbreak \\\\ \\u00e9\",\"\u00fcn\u00efc\u00f6d\u00e9\"]}");
+
+    Assert.assertEquals("line\nbreak \\ \u00e9", change.getValue("payload"));
+    Assert.assertEquals("\u00fcn\u00efc\u00f6d\u00e9", change.getValue("d\u00e9st"));
+  }
+
+  @Test
+  public void shouldRespectBufferPositionAndLimit() {
+    byte[] bytes = "garbage{\"action\":\"U\",\"identity\":[{\"name\":\"id\",\"value\":1}],\"schema\":\"s\",\"table\":\"t\",\"columns\":[]}garbage"
+            .getBytes(StandardCharsets.UTF_8);
+
+    PostgresWalChangeSlice change = parser.parse(ByteBuffer.wrap(bytes, 7, bytes.length - 14));
+
+    Assert.assertEquals(PostgresWalChangeParser.UPDATE_KIND, change.getKind());
+    Assert.assertEquals("t", change.getTable());
+    Assert.assertEquals(0, change.getColumnCount());
+  }
+
+  @Test
+  public void shouldParseChangesWithManyColumns() {
+    StringBuilder names = new StringBuilder();
+    StringBuilder values = new StringBuilder();
+
+    for (int i = 0; i < 40; i++) {
+      names.append(i == 0 ? "" : ",").append("\"c").append(i).append("\"");
+      values.append(i == 0 ? "" : ",").append(i);
+    }
+
+    PostgresWalChangeSlice change = parse(String.format("{\"kind\":\"insert\",\"schema\":\"s\",\"table\":\"t\",\"columnnames\":[%s],\"columnvalues\":[%s]}",
+            names, values));
+
+    Assert.assertEquals(40, change.getColumnCount());
+    Assert.assertEquals(39L, change.getValue("c39"));
+  }
+
+  @Test
+  public void shouldResolveColumnsAgainWhenColumnListChanges() {
+    PostgresWalChangeSlice first = parse("{\"kind\":\"insert\",\"schema\":\"s\",\"table\":\"t\"," +
+            "\"columnnames\":[\"a\",\"b\"],\"columnvalues\":[1,2]}");
+    PostgresWalChangeSlice second = parse("{\"kind\":\"insert\",\"schema\":\"s\",\"table\":\"t\"," +
+            "\"columnnames\":[\"a\",\"b\"],\"columnvalues\":[3,4]}");
+    PostgresWalChangeSlice reordered = parse("{\"kind\":\"insert\",\"schema\":\"s\",\"table\":\"t\"," +
+            "\"columnnames\":[\"c\",\"b\",\"a\"],\"columnvalues\":[5,6,7]}");
+
+    Assert.assertEquals(2L, first.getValue("b"));
+    Assert.assertEquals(3L, second.getValue("a"));
+    Assert.assertEquals(7L, reordered.getValue("a"));
+    Assert.assertEquals(5L, reordered.getValue("c"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectUnknownColumn() {
+    parse("{\"kind\":\"insert\",\"schema\":\"s\",\"table\":\"t\",\"columnnames\":[\"a\"],\"columnvalues\":[1]}")
+            .getValue("b");
+  }
+
+  private void assertMessageColumns(BinlogEntry entry) {
+    Assert.assertEquals("1", entry.getStringColumn("id"));
+    Assert.assertEquals("{\"ID\":\"1\"}", entry.getJsonColumn("headers"));
+    Assert.assertFalse(entry.getBooleanColumn("published"));
+    Assert.assertNull(entry.getColumn("message_partition"));
+    Assert.assertEquals(Long.valueOf(1603287045123L), entry.getLongColumn("creation_time"));
+  }
+
+  private PostgresWalChangeSlice parse(String message) {
+    return parser.parse(ByteBuffer.wrap(message.getBytes(StandardCharsets.UTF_8)));
+  }
+}
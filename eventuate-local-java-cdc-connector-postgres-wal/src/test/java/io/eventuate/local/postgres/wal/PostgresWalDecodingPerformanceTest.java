@@ -0,0 +1,169 @@
+package io.eventuate.local.postgres.wal;
+
+import io.eventuate.common.json.mapper.JSonMapper;
+import com.sun.management.ThreadMXBean;
+import io.eventuate.local.common.BinlogEntry;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+
+public class PostgresWalDecodingPerformanceTest {
+
+  private static final int CHANGES_PER_TRANSACTION = 1000;
+  private static final int TRANSACTIONS = 200;
+  private static final int WARMUP_TRANSACTIONS = 50;
+
+  private static final String[] COLUMNS = {"id", "destination", "headers", "payload", "published", "message_partition", "creation_time"};
+  private static final String[] TYPE_NAMES = {"character varying(1000)", "text", "text", "text", "smallint", "smallint", "bigint"};
+  private static final int[] TYPES = {1043, 25, 25, 25, 21, 21, 20};
+
+  private PostgresWalBinlogEntryExtractor extractor = new PostgresWalBinlogEntryExtractor();
+
+  @Test
+  public void compareDecoding() {
+    List<String[]> rows = new ArrayList<>();
+    for (int i = 0; i < CHANGES_PER_TRANSACTION; i++) {
+      rows.add(new String[]{UUID.randomUUID().toString(), "destination" + i, "{\"ID\":\"" + i + "\"}",
+              "{\"payload\":\"" + UUID.randomUUID() + "\"}", "0", null, String.valueOf(System.currentTimeMillis())});
+    }
+
+    List<ByteBuffer> wal2JsonChunks = wal2JsonChunks(rows);
+    List<ByteBuffer> wal2JsonFormatVersion2Messages = wal2JsonFormatVersion2Messages(rows);
+    List<ByteBuffer> pgOutputMessages = pgOutputMessages(rows);
+
+    measure("wal2json chunks in place", () -> decodeWal2Json(wal2JsonChunks));
+    measure("wal2json format-version 2 in place", () -> decodeWal2Json(wal2JsonFormatVersion2Messages));
+    measure("pgoutput", () -> decodePgOutput(pgOutputMessages));
+  }
+
+  private void measure(String name, Runnable transactionDecoder) {
+    for (int i = 0; i < WARMUP_TRANSACTIONS; i++) {
+      transactionDecoder.run();
+    }
+
+    ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long cpuStart = threadMXBean.getCurrentThreadCpuTime();
+    long allocatedStart = threadMXBean.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+
+    for (int i = 0; i < TRANSACTIONS; i++) {
+      transactionDecoder.run();
+    }
+
+    long changes = (long) TRANSACTIONS * CHANGES_PER_TRANSACTION;
+
+    System.out.println(String.format("%s: %s ns cpu per change, %s ns wall clock per change, %s bytes allocated per change",
+            name,
+            (threadMXBean.getCurrentThreadCpuTime() - cpuStart) / changes,
+            (System.nanoTime() - start) / changes,
+            (threadMXBean.getThreadAllocatedBytes(threadId) - allocatedStart) / changes));
+  }
+
+  private void decodeWal2Json(List<ByteBuffer> messages) {
+    PostgresWalChangeParser parser = new PostgresWalChangeParser();
+    int decoded = 0;
+
+    for (ByteBuffer message : messages) {
+      PostgresWalChangeSlice change = parser.parse(message);
+
+      if (PostgresWalChangeParser.INSERT_KIND.equals(change.getKind())) {
+        consume(extractor.extract(change, null));
+        decoded++;
+      }
+    }
+
+    assertEquals(CHANGES_PER_TRANSACTION, decoded);
+  }
+
+  private void decodePgOutput(List<ByteBuffer> messages) {
+    PgOutputDecoder decoder = new PgOutputDecoder();
+    int[] decoded = new int[1];
+
+    for (ByteBuffer message : messages) {
+      decoder.decode(message.duplicate(), change -> {
+        consume(extractor.extract(change, null));
+        decoded[0]++;
+      });
+    }
+
+    assertEquals(CHANGES_PER_TRANSACTION, decoded[0]);
+  }
+
+  private void consume(BinlogEntry entry) {
+    entry.getBooleanColumn("published");
+    entry.getLongColumn("creation_time");
+    entry.getStringColumn("id");
+    entry.getStringColumn("destination");
+    entry.getJsonColumn("headers");
+    entry.getJsonColumn("payload");
+  }
+
+  private List<ByteBuffer> wal2JsonChunks(List<String[]> rows) {
+    List<ByteBuffer> chunks = new ArrayList<>();
+    chunks.add(utf8("{\"change\":["));
+
+    for (int i = 0; i < rows.size(); i++) {
+      Map<String, Object> change = new LinkedHashMap<>();
+      change.put("kind", "insert");
+      change.put("schema", "eventuate");
+      change.put("table", "message");
+      change.put("columnnames", COLUMNS);
+      change.put("columntypes", TYPE_NAMES);
+      change.put("columnvalues", rows.get(i));
+      chunks.add(utf8((i == 0 ? "" : ",") + JSonMapper.toJson(change)));
+    }
+
+    chunks.add(utf8("]}"));
+    return chunks;
+  }
+
+  private List<ByteBuffer> wal2JsonFormatVersion2Messages(List<String[]> rows) {
+    List<ByteBuffer> messages = new ArrayList<>();
+    messages.add(utf8("{\"action\":\"B\"}"));
+
+    for (String[] row : rows) {
+      List<Map<String, Object>> columns = new ArrayList<>();
+
+      for (int i = 0; i < COLUMNS.length; i++) {
+        Map<String, Object> column = new LinkedHashMap<>();
+        column.put("name", COLUMNS[i]);
+        column.put("type", TYPE_NAMES[i]);
+        column.put("value", row[i] == null || TYPES[i] == 1043 || TYPES[i] == 25 ? row[i] : Long.valueOf(row[i]));
+        columns.add(column);
+      }
+
+      Map<String, Object> change = new LinkedHashMap<>();
+      change.put("action", "I");
+      change.put("schema", "eventuate");
+      change.put("table", "message");
+      change.put("columns", columns);
+      messages.add(utf8(JSonMapper.toJson(change)));
+    }
+
+    messages.add(utf8("{\"action\":\"C\"}"));
+    return messages;
+  }
+
+  private List<ByteBuffer> pgOutputMessages(List<String[]> rows) {
+    List<ByteBuffer> messages = new ArrayList<>();
+    messages.add(PgOutputMessages.begin());
+    messages.add(PgOutputMessages.relation(16384, "eventuate", "message", COLUMNS, TYPES));
+    rows.forEach(row -> messages.add(PgOutputMessages.insert(16384, row)));
+    messages.add(PgOutputMessages.commit());
+    return messages;
+  }
+
+  private ByteBuffer utf8(String text) {
+    return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+  }
+}
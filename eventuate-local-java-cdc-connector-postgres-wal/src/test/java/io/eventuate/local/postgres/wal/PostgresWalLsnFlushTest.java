@@ -13,6 +13,8 @@ import org.postgresql.replication.fluent.ReplicationStreamBuilder;
 import org.postgresql.replication.fluent.logical.ChainedLogicalStreamBuilder;
 
 import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.SQLException;
 
@@ -43,11 +45,12 @@ public class PostgresWalLsnFlushTest {
     }
 
     @Test
-    public void whenLsnUnderDefaultLimitThenDoNotFlushLsn() throws SQLException {
+    public void whenLsnUnderDefaultLimitAndTransactionInProgressThenDoNotFlushLsn() throws SQLException {
         PGReplicationConnectionImpl replicationConnection = Mockito.mock(PGReplicationConnectionImpl.class);
         PGReplicationStream replicationStream = mockReplicationStream(replicationConnection);
         Connection connection = mockConnection(replicationConnection);
-        Mockito.when(replicationStream.readPending()).thenReturn(null);
+        Mockito.when(replicationStream.readPending())
+                .thenReturn(ByteBuffer.wrap("{\"change\":[".getBytes(StandardCharsets.UTF_8)), (ByteBuffer) null);
 
         LogSequenceNumber lsn1 = LogSequenceNumber.valueOf("C2/E1649A00");
         LogSequenceNumber lsn2 = LogSequenceNumber.valueOf("C2/8C9C12B0");
@@ -64,6 +67,28 @@ public class PostgresWalLsnFlushTest {
         client.stop();
     }
 
+    @Test
+    public void whenNoTransactionIsPendingThenFlushLastReceivedLsn() throws SQLException {
+        PGReplicationConnectionImpl replicationConnection = Mockito.mock(PGReplicationConnectionImpl.class);
+        PGReplicationStream replicationStream = mockReplicationStream(replicationConnection);
+        Connection connection = mockConnection(replicationConnection);
+        Mockito.when(replicationStream.readPending()).thenReturn(null);
+
+        LogSequenceNumber lsn1 = LogSequenceNumber.valueOf("C2/E1649A00");
+        LogSequenceNumber lsn2 = LogSequenceNumber.valueOf("C2/E1649000");
+
+        Mockito.when(replicationStream.getLastReceiveLSN()).thenReturn(lsn1);
+        Mockito.when(replicationStream.getLastFlushedLSN()).thenReturn(lsn2);
+
+        PostgresConnectionFactory connectionFactory = Mockito.mock(PostgresConnectionFactory.class);
+        Mockito.when(connectionFactory.create(any(), any())).thenReturn(connection);
+        PostgresWalClient client = createPostgresWalClient(connectionFactory);
+
+        runInSeparateThread(client::start);
+        Eventually.eventually(() -> Mockito.verify(replicationStream, Mockito.atLeastOnce()).setFlushedLSN(lsn1));
+        client.stop();
+    }
+
     private void runInSeparateThread(Runnable callback) {
         new Thread(callback).start();
     }
@@ -81,6 +106,7 @@ public class PostgresWalLsnFlushTest {
         ChainedLogicalStreamBuilder chainedLogicalStreamBuilder = Mockito.spy(ChainedLogicalStreamBuilder.class);
         Mockito.when(chainedLogicalStreamBuilder.withSlotName(any())).thenReturn(chainedLogicalStreamBuilder);
         Mockito.when(chainedLogicalStreamBuilder.withSlotOption(any(), anyBoolean())).thenReturn(chainedLogicalStreamBuilder);
+        Mockito.when(chainedLogicalStreamBuilder.withSlotOption(any(), anyString())).thenReturn(chainedLogicalStreamBuilder);
         Mockito.when(chainedLogicalStreamBuilder.withStatusInterval(anyInt(), any())).thenReturn(chainedLogicalStreamBuilder);
         Mockito.when(replicationConnection.replicationStream()).thenReturn(replicationStreamBuilder);
         Mockito.when(replicationStreamBuilder.logical()).thenReturn(chainedLogicalStreamBuilder);
@@ -105,7 +131,6 @@ public class PostgresWalLsnFlushTest {
                 1000,
                 1000,
                 1000,
-                "test_additional_slot",
                 1000,
                 new EventuateSchema(EventuateSchema.DEFAULT_SCHEMA),
                 1L,
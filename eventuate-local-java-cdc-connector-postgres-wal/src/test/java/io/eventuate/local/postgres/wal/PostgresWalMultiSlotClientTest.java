@@ -0,0 +1,56 @@
+package io.eventuate.local.postgres.wal;
+
+import io.eventuate.common.eventuate.local.PublishedEvent;
+import io.eventuate.common.jdbc.EventuateSchema;
+import io.eventuate.common.jdbc.SchemaAndTable;
+import io.eventuate.local.common.BinlogEntryToEventConverter;
+import io.micrometer.core.instrument.logging.LoggingMeterRegistry;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+
+public class PostgresWalMultiSlotClientTest {
+
+  private EventuateSchema eventuateSchema = new EventuateSchema("eventuate");
+  private BinlogEntryToEventConverter<PublishedEvent> converter = Mockito.mock(BinlogEntryToEventConverter.class);
+  private Function<PublishedEvent, CompletableFuture<?>> publisher = event -> CompletableFuture.completedFuture(null);
+
+  private PostgresWalClient defaultClient = Mockito.mock(PostgresWalClient.class);
+  private PostgresWalClient messagesClient = Mockito.mock(PostgresWalClient.class);
+
+  private PostgresWalMultiSlotClient client = new PostgresWalMultiSlotClient(new LoggingMeterRegistry(),
+          Mockito.mock(DataSource.class),
+          "test_reader",
+          1L,
+          defaultClient,
+          Collections.singletonMap(new SchemaAndTable("eventuate", "message"), messagesClient));
+
+  @Test
+  public void shouldAddHandlerOfAssignedTableToClientOfItsSlot() {
+    client.addBinlogEntryHandler(eventuateSchema, "message", converter, publisher);
+
+    Mockito.verify(messagesClient).addBinlogEntryHandler(eventuateSchema, "message", converter, publisher);
+    Mockito.verify(defaultClient, Mockito.never()).addBinlogEntryHandler(any(), any(), any(), any());
+  }
+
+  @Test
+  public void shouldAddHandlerOfUnassignedTableToDefaultClient() {
+    client.addBinlogEntryHandler(eventuateSchema, "events", converter, publisher);
+
+    Mockito.verify(defaultClient).addBinlogEntryHandler(eventuateSchema, "events", converter, publisher);
+    Mockito.verify(messagesClient, Mockito.never()).addBinlogEntryHandler(any(), any(), any(), any());
+  }
+
+  @Test
+  public void shouldIgnoreOffsetSavedThroughAggregateStatusService() {
+    client.getCdcProcessingStatusService().saveEndingOffsetOfLastProcessedEvent(1);
+
+    Mockito.verifyNoInteractions(defaultClient, messagesClient);
+  }
+}
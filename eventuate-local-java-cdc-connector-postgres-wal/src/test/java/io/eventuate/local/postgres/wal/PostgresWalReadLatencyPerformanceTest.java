@@ -0,0 +1,152 @@
+package io.eventuate.local.postgres.wal;
+
+import io.eventuate.common.jdbc.EventuateSchema;
+import io.micrometer.core.instrument.logging.LoggingMeterRegistry;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.postgresql.jdbc.PgConnection;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationConnectionImpl;
+import org.postgresql.replication.PGReplicationStream;
+import org.postgresql.replication.fluent.ReplicationStreamBuilder;
+import org.postgresql.replication.fluent.logical.ChainedLogicalStreamBuilder;
+
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.*;
+
+public class PostgresWalReadLatencyPerformanceTest {
+
+  private static final int WAL_INTERVAL_IN_MILLISECONDS = 500;
+  private static final int MESSAGES = 100;
+  private static final int MIN_GAP_IN_MILLISECONDS = 20;
+  private static final int MAX_GAP_IN_MILLISECONDS = 200;
+
+  @Test
+  public void compareReadLatencyForSparseTraffic() throws Exception {
+    measure("sleep " + WAL_INTERVAL_IN_MILLISECONDS + " ms", 0);
+    measure("park 1000 us", 1000);
+    measure("park 100 us", 100);
+  }
+
+  private void measure(String name, int readParkIntervalInMicroseconds) throws Exception {
+    Random random = new Random(1);
+    List<Long> arrivals = new ArrayList<>();
+    long arrival = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(WAL_INTERVAL_IN_MILLISECONDS);
+
+    for (int i = 0; i < MESSAGES; i++) {
+      arrival += TimeUnit.MILLISECONDS.toNanos(MIN_GAP_IN_MILLISECONDS + random.nextInt(MAX_GAP_IN_MILLISECONDS - MIN_GAP_IN_MILLISECONDS));
+      arrivals.add(arrival);
+    }
+
+    List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+    AtomicLong reads = new AtomicLong();
+    CountDownLatch received = new CountDownLatch(MESSAGES);
+
+    PGReplicationConnectionImpl replicationConnection = Mockito.mock(PGReplicationConnectionImpl.class);
+    PGReplicationStream replicationStream = mockReplicationStream(replicationConnection);
+    LogSequenceNumber lsn = LogSequenceNumber.valueOf("C2/E1649A00");
+    Mockito.when(replicationStream.getLastReceiveLSN()).thenReturn(lsn);
+    Mockito.when(replicationStream.getLastFlushedLSN()).thenReturn(lsn);
+
+    int[] next = new int[1];
+
+    Mockito.when(replicationStream.readPending()).thenAnswer(invocation -> {
+      reads.incrementAndGet();
+
+      long now = System.nanoTime();
+
+      if (next[0] < arrivals.size() && now >= arrivals.get(next[0])) {
+        latencies.add(now - arrivals.get(next[0]++));
+        received.countDown();
+        return ByteBuffer.wrap("{\"change\":[".getBytes(StandardCharsets.UTF_8));
+      }
+
+      return null;
+    });
+
+    PostgresConnectionFactory connectionFactory = Mockito.mock(PostgresConnectionFactory.class);
+    Connection connection = mockConnection(replicationConnection);
+    Mockito.when(connectionFactory.create(any(), any())).thenReturn(connection);
+
+    PostgresWalClient client = createPostgresWalClient(connectionFactory);
+    client.setReadParkIntervalInMicroseconds(readParkIntervalInMicroseconds);
+
+    long start = System.nanoTime();
+    new Thread(client::start).start();
+    received.await(MESSAGES * MAX_GAP_IN_MILLISECONDS + 10L * WAL_INTERVAL_IN_MILLISECONDS, TimeUnit.MILLISECONDS);
+    long elapsed = System.nanoTime() - start;
+    client.stop();
+
+    List<Long> sorted = new ArrayList<>(latencies);
+    Collections.sort(sorted);
+
+    System.out.println(String.format("%s: p50 %s us, p99 %s us, max %s us, %s reads per second",
+            name,
+            TimeUnit.NANOSECONDS.toMicros(percentile(sorted, 50)),
+            TimeUnit.NANOSECONDS.toMicros(percentile(sorted, 99)),
+            TimeUnit.NANOSECONDS.toMicros(sorted.get(sorted.size() - 1)),
+            reads.get() * TimeUnit.SECONDS.toNanos(1) / elapsed));
+  }
+
+  private long percentile(List<Long> sorted, int percentile) {
+    return sorted.get(Math.min(sorted.size() - 1, sorted.size() * percentile / 100));
+  }
+
+  private Connection mockConnection(PGReplicationConnectionImpl replicationConnection) throws SQLException {
+    Connection connection = Mockito.mock(Connection.class);
+    PgConnection pgConnection = Mockito.mock(PgConnection.class);
+    Mockito.when(pgConnection.getReplicationAPI()).thenReturn(replicationConnection);
+    Mockito.when(connection.unwrap(any())).thenReturn(pgConnection);
+    return connection;
+  }
+
+  private PGReplicationStream mockReplicationStream(PGReplicationConnectionImpl replicationConnection) throws SQLException {
+    ReplicationStreamBuilder replicationStreamBuilder = Mockito.mock(ReplicationStreamBuilder.class);
+    ChainedLogicalStreamBuilder chainedLogicalStreamBuilder = Mockito.spy(ChainedLogicalStreamBuilder.class);
+    Mockito.when(chainedLogicalStreamBuilder.withSlotName(any())).thenReturn(chainedLogicalStreamBuilder);
+    Mockito.when(chainedLogicalStreamBuilder.withSlotOption(any(), anyBoolean())).thenReturn(chainedLogicalStreamBuilder);
+    Mockito.when(chainedLogicalStreamBuilder.withSlotOption(any(), anyString())).thenReturn(chainedLogicalStreamBuilder);
+    Mockito.when(chainedLogicalStreamBuilder.withStatusInterval(anyInt(), any())).thenReturn(chainedLogicalStreamBuilder);
+    Mockito.when(replicationConnection.replicationStream()).thenReturn(replicationStreamBuilder);
+    Mockito.when(replicationStreamBuilder.logical()).thenReturn(chainedLogicalStreamBuilder);
+    PGReplicationStream replicationStream = Mockito.mock(PGReplicationStream.class);
+    Mockito.when(chainedLogicalStreamBuilder.start()).thenReturn(replicationStream);
+    return replicationStream;
+  }
+
+  private PostgresWalClient createPostgresWalClient(PostgresConnectionFactory connectionFactory) {
+    return new PostgresWalClient(
+            new LoggingMeterRegistry(),
+            "jdbc:postgresql://localhost:5432/eventuate",
+            "postgres",
+            "postgres",
+            WAL_INTERVAL_IN_MILLISECONDS,
+            1000,
+            1000,
+            1000,
+            "test_slot",
+            Mockito.mock(DataSource.class),
+            "test_reader",
+            1000,
+            1000,
+            1000,
+            1000,
+            new EventuateSchema(EventuateSchema.DEFAULT_SCHEMA),
+            1L,
+            1000,
+            connectionFactory
+    );
+  }
+}
@@ -0,0 +1,45 @@
+package io.eventuate.local.postgres.wal;
+
+import io.eventuate.common.jdbc.SchemaAndTable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class PostgresWalReplicationSlotTablesTest {
+
+  @Test
+  public void shouldParseTablesOfEachSlot() {
+    Map<String, List<SchemaAndTable>> slotTables =
+            PostgresWalReplicationSlotTables.parse("slot_messages=eventuate.message_0, eventuate.message_1;slot_events=eventuate.events;");
+
+    Assert.assertEquals(Arrays.asList("slot_messages", "slot_events"), Arrays.asList(slotTables.keySet().toArray()));
+    Assert.assertEquals(Arrays.asList(new SchemaAndTable("eventuate", "message_0"), new SchemaAndTable("eventuate", "message_1")),
+            slotTables.get("slot_messages"));
+    Assert.assertEquals(Collections.singletonList(new SchemaAndTable("eventuate", "events")), slotTables.get("slot_events"));
+  }
+
+  @Test
+  public void shouldReturnNoSlotsWhenNotConfigured() {
+    Assert.assertTrue(PostgresWalReplicationSlotTables.parse(null).isEmpty());
+    Assert.assertTrue(PostgresWalReplicationSlotTables.parse(" ").isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectTableAssignedToSeveralSlots() {
+    PostgresWalReplicationSlotTables.parse("slot_a=eventuate.message;slot_b=eventuate.message");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectTableWithoutSchema() {
+    PostgresWalReplicationSlotTables.parse("slot_a=message");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectInvalidSlotName() {
+    PostgresWalReplicationSlotTables.parse("Slot-A=eventuate.message");
+  }
+}
@@ -0,0 +1,96 @@
+package io.eventuate.local.postgres.wal;
+
+import io.eventuate.common.id.IdGenerator;
+import io.eventuate.common.jdbc.EventuateSchema;
+import io.eventuate.local.test.util.TestHelper;
+import io.eventuate.local.testutil.DefaultAndPostgresWalProfilesResolver;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.List;
+
+@ActiveProfiles(resolver = DefaultAndPostgresWalProfilesResolver.class)
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(classes = PostgresWalBinlogEntryReaderMessageTableTestConfiguration.class)
+public class PostgresWalReplicationSlotTest {
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Autowired
+  private TestHelper testHelper;
+
+  @Autowired
+  private IdGenerator idGenerator;
+
+  private JdbcTemplate jdbcTemplate;
+  private PostgresWalReplicationSlot replicationSlot;
+  private String defaultSlot;
+  private String movedTablesSlot;
+
+  @Before
+  public void init() {
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    replicationSlot = new PostgresWalReplicationSlot(dataSource);
+
+    String suffix = String.valueOf(System.currentTimeMillis());
+    defaultSlot = "test_default_slot_" + suffix;
+    movedTablesSlot = "test_moved_tables_slot_" + suffix;
+
+    replicationSlot.createIfNotExists(defaultSlot, PostgresWalOutputPlugin.WAL2JSON);
+  }
+
+  @After
+  public void dropSlots() {
+    jdbcTemplate.queryForList("SELECT pg_drop_replication_slot(slot_name) FROM pg_replication_slots WHERE slot_name IN (?, ?)",
+            defaultSlot, movedTablesSlot);
+  }
+
+  @Test
+  public void shouldReadUnpublishedMessagesOfMovedTableThroughCopiedSlot() {
+    String messageId = saveMessage();
+
+    replicationSlot.copyIfNotExists(movedTablesSlot, defaultSlot, PostgresWalOutputPlugin.WAL2JSON);
+
+    Assert.assertTrue(changesOf(movedTablesSlot).stream().anyMatch(change -> change.contains(messageId)));
+  }
+
+  @Test
+  public void shouldKeepExistingSlot() {
+    replicationSlot.copyIfNotExists(movedTablesSlot, defaultSlot, PostgresWalOutputPlugin.WAL2JSON);
+
+    String messageId = saveMessage();
+
+    replicationSlot.copyIfNotExists(movedTablesSlot, defaultSlot, PostgresWalOutputPlugin.WAL2JSON);
+
+    Assert.assertTrue(changesOf(movedTablesSlot).stream().anyMatch(change -> change.contains(messageId)));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldNotCopySlotWithOtherPlugin() {
+    replicationSlot.copyIfNotExists(movedTablesSlot, defaultSlot, PostgresWalOutputPlugin.WAL2JSON);
+    replicationSlot.copyIfNotExists(movedTablesSlot, defaultSlot, PostgresWalOutputPlugin.PGOUTPUT);
+  }
+
+  private String saveMessage() {
+    return testHelper.saveMessage(idGenerator,
+            testHelper.generateRandomPayload(),
+            testHelper.generateId(),
+            Collections.emptyMap(),
+            new EventuateSchema(EventuateSchema.DEFAULT_SCHEMA));
+  }
+
+  private List<String> changesOf(String slotName) {
+    return jdbcTemplate.queryForList("SELECT data FROM pg_logical_slot_peek_changes(?, NULL, NULL)", String.class, slotName);
+  }
+}
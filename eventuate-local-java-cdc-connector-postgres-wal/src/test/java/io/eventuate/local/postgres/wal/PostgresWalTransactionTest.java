@@ -0,0 +1,63 @@
+package io.eventuate.local.postgres.wal;
+
+import io.eventuate.common.eventuate.local.BinlogFileOffset;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+public class PostgresWalTransactionTest {
+
+  private PostgresWalTransaction transaction = new PostgresWalTransaction(0x16D3130L);
+
+  @Test
+  public void shouldCompleteWhenCommittedAndAllChangesArePublished() {
+    CompletableFuture<Void> first = new CompletableFuture<>();
+    CompletableFuture<Void> second = new CompletableFuture<>();
+
+    transaction.add(first);
+    transaction.add(second);
+    first.complete(null);
+
+    CompletableFuture<Void> completion = transaction.commit();
+    Assert.assertFalse(completion.isDone());
+
+    second.complete(null);
+    Assert.assertTrue(completion.isDone());
+    Assert.assertFalse(completion.isCompletedExceptionally());
+  }
+
+  @Test
+  public void shouldCompleteOnCommitWhenChangesArePublished() {
+    CompletableFuture<Void> published = CompletableFuture.completedFuture(null);
+
+    transaction.add(published);
+
+    CompletableFuture<Void> completion = transaction.commit();
+    Assert.assertTrue(completion.isDone());
+  }
+
+  @Test
+  public void shouldFailWhenPublishingFails() {
+    CompletableFuture<Void> published = new CompletableFuture<>();
+
+    transaction.add(published);
+    published.completeExceptionally(new RuntimeException("publishing failed"));
+
+    Assert.assertTrue(transaction.commit().isCompletedExceptionally());
+  }
+
+  @Test
+  public void shouldPositionChangesByTransactionLsnAndIndex() {
+    BinlogFileOffset first = transaction.nextOffset();
+    BinlogFileOffset second = transaction.nextOffset();
+    BinlogFileOffset nextTransaction = new PostgresWalTransaction(0x100000000L).nextOffset();
+
+    Assert.assertEquals("00000000016D3130", first.getBinlogFilename());
+    Assert.assertEquals(0L, first.getOffset());
+    Assert.assertEquals(1L, second.getOffset());
+    Assert.assertTrue(second.isSameOrAfter(first));
+    Assert.assertTrue(nextTransaction.isSameOrAfter(second));
+    Assert.assertFalse(first.isSameOrAfter(nextTransaction));
+  }
+}
@@ -3,6 +3,7 @@ package io.eventuate.local.unified.cdc.pipeline.common.health;
 import io.eventuate.local.common.BinlogEntryReader;
 import io.eventuate.local.db.log.common.DbLogClient;
 import io.eventuate.local.mysql.binlog.MySqlBinaryLogClient;
+import io.eventuate.local.postgres.wal.PostgresWalMultiSlotClient;
 import io.eventuate.local.unified.cdc.pipeline.common.BinlogEntryReaderProvider;
 import org.springframework.beans.factory.annotation.Value;
 
@@ -39,6 +40,11 @@ public class BinlogEntryReaderHealthCheck extends AbstractHealthCheck {
                 if (binlogEntryReader instanceof DbLogClient) {
                   checkDbLogReaderHealth((DbLogClient) binlogEntryReader, builder);
                 }
+                if (binlogEntryReader instanceof PostgresWalMultiSlotClient) {
+                  ((PostgresWalMultiSlotClient) binlogEntryReader)
+                          .getClients()
+                          .forEach(postgresWalClient -> checkDbLogReaderHealth(postgresWalClient, builder));
+                }
               } else
                 builder.addDetail(String.format("%s is not the leader", binlogEntryReader.getReaderName()));
             });
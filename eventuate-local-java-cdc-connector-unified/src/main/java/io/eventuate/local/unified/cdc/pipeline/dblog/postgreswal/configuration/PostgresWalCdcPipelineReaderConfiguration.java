@@ -51,6 +51,14 @@ public class PostgresWalCdcPipelineReaderConfiguration extends CommonDbLogCdcDef
     postgresWalCdcPipelineReaderProperties.setPostgresReplicationStatusIntervalInMilliseconds(eventuateConfigurationProperties.getPostgresReplicationStatusIntervalInMilliseconds());
     postgresWalCdcPipelineReaderProperties.setPostgresReplicationSlotName(eventuateConfigurationProperties.getPostgresReplicationSlotName());
     postgresWalCdcPipelineReaderProperties.setPostgresWalIntervalInMilliseconds(eventuateConfigurationProperties.getPostgresWalIntervalInMilliseconds());
+    postgresWalCdcPipelineReaderProperties.setPostgresOutputPlugin(eventuateConfigurationProperties.getPostgresOutputPlugin());
+    postgresWalCdcPipelineReaderProperties.setPostgresPublicationName(eventuateConfigurationProperties.getPostgresPublicationName());
+    postgresWalCdcPipelineReaderProperties.setPostgresWal2JsonFormatVersion(eventuateConfigurationProperties.getPostgresWal2JsonFormatVersion());
+    postgresWalCdcPipelineReaderProperties.setPostgresServerSideTableFiltering(eventuateConfigurationProperties.isPostgresServerSideTableFiltering());
+    postgresWalCdcPipelineReaderProperties.setPostgresWalReadParkIntervalInMicroseconds(eventuateConfigurationProperties.getPostgresWalReadParkIntervalInMicroseconds());
+    postgresWalCdcPipelineReaderProperties.setPostgresPgOutputStreaming(eventuateConfigurationProperties.isPostgresPgOutputStreaming());
+    postgresWalCdcPipelineReaderProperties.setPostgresPgOutputStreamingMaxMemoryInMb(eventuateConfigurationProperties.getPostgresPgOutputStreamingMaxMemoryInMb());
+    postgresWalCdcPipelineReaderProperties.setPostgresReplicationSlotTables(eventuateConfigurationProperties.getPostgresReplicationSlotTables());
 
     return postgresWalCdcPipelineReaderProperties;
   }
@@ -1,17 +1,25 @@
 package io.eventuate.local.unified.cdc.pipeline.dblog.postgreswal.factory;
 
 import io.eventuate.common.jdbc.EventuateSchema;
+import io.eventuate.common.jdbc.SchemaAndTable;
+import io.eventuate.local.common.BinlogEntryReader;
 import io.eventuate.local.common.ConnectionPoolConfigurationProperties;
 import io.eventuate.local.postgres.wal.PostgresConnectionFactory;
 import io.eventuate.local.postgres.wal.PostgresWalClient;
+import io.eventuate.local.postgres.wal.PostgresWalMultiSlotClient;
+import io.eventuate.local.postgres.wal.PostgresWalOutputPlugin;
+import io.eventuate.local.postgres.wal.PostgresWalReplicationSlotTables;
 import io.eventuate.local.unified.cdc.pipeline.common.factory.CommonCdcPipelineReaderFactory;
 import io.eventuate.local.unified.cdc.pipeline.dblog.postgreswal.properties.PostgresWalCdcPipelineReaderProperties;
 import io.micrometer.core.instrument.MeterRegistry;
 
 import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class PostgresWalCdcPipelineReaderFactory
-        extends CommonCdcPipelineReaderFactory<PostgresWalCdcPipelineReaderProperties, PostgresWalClient> {
+        extends CommonCdcPipelineReaderFactory<PostgresWalCdcPipelineReaderProperties, BinlogEntryReader> {
 
   public static final String TYPE = "postgres-wal";
 
@@ -33,11 +41,52 @@ public class PostgresWalCdcPipelineReaderFactory
   }
 
   @Override
-  public PostgresWalClient create(PostgresWalCdcPipelineReaderProperties readerProperties) {
+  public BinlogEntryReader create(PostgresWalCdcPipelineReaderProperties readerProperties) {
 
     DataSource dataSource = createDataSource(readerProperties);
 
-    return new PostgresWalClient(meterRegistry,
+    Map<String, List<SchemaAndTable>> slotTables =
+            PostgresWalReplicationSlotTables.parse(readerProperties.getPostgresReplicationSlotTables());
+
+    PostgresWalClient defaultClient = createPostgresWalClient(readerProperties,
+            dataSource,
+            readerProperties.getReaderName(),
+            readerProperties.getPostgresReplicationSlotName(),
+            readerProperties.getPostgresPublicationName());
+
+    if (slotTables.isEmpty()) {
+      return defaultClient;
+    }
+
+    Map<SchemaAndTable, PostgresWalClient> clientsByTable = new HashMap<>();
+
+    slotTables.forEach((slotName, tables) -> {
+      PostgresWalClient client = createPostgresWalClient(readerProperties,
+              dataSource,
+              readerProperties.getReaderName() + "-" + slotName,
+              slotName,
+              readerProperties.getPostgresPublicationName() + "_" + slotName);
+
+      client.setSourceReplicationSlotName(readerProperties.getPostgresReplicationSlotName());
+
+      tables.forEach(table -> clientsByTable.put(table, client));
+    });
+
+    return new PostgresWalMultiSlotClient(meterRegistry,
+            dataSource,
+            readerProperties.getReaderName(),
+            readerProperties.getOutboxId(),
+            defaultClient,
+            clientsByTable);
+  }
+
+  private PostgresWalClient createPostgresWalClient(PostgresWalCdcPipelineReaderProperties readerProperties,
+                                                    DataSource dataSource,
+                                                    String readerName,
+                                                    String replicationSlotName,
+                                                    String publicationName) {
+
+    PostgresWalClient postgresWalClient = new PostgresWalClient(meterRegistry,
             readerProperties.getDataSourceUrl(),
             readerProperties.getDataSourceUserName(),
             readerProperties.getDataSourcePassword(),
@@ -45,17 +94,26 @@ public class PostgresWalCdcPipelineReaderFactory
             readerProperties.getBinlogConnectionTimeoutInMilliseconds(),
             readerProperties.getMaxAttemptsForBinlogConnection(),
             readerProperties.getPostgresReplicationStatusIntervalInMilliseconds(),
-            readerProperties.getPostgresReplicationSlotName(),
+            replicationSlotName,
             dataSource,
-            readerProperties.getReaderName(),
+            readerName,
             readerProperties.getReplicationLagMeasuringIntervalInMilliseconds(),
             readerProperties.getMonitoringRetryIntervalInMilliseconds(),
             readerProperties.getMonitoringRetryAttempts(),
-            readerProperties.getAdditionalServiceReplicationSlotName(),
             readerProperties.getWaitForOffsetSyncTimeoutInMilliseconds(),
             new EventuateSchema(readerProperties.getMonitoringSchema()),
             readerProperties.getOutboxId(),
             readerProperties.getMaxLsnDiffInMb(),
             new PostgresConnectionFactory());
+
+    postgresWalClient.setOutputPlugin(PostgresWalOutputPlugin.fromPluginName(readerProperties.getPostgresOutputPlugin()),
+            publicationName);
+    postgresWalClient.setWal2JsonFormatVersion(readerProperties.getPostgresWal2JsonFormatVersion());
+    postgresWalClient.setServerSideTableFiltering(readerProperties.isPostgresServerSideTableFiltering());
+    postgresWalClient.setReadParkIntervalInMicroseconds(readerProperties.getPostgresWalReadParkIntervalInMicroseconds());
+    postgresWalClient.setPgOutputStreaming(readerProperties.isPostgresPgOutputStreaming(),
+            readerProperties.getPostgresPgOutputStreamingMaxMemoryInMb() * 1024L * 1024L);
+
+    return postgresWalClient;
   }
 }
@@ -2,8 +2,12 @@ package io.eventuate.local.unified.cdc.pipeline.dblog.postgreswal.properties;
 
 
 import io.eventuate.local.unified.cdc.pipeline.dblog.common.properties.CommonDbLogCdcPipelineReaderProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class PostgresWalCdcPipelineReaderProperties extends CommonDbLogCdcPipelineReaderProperties {
+  private static final Logger logger = LoggerFactory.getLogger(PostgresWalCdcPipelineReaderProperties.class);
+
   private Integer postgresWalIntervalInMilliseconds = 500;
   private Integer postgresReplicationStatusIntervalInMilliseconds = 1000;
   private String postgresReplicationSlotName = "eventuate_slot";
@@ -11,6 +15,14 @@ public class PostgresWalCdcPipelineReaderProperties extends CommonDbLogCdcPipeli
   private long waitForOffsetSyncTimeoutInMilliseconds = 60000;
 
   private int maxLsnDiffInMb = 1000;
+  private String postgresOutputPlugin = "wal2json";
+  private String postgresPublicationName = "eventuate_publication";
+  private int postgresWal2JsonFormatVersion = 1;
+  private boolean postgresServerSideTableFiltering = false;
+  private int postgresWalReadParkIntervalInMicroseconds = 0;
+  private boolean postgresPgOutputStreaming = false;
+  private int postgresPgOutputStreamingMaxMemoryInMb = 64;
+  private String postgresReplicationSlotTables;
 
   public Integer getPostgresWalIntervalInMilliseconds() {
     return postgresWalIntervalInMilliseconds;
@@ -36,11 +48,17 @@ public class PostgresWalCdcPipelineReaderProperties extends CommonDbLogCdcPipeli
     this.postgresReplicationSlotName = postgresReplicationSlotName;
   }
 
+  /**
+   * Not used, the processing status is checked without an additional replication slot.
+   */
+  @Deprecated
   public String getAdditionalServiceReplicationSlotName() {
     return additionalServiceReplicationSlotName;
   }
 
+  @Deprecated
   public void setAdditionalServiceReplicationSlotName(String additionalServiceReplicationSlotName) {
+    logger.warn("additionalServiceReplicationSlotName is deprecated and ignored, the processing status is checked without an additional replication slot");
     this.additionalServiceReplicationSlotName = additionalServiceReplicationSlotName;
   }
 
@@ -59,4 +77,68 @@ public class PostgresWalCdcPipelineReaderProperties extends CommonDbLogCdcPipeli
   public void setMaxLsnDiffInMb(int maxLsnDiffInMb) {
     this.maxLsnDiffInMb = maxLsnDiffInMb;
   }
+
+  public String getPostgresOutputPlugin() {
+    return postgresOutputPlugin;
+  }
+
+  public void setPostgresOutputPlugin(String postgresOutputPlugin) {
+    this.postgresOutputPlugin = postgresOutputPlugin;
+  }
+
+  public String getPostgresPublicationName() {
+    return postgresPublicationName;
+  }
+
+  public void setPostgresPublicationName(String postgresPublicationName) {
+    this.postgresPublicationName = postgresPublicationName;
+  }
+
+  public int getPostgresWal2JsonFormatVersion() {
+    return postgresWal2JsonFormatVersion;
+  }
+
+  public void setPostgresWal2JsonFormatVersion(int postgresWal2JsonFormatVersion) {
+    this.postgresWal2JsonFormatVersion = postgresWal2JsonFormatVersion;
+  }
+
+  public boolean isPostgresServerSideTableFiltering() {
+    return postgresServerSideTableFiltering;
+  }
+
+  public void setPostgresServerSideTableFiltering(boolean postgresServerSideTableFiltering) {
+    this.postgresServerSideTableFiltering = postgresServerSideTableFiltering;
+  }
+
+  public int getPostgresWalReadParkIntervalInMicroseconds() {
+    return postgresWalReadParkIntervalInMicroseconds;
+  }
+
+  public void setPostgresWalReadParkIntervalInMicroseconds(int postgresWalReadParkIntervalInMicroseconds) {
+    this.postgresWalReadParkIntervalInMicroseconds = postgresWalReadParkIntervalInMicroseconds;
+  }
+
+  public boolean isPostgresPgOutputStreaming() {
+    return postgresPgOutputStreaming;
+  }
+
+  public void setPostgresPgOutputStreaming(boolean postgresPgOutputStreaming) {
+    this.postgresPgOutputStreaming = postgresPgOutputStreaming;
+  }
+
+  public int getPostgresPgOutputStreamingMaxMemoryInMb() {
+    return postgresPgOutputStreamingMaxMemoryInMb;
+  }
+
+  public void setPostgresPgOutputStreamingMaxMemoryInMb(int postgresPgOutputStreamingMaxMemoryInMb) {
+    this.postgresPgOutputStreamingMaxMemoryInMb = postgresPgOutputStreamingMaxMemoryInMb;
+  }
+
+  public String getPostgresReplicationSlotTables() {
+    return postgresReplicationSlotTables;
+  }
+
+  public void setPostgresReplicationSlotTables(String postgresReplicationSlotTables) {
+    this.postgresReplicationSlotTables = postgresReplicationSlotTables;
+  }
 }
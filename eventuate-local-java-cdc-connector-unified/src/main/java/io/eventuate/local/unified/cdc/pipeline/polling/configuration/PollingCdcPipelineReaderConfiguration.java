@@ -3,6 +3,7 @@ package io.eventuate.local.unified.cdc.pipeline.polling.configuration;
 import io.eventuate.common.jdbc.OutboxPartitioningSpec;
 import io.eventuate.common.jdbc.sqldialect.SqlDialectSelector;
 import io.eventuate.local.common.ConnectionPoolConfigurationProperties;
+import io.eventuate.local.polling.PollingScheduler;
 import io.eventuate.local.unified.cdc.pipeline.common.configuration.CommonCdcDefaultPipelineReaderConfiguration;
 import io.eventuate.local.unified.cdc.pipeline.common.factory.CdcPipelineReaderFactory;
 import io.eventuate.local.unified.cdc.pipeline.common.properties.CdcPipelineReaderProperties;
@@ -19,25 +20,34 @@ import java.util.HashSet;
 @Configuration
 public class PollingCdcPipelineReaderConfiguration extends CommonCdcDefaultPipelineReaderConfiguration {
 
+  @Bean
+  public PollingScheduler pollingScheduler(MeterRegistry meterRegistry) {
+    return new PollingScheduler(meterRegistry, eventuateConfigurationProperties.getPollingPoolSize());
+  }
+
   @Bean("eventuateLocalPollingCdcPipelineReaderFactory")
   public CdcPipelineReaderFactory pollingCdcPipelineReaderFactory(MeterRegistry meterRegistry,
                                                                   SqlDialectSelector sqlDialectSelector,
-                                                                  ConnectionPoolConfigurationProperties connectionPoolConfigurationProperties) {
+                                                                  ConnectionPoolConfigurationProperties connectionPoolConfigurationProperties,
+                                                                  PollingScheduler pollingScheduler) {
 
     return new PollingCdcPipelineReaderFactory(meterRegistry,
             sqlDialectSelector,
-            connectionPoolConfigurationProperties);
+            connectionPoolConfigurationProperties,
+            pollingScheduler);
   }
 
   @Profile("EventuatePolling")
   @Bean("defaultCdcPipelineReaderFactory")
   public CdcPipelineReaderFactory defaultPollingCdcPipelineReaderFactory(MeterRegistry meterRegistry,
                                                                          SqlDialectSelector sqlDialectSelector,
-                                                                         ConnectionPoolConfigurationProperties connectionPoolConfigurationProperties) {
+                                                                         ConnectionPoolConfigurationProperties connectionPoolConfigurationProperties,
+                                                                         PollingScheduler pollingScheduler) {
 
     return new PollingCdcPipelineReaderFactory(meterRegistry,
             sqlDialectSelector,
-            connectionPoolConfigurationProperties);
+            connectionPoolConfigurationProperties,
+            pollingScheduler);
   }
 
   @Profile("EventuatePolling")
@@ -60,6 +70,19 @@ public class PollingCdcPipelineReaderConfiguration extends CommonCdcDefaultPipel
     pollingPipelineReaderProperties.setMaxAttemptsForPolling(eventuateConfigurationProperties.getMaxAttemptsForPolling());
     pollingPipelineReaderProperties.setPollingRetryIntervalInMilliseconds(eventuateConfigurationProperties.getPollingRetryIntervalInMilliseconds());
     pollingPipelineReaderProperties.setPollingParallelChannels(new HashSet<>(Arrays.asList(eventuateConfigurationProperties.getPollingParallelChannels())));
+    pollingPipelineReaderProperties.setPollingHashBuckets(eventuateConfigurationProperties.getPollingHashBuckets());
+    pollingPipelineReaderProperties.setPollingFetchSize(eventuateConfigurationProperties.getPollingFetchSize());
+    pollingPipelineReaderProperties.setPollingMaxIntervalInMilliseconds(eventuateConfigurationProperties.getPollingMaxIntervalInMilliseconds());
+    pollingPipelineReaderProperties.setMinEventsPerPolling(eventuateConfigurationProperties.getMinEventsPerPolling());
+    pollingPipelineReaderProperties.setPollingTargetBatchDurationInMilliseconds(eventuateConfigurationProperties.getPollingTargetBatchDurationInMilliseconds());
+    pollingPipelineReaderProperties.setPollingNotificationChannel(eventuateConfigurationProperties.getPollingNotificationChannel());
+    pollingPipelineReaderProperties.setPollingReplicaDataSourceUrl(eventuateConfigurationProperties.getPollingReplicaDataSourceUrl());
+    pollingPipelineReaderProperties.setPollingReplicaDataSourceUserName(eventuateConfigurationProperties.getPollingReplicaDataSourceUserName());
+    pollingPipelineReaderProperties.setPollingReplicaDataSourcePassword(eventuateConfigurationProperties.getPollingReplicaDataSourcePassword());
+    pollingPipelineReaderProperties.setPollingMaxReplicaLagInMilliseconds(eventuateConfigurationProperties.getPollingMaxReplicaLagInMilliseconds());
+    pollingPipelineReaderProperties.setPollingProbeTables(eventuateConfigurationProperties.isPollingProbeTables());
+    pollingPipelineReaderProperties.setPollingIndexAdvice(eventuateConfigurationProperties.isPollingIndexAdvice());
+    pollingPipelineReaderProperties.setPollingCreateIndexes(eventuateConfigurationProperties.isPollingCreateIndexes());
 
     pollingPipelineReaderProperties.setOutboxPartitioning(new OutboxPartitioningSpec(eventuateConfigurationProperties.getOutboxTables(), eventuateConfigurationProperties.getOutboxTablePartitions()));
 
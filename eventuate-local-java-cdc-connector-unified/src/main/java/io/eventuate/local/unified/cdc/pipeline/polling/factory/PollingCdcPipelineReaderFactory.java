@@ -4,23 +4,38 @@ import io.eventuate.common.jdbc.sqldialect.SqlDialectSelector;
 import io.eventuate.local.common.ConnectionPoolConfigurationProperties;
 import io.eventuate.local.polling.ParallelPollingChannels;
 import io.eventuate.local.polling.PollingDao;
+import io.eventuate.local.polling.PollingScheduler;
 import io.eventuate.local.unified.cdc.pipeline.common.factory.CommonCdcPipelineReaderFactory;
+import io.eventuate.local.unified.cdc.pipeline.common.factory.DataSourceFactory;
 import io.eventuate.local.unified.cdc.pipeline.polling.properties.PollingPipelineReaderProperties;
 import io.micrometer.core.instrument.MeterRegistry;
 
+import javax.sql.DataSource;
+import java.util.Optional;
+
 public class PollingCdcPipelineReaderFactory extends CommonCdcPipelineReaderFactory<PollingPipelineReaderProperties, PollingDao> {
 
   public static final String TYPE = "polling";
 
   private SqlDialectSelector sqlDialectSelector;
+  private PollingScheduler pollingScheduler;
 
   public PollingCdcPipelineReaderFactory(MeterRegistry meterRegistry,
                                          SqlDialectSelector sqlDialectSelector,
                                          ConnectionPoolConfigurationProperties connectionPoolConfigurationProperties) {
 
+    this(meterRegistry, sqlDialectSelector, connectionPoolConfigurationProperties, new PollingScheduler(meterRegistry, 0));
+  }
+
+  public PollingCdcPipelineReaderFactory(MeterRegistry meterRegistry,
+                                         SqlDialectSelector sqlDialectSelector,
+                                         ConnectionPoolConfigurationProperties connectionPoolConfigurationProperties,
+                                         PollingScheduler pollingScheduler) {
+
     super(meterRegistry, connectionPoolConfigurationProperties);
 
     this.sqlDialectSelector = sqlDialectSelector;
+    this.pollingScheduler = pollingScheduler;
   }
 
   @Override
@@ -31,7 +46,7 @@ public class PollingCdcPipelineReaderFactory extends CommonCdcPipelineReaderFact
   @Override
   public PollingDao create(PollingPipelineReaderProperties readerProperties) {
 
-    return new PollingDao(meterRegistry,
+    PollingDao pollingDao = new PollingDao(meterRegistry,
             readerProperties.getDataSourceUrl(),
             createDataSource(readerProperties),
             readerProperties.getMaxEventsPerPolling(),
@@ -41,8 +56,36 @@ public class PollingCdcPipelineReaderFactory extends CommonCdcPipelineReaderFact
             readerProperties.getReaderName(),
             sqlDialectSelector.getDialect(readerProperties.getDataSourceDriverClassName()),
             readerProperties.getOutboxId(),
-            new ParallelPollingChannels(readerProperties.getPollingParallelChannels()),
+            new ParallelPollingChannels(readerProperties.getPollingParallelChannels(), readerProperties.getPollingHashBuckets()),
             readerProperties.getOutboxPartitioning());
+
+    pollingDao.setPollingFetchSize(readerProperties.getPollingFetchSize());
+    pollingDao.setAdaptivePolling(readerProperties.getPollingMaxIntervalInMilliseconds(),
+            readerProperties.getMinEventsPerPolling(),
+            readerProperties.getPollingTargetBatchDurationInMilliseconds());
+    pollingDao.setNotificationChannel(readerProperties.getPollingNotificationChannel());
+    pollingDao.setPollingProbeTables(readerProperties.getPollingProbeTables());
+    pollingDao.setPollingScheduler(pollingScheduler);
+
+    if (readerProperties.getPollingIndexAdvice()) {
+      pollingDao.setIndexAdvisor(readerProperties.getPollingCreateIndexes());
+    }
+
+    if (readerProperties.getPollingReplicaDataSourceUrl() != null) {
+      pollingDao.setReplica(createReplicaDataSource(readerProperties),
+              readerProperties.getPollingReplicaDataSourceUrl(),
+              readerProperties.getPollingMaxReplicaLagInMilliseconds());
+    }
+
+    return pollingDao;
+  }
+
+  private DataSource createReplicaDataSource(PollingPipelineReaderProperties readerProperties) {
+    return DataSourceFactory.createDataSource(readerProperties.getPollingReplicaDataSourceUrl(),
+            readerProperties.getDataSourceDriverClassName(),
+            Optional.ofNullable(readerProperties.getPollingReplicaDataSourceUserName()).orElse(readerProperties.getDataSourceUserName()),
+            Optional.ofNullable(readerProperties.getPollingReplicaDataSourcePassword()).orElse(readerProperties.getDataSourcePassword()),
+            connectionPoolConfigurationProperties);
   }
 
   @Override
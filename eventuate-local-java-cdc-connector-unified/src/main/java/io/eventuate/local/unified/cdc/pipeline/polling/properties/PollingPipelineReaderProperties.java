@@ -16,6 +16,19 @@ public class PollingPipelineReaderProperties extends CdcPipelineReaderProperties
   private Integer maxAttemptsForPolling = 100;
   private Integer pollingRetryIntervalInMilliseconds = 500;
   private Set<String> pollingParallelChannels;
+  private Integer pollingHashBuckets = 0;
+  private Integer pollingFetchSize = 0;
+  private Integer pollingMaxIntervalInMilliseconds = 0;
+  private Integer minEventsPerPolling = 0;
+  private Integer pollingTargetBatchDurationInMilliseconds = 0;
+  private String pollingNotificationChannel;
+  private String pollingReplicaDataSourceUrl;
+  private String pollingReplicaDataSourceUserName;
+  private String pollingReplicaDataSourcePassword;
+  private Integer pollingMaxReplicaLagInMilliseconds = 1000;
+  private Boolean pollingProbeTables = false;
+  private Boolean pollingIndexAdvice = true;
+  private Boolean pollingCreateIndexes = false;
   private OutboxPartitioningSpec outboxPartitioning = OutboxPartitioningSpec.DEFAULT;
 
   public Integer getPollingIntervalInMilliseconds() {
@@ -65,6 +78,110 @@ public class PollingPipelineReaderProperties extends CdcPipelineReaderProperties
     return pollingParallelChannels == null ? emptySet() : pollingParallelChannels;
   }
 
+  public Integer getPollingHashBuckets() {
+    return pollingHashBuckets;
+  }
+
+  public void setPollingHashBuckets(Integer pollingHashBuckets) {
+    this.pollingHashBuckets = pollingHashBuckets;
+  }
+
+  public Integer getPollingFetchSize() {
+    return pollingFetchSize;
+  }
+
+  public void setPollingFetchSize(Integer pollingFetchSize) {
+    this.pollingFetchSize = pollingFetchSize;
+  }
+
+  public Integer getPollingMaxIntervalInMilliseconds() {
+    return pollingMaxIntervalInMilliseconds;
+  }
+
+  public void setPollingMaxIntervalInMilliseconds(Integer pollingMaxIntervalInMilliseconds) {
+    this.pollingMaxIntervalInMilliseconds = pollingMaxIntervalInMilliseconds;
+  }
+
+  public Integer getMinEventsPerPolling() {
+    return minEventsPerPolling;
+  }
+
+  public void setMinEventsPerPolling(Integer minEventsPerPolling) {
+    this.minEventsPerPolling = minEventsPerPolling;
+  }
+
+  public Integer getPollingTargetBatchDurationInMilliseconds() {
+    return pollingTargetBatchDurationInMilliseconds;
+  }
+
+  public void setPollingTargetBatchDurationInMilliseconds(Integer pollingTargetBatchDurationInMilliseconds) {
+    this.pollingTargetBatchDurationInMilliseconds = pollingTargetBatchDurationInMilliseconds;
+  }
+
+  public String getPollingNotificationChannel() {
+    return pollingNotificationChannel;
+  }
+
+  public void setPollingNotificationChannel(String pollingNotificationChannel) {
+    this.pollingNotificationChannel = pollingNotificationChannel;
+  }
+
+  public String getPollingReplicaDataSourceUrl() {
+    return pollingReplicaDataSourceUrl;
+  }
+
+  public void setPollingReplicaDataSourceUrl(String pollingReplicaDataSourceUrl) {
+    this.pollingReplicaDataSourceUrl = pollingReplicaDataSourceUrl;
+  }
+
+  public String getPollingReplicaDataSourceUserName() {
+    return pollingReplicaDataSourceUserName;
+  }
+
+  public void setPollingReplicaDataSourceUserName(String pollingReplicaDataSourceUserName) {
+    this.pollingReplicaDataSourceUserName = pollingReplicaDataSourceUserName;
+  }
+
+  public String getPollingReplicaDataSourcePassword() {
+    return pollingReplicaDataSourcePassword;
+  }
+
+  public void setPollingReplicaDataSourcePassword(String pollingReplicaDataSourcePassword) {
+    this.pollingReplicaDataSourcePassword = pollingReplicaDataSourcePassword;
+  }
+
+  public Integer getPollingMaxReplicaLagInMilliseconds() {
+    return pollingMaxReplicaLagInMilliseconds;
+  }
+
+  public void setPollingMaxReplicaLagInMilliseconds(Integer pollingMaxReplicaLagInMilliseconds) {
+    this.pollingMaxReplicaLagInMilliseconds = pollingMaxReplicaLagInMilliseconds;
+  }
+
+  public Boolean getPollingProbeTables() {
+    return pollingProbeTables;
+  }
+
+  public void setPollingProbeTables(Boolean pollingProbeTables) {
+    this.pollingProbeTables = pollingProbeTables;
+  }
+
+  public Boolean getPollingIndexAdvice() {
+    return pollingIndexAdvice;
+  }
+
+  public void setPollingIndexAdvice(Boolean pollingIndexAdvice) {
+    this.pollingIndexAdvice = pollingIndexAdvice;
+  }
+
+  public Boolean getPollingCreateIndexes() {
+    return pollingCreateIndexes;
+  }
+
+  public void setPollingCreateIndexes(Boolean pollingCreateIndexes) {
+    this.pollingCreateIndexes = pollingCreateIndexes;
+  }
+
   public void setOutboxPartitioning(OutboxPartitioningSpec outboxPartitioning) {
     this.outboxPartitioning = outboxPartitioning;
   }
@@ -32,4 +32,25 @@ public class PollingPipelineReaderPropertiesConversionTest {
         List<OutboxTableSuffix> suffixes = IntStream.range(0, 8).mapToObj(OutboxTableSuffix::new).collect(Collectors.toList());
         assertEquals(suffixes, readerProps.getOutboxPartitioning().outboxTableSuffixes());
     }
+
+    @Test
+    public void shouldConvertPropertiesForHashBuckets() {
+        PropertyReader propertyReader = new PropertyReader();
+        Map<String, Object> properties = Collections.singletonMap("pollingHashBuckets", "4");
+        PollingPipelineReaderProperties readerProps = propertyReader.convertMapToPropertyClass(properties, PollingPipelineReaderProperties.class);
+        assertEquals(4, (int) readerProps.getPollingHashBuckets());
+    }
+
+    @Test
+    public void shouldConvertPropertiesForAdaptivePolling() {
+        PropertyReader propertyReader = new PropertyReader();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("pollingMaxIntervalInMilliseconds", "5000");
+        properties.put("minEventsPerPolling", "10");
+        properties.put("pollingTargetBatchDurationInMilliseconds", "200");
+        PollingPipelineReaderProperties readerProps = propertyReader.convertMapToPropertyClass(properties, PollingPipelineReaderProperties.class);
+        assertEquals(5000, (int) readerProps.getPollingMaxIntervalInMilliseconds());
+        assertEquals(10, (int) readerProps.getMinEventsPerPolling());
+        assertEquals(200, (int) readerProps.getPollingTargetBatchDurationInMilliseconds());
+    }
 }
@@ -6,12 +6,21 @@ import io.eventuate.common.json.mapper.JSonMapper;
 import io.eventuate.local.common.BinlogEntry;
 import io.eventuate.local.common.BinlogEntryToEventConverter;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiFunction;
 
 public class BinlogEntryToMessageConverter implements BinlogEntryToEventConverter<MessageWithDestination> {
 
+  private static final List<String> COLUMNS = Arrays.asList("published",
+          "headers",
+          EventuateJdbcOperationsUtils.MESSAGE_AUTO_GENERATED_ID_COLUMN,
+          "destination",
+          "payload");
+
   public IdGenerator idGenerator;
 
   public BinlogEntryToMessageConverter(IdGenerator idGenerator) {
@@ -25,28 +34,57 @@ public class BinlogEntryToMessageConverter implements BinlogEntryToEventConverte
       return Optional.empty();
     }
 
+    String headersJson = binlogEntry.getJsonColumn("headers");
+    String id;
+
+    try {
+      id = MessageJsonEncoder.findHeader(headersJson, "ID");
+    } catch (IllegalArgumentException e) {
+      return Optional.of(convertWithParsedHeaders(binlogEntry, partitionOffset));
+    }
+
+    MessageWithDestination message = new MessageWithDestination(binlogEntry.getStringColumn("destination"),
+            binlogEntry.getJsonColumn("payload"),
+            headersJson,
+            id == null ? generateId(binlogEntry, partitionOffset) : null,
+            binlogEntry.getBinlogFileOffset());
+
+    return Optional.of(message);
+  }
+
+  private MessageWithDestination convertWithParsedHeaders(BinlogEntry binlogEntry, Integer partitionOffset) {
     Map<String, String> headers = JSonMapper.fromJson(binlogEntry.getJsonColumn("headers"), Map.class);
 
     if (!headers.containsKey("ID")) {
       headers = new HashMap<>(headers);
-
-      String generatedId = idGenerator
-              .genId(binlogEntry.getLongColumn(EventuateJdbcOperationsUtils.MESSAGE_AUTO_GENERATED_ID_COLUMN), partitionOffset)
-              .asString();
-
-      headers.put("ID", generatedId);
+      headers.put("ID", generateId(binlogEntry, partitionOffset));
     }
 
-    MessageWithDestination message = new MessageWithDestination(binlogEntry.getStringColumn("destination"),
+    return new MessageWithDestination(binlogEntry.getStringColumn("destination"),
             binlogEntry.getJsonColumn("payload"),
             headers,
             binlogEntry.getBinlogFileOffset());
+  }
 
-    return Optional.of(message);
+  private String generateId(BinlogEntry binlogEntry, Integer partitionOffset) {
+    return idGenerator
+            .genId(binlogEntry.getLongColumn(EventuateJdbcOperationsUtils.MESSAGE_AUTO_GENERATED_ID_COLUMN), partitionOffset)
+            .asString();
   }
 
   @Override
   public String getDestinationColumn() {
     return "destination";
   }
+
+  //hashes the same key the message is published with, the PARTITION_ID header or else the message id
+  @Override
+  public String getPartitionKeyColumn(BiFunction<String, String, String> jsonField) {
+    return String.format("COALESCE(%s, id)", jsonField.apply("headers", "PARTITION_ID"));
+  }
+
+  @Override
+  public Optional<List<String>> getColumns() {
+    return Optional.of(COLUMNS);
+  }
 }
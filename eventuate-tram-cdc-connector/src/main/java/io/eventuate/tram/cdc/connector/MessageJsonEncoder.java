@@ -0,0 +1,186 @@
+package io.eventuate.tram.cdc.connector;
+
+import io.eventuate.local.common.Utf8JsonWriter;
+
+/**
+ * Writes the JSON of a message straight from the columns of the message table.
+ * The headers column already holds a JSON object, so it is copied into the output as is and the ID header is added textually,
+ * the payload is escaped as a JSON string the same way Jackson does.
+ */
+public class MessageJsonEncoder {
+  /**
+   * Finds a header without building a map of the headers.
+   * The whole object is checked, so headers accepted here can be searched for any other header later.
+   *
+   * @return the value of the header, null when there is no such header
+   * @throws IllegalArgumentException when the headers are not a flat JSON object of string values
+   */
+  public static String findHeader(String headersJson, String name) {
+    if (headersJson == null) {
+      throw new IllegalArgumentException("Headers are null");
+    }
+
+    int position = skipWhitespace(headersJson, 0);
+
+    position = expect(headersJson, position, '{');
+    position = skipWhitespace(headersJson, position);
+
+    if (position < headersJson.length() && headersJson.charAt(position) == '}') {
+      expectEnd(headersJson, position + 1);
+      return null;
+    }
+
+    String found = null;
+
+    while (true) {
+      int keyStart = expect(headersJson, position, '"');
+      int keyEnd = stringEnd(headersJson, keyStart);
+
+      position = skipWhitespace(headersJson, keyEnd + 1);
+      position = expect(headersJson, position, ':');
+      position = skipWhitespace(headersJson, position);
+
+      if (position < headersJson.length() && headersJson.charAt(position) == '"') {
+        int valueEnd = stringEnd(headersJson, position + 1);
+
+        // the last occurrence wins, like in the map Jackson builds
+        if (stringEquals(headersJson, keyStart, keyEnd, name)) {
+          found = unescape(headersJson, position + 1, valueEnd);
+        }
+
+        position = valueEnd + 1;
+      } else if (headersJson.startsWith("null", position)) {
+        if (stringEquals(headersJson, keyStart, keyEnd, name)) {
+          found = null;
+        }
+
+        position += 4;
+      } else {
+        throw new IllegalArgumentException(String.format("Header values should be strings: %s", headersJson));
+      }
+
+      position = skipWhitespace(headersJson, position);
+
+      if (position < headersJson.length() && headersJson.charAt(position) == '}') {
+        expectEnd(headersJson, position + 1);
+        return found;
+      }
+
+      position = skipWhitespace(headersJson, expect(headersJson, position, ','));
+    }
+  }
+
+  /**
+   * @param injectedId the ID header to add, null when the headers already have one
+   * @return {"payload":"...","headers":{...}} encoded as UTF-8
+   */
+  public static byte[] encode(String payload, String headersJson, String injectedId) {
+    return Utf8JsonWriter.write(writer -> {
+      writer.ascii("{\"payload\":").string(payload).ascii(",\"headers\":");
+
+      if (injectedId == null) {
+        writer.raw(headersJson);
+      } else {
+        int objectStart = headersJson.indexOf('{') + 1;
+        boolean empty = headersJson.charAt(skipWhitespace(headersJson, objectStart)) == '}';
+
+        writer
+                .raw(headersJson, 0, objectStart)
+                .ascii("\"ID\":")
+                .string(injectedId)
+                .ascii(empty ? "" : ",")
+                .raw(headersJson, objectStart, headersJson.length());
+      }
+
+      writer.ascii("}");
+    });
+  }
+
+  private static int skipWhitespace(String json, int position) {
+    while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+      position++;
+    }
+
+    return position;
+  }
+
+  private static void expectEnd(String json, int position) {
+    if (skipWhitespace(json, position) != json.length()) {
+      throw new IllegalArgumentException(String.format("Unexpected content after the headers: %s", json));
+    }
+  }
+
+  private static int expect(String json, int position, char c) {
+    if (position >= json.length() || json.charAt(position) != c) {
+      throw new IllegalArgumentException(String.format("Expected '%s' at %s: %s", c, position, json));
+    }
+
+    return position + 1;
+  }
+
+  private static int stringEnd(String json, int start) {
+    for (int i = start; i < json.length(); i++) {
+      char c = json.charAt(i);
+
+      if (c == '\\') {
+        i++;
+      } else if (c == '"') {
+        return i;
+      }
+    }
+
+    throw new IllegalArgumentException(String.format("Unterminated string: %s", json));
+  }
+
+  private static boolean stringEquals(String json, int start, int end, String text) {
+    if (!hasEscape(json, start, end)) {
+      return end - start == text.length() && json.regionMatches(start, text, 0, text.length());
+    }
+
+    return unescape(json, start, end).equals(text);
+  }
+
+  private static boolean hasEscape(String json, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (json.charAt(i) == '\\') {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private static String unescape(String json, int start, int end) {
+    if (!hasEscape(json, start, end)) {
+      return json.substring(start, end);
+    }
+
+    StringBuilder value = new StringBuilder(end - start);
+
+    for (int i = start; i < end; i++) {
+      char c = json.charAt(i);
+
+      if (c != '\\') {
+        value.append(c);
+        continue;
+      }
+
+      char escaped = json.charAt(++i);
+
+      switch (escaped) {
+        case 'b': value.append('\b'); break;
+        case 't': value.append('\t'); break;
+        case 'n': value.append('\n'); break;
+        case 'f': value.append('\f'); break;
+        case 'r': value.append('\r'); break;
+        case 'u':
+          value.append((char) Integer.parseInt(json.substring(i + 1, i + 5), 16));
+          i += 4;
+          break;
+        default: value.append(escaped);
+      }
+    }
+
+    return value.toString();
+  }
+}
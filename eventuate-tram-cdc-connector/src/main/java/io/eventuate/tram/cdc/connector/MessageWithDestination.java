@@ -1,10 +1,12 @@
 package io.eventuate.tram.cdc.connector;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.collect.ImmutableMap;
 import io.eventuate.common.eventuate.local.BinLogEvent;
 import io.eventuate.common.eventuate.local.BinlogFileOffset;
 import io.eventuate.common.json.mapper.JSonMapper;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -13,6 +15,8 @@ public class MessageWithDestination implements BinLogEvent {
   private final String destination;
   private String payload;
   private Map<String, String> headers;
+  private String headersJson;
+  private String generatedId;
   private BinlogFileOffset binlogFileOffset;
 
   public MessageWithDestination(String destination,
@@ -26,6 +30,24 @@ public class MessageWithDestination implements BinLogEvent {
     this.binlogFileOffset = binlogFileOffset;
   }
 
+  /**
+   * Keeps the headers as the JSON read from the message table, they are parsed only when accessed as a map.
+   *
+   * @param generatedId the ID header to add to the headers, null when they already have one
+   */
+  public MessageWithDestination(String destination,
+                                String payload,
+                                String headersJson,
+                                String generatedId,
+                                BinlogFileOffset binlogFileOffset) {
+
+    this.destination = destination;
+    this.payload = payload;
+    this.headersJson = headersJson;
+    this.generatedId = generatedId;
+    this.binlogFileOffset = binlogFileOffset;
+  }
+
   public String getDestination() {
     return destination;
   }
@@ -43,11 +65,15 @@ public class MessageWithDestination implements BinLogEvent {
   }
 
   public Optional<String> getHeader(String name) {
+    if (headersJson != null) {
+      return Optional.ofNullable(generatedId != null && "ID".equals(name) ? generatedId : MessageJsonEncoder.findHeader(headersJson, name));
+    }
+
     return Optional.ofNullable(headers.get(name));
   }
 
   public String getRequiredHeader(String name) {
-    String s = headers.get(name);
+    String s = getHeader(name).orElse(null);
     if (s == null)
       throw new RuntimeException("No such header: " + name + " in this message " + this);
     else
@@ -55,7 +81,7 @@ public class MessageWithDestination implements BinLogEvent {
   }
 
   public boolean hasHeader(String name) {
-    return headers.containsKey(name);
+    return headersJson != null ? getHeader(name).isPresent() : headers.containsKey(name);
   }
 
   public String getId() {
@@ -63,6 +89,18 @@ public class MessageWithDestination implements BinLogEvent {
   }
 
   public Map<String, String> getHeaders() {
+    if (headersJson != null) {
+      headers = new HashMap<>(JSonMapper.fromJson(headersJson, Map.class));
+
+      if (generatedId != null) {
+        headers.put("ID", generatedId);
+      }
+
+      // the map can be changed by the caller, so from now on it is the only copy of the headers
+      headersJson = null;
+      generatedId = null;
+    }
+
     return headers;
   }
 
@@ -72,19 +110,38 @@ public class MessageWithDestination implements BinLogEvent {
 
   public void setHeaders(Map<String, String> headers) {
     this.headers = headers;
+    this.headersJson = null;
+    this.generatedId = null;
   }
 
   public void setHeader(String name, String value) {
+    getHeaders();
     if (headers == null)
       headers = new HashMap<>();
     headers.put(name, value);
   }
 
   public void removeHeader(String key) {
-    headers.remove(key);
+    getHeaders().remove(key);
   }
 
   public String toJson() {
+    if (headersJson != null) {
+      return new String(toJsonBytes(), StandardCharsets.UTF_8);
+    }
+
     return JSonMapper.toJson(ImmutableMap.of("payload", getPayload(), "headers", getHeaders()));
   }
+
+  public byte[] toJsonBytes() {
+    if (headersJson != null) {
+      return MessageJsonEncoder.encode(payload, headersJson, generatedId);
+    }
+
+    try {
+      return JSonMapper.objectMapper.writeValueAsBytes(ImmutableMap.of("payload", getPayload(), "headers", getHeaders()));
+    } catch (JsonProcessingException e) {
+      throw new RuntimeException(e);
+    }
+  }
 }
@@ -21,6 +21,11 @@ public class MessageWithDestinationPublishingStrategy implements PublishingStrat
     return messageWithDestination.toJson();
   }
 
+  @Override
+  public byte[] toJsonBytes(MessageWithDestination messageWithDestination) {
+    return messageWithDestination.toJsonBytes();
+  }
+
   @Override
   public Optional<Long> getCreateTime(MessageWithDestination messageWithDestination) {
     return Optional.empty(); // TODO
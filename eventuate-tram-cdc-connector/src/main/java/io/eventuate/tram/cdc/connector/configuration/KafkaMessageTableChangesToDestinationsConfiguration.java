@@ -47,13 +47,28 @@ public class KafkaMessageTableChangesToDestinationsConfiguration {
                                                       EventuateKafkaProducerConfigurationProperties eventuateKafkaProducerConfigurationProperties,
                                                       EventuateConfigurationProperties eventuateConfigurationProperties,
                                                       MeterRegistry meterRegistry) {
+    checkInFlightBatchesKeepOrder(eventuateConfigurationProperties.getMaxInFlightBatchesPerPartition(), eventuateKafkaProducerConfigurationProperties);
+
     return () -> new EventuateKafkaDataProducerWrapper(new EventuateKafkaProducer(eventuateKafkaConfigurationProperties.getBootstrapServers(),
             eventuateKafkaProducerConfigurationProperties),
             eventuateConfigurationProperties.isEnableBatchProcessing(),
             eventuateConfigurationProperties.getMaxBatchSize(),
+            eventuateConfigurationProperties.getBatchLingerMs(),
+            eventuateConfigurationProperties.getMaxInFlightBatchesPerPartition(),
+            eventuateConfigurationProperties.getKafkaSenderThreads(),
             meterRegistry);
   }
 
+  //a retried batch can overtake the batches sent after it unless the broker deduplicates and orders them
+  private void checkInFlightBatchesKeepOrder(int maxInFlightBatchesPerPartition,
+                                             EventuateKafkaProducerConfigurationProperties eventuateKafkaProducerConfigurationProperties) {
+    if (maxInFlightBatchesPerPartition > 1 &&
+            !"true".equals(eventuateKafkaProducerConfigurationProperties.getProperties().get("enable.idempotence"))) {
+      throw new IllegalArgumentException(String.format("eventuate.cdc.kafka.batch.processing.max.in.flight.batches.per.partition=%s " +
+              "requires the kafka producer property enable.idempotence=true to keep the order of messages", maxInFlightBatchesPerPartition));
+    }
+  }
+
   @Bean
   public EventuateKafkaProducer eventuateKafkaProducer(EventuateKafkaConfigurationProperties eventuateKafkaConfigurationProperties,
                                                        EventuateKafkaProducerConfigurationProperties eventuateKafkaProducerConfigurationProperties) {
@@ -0,0 +1,62 @@
+package io.eventuate.tram.cdc.connector;
+
+import io.eventuate.common.eventuate.local.BinlogFileOffset;
+import io.eventuate.common.jdbc.EventuateJdbcOperationsUtils;
+import io.eventuate.local.common.BinlogEntry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+public class BinlogEntryToMessageConverterTest {
+
+  private BinlogEntryToMessageConverter converter = new BinlogEntryToMessageConverter(null);
+
+  @Test
+  public void shouldConvertHeadersWithIdBeforeNonStringValue() {
+    MessageWithDestination message = convert("{\"ID\":\"1\",\"PARTITION_ID\":\"p\",\"X\":{\"a\":1}}");
+
+    Assert.assertEquals("1", message.getId());
+    Assert.assertEquals(Optional.of("p"), message.getPartitionId());
+    Assert.assertEquals("p", new MessageWithDestinationPublishingStrategy().partitionKeyFor(message));
+  }
+
+  @Test
+  public void shouldConvertFlatHeaders() {
+    MessageWithDestination message = convert("{\"ID\":\"1\",\"PARTITION_ID\":\"p\"}");
+
+    Assert.assertEquals("1", message.getId());
+    Assert.assertEquals(Optional.of("p"), message.getPartitionId());
+  }
+
+  @Test
+  public void shouldHashOnPartitionIdHeaderOrMessageId() {
+    Assert.assertEquals("COALESCE(headers->PARTITION_ID, id)",
+            converter.getPartitionKeyColumn((column, field) -> column + "->" + field));
+  }
+
+  private MessageWithDestination convert(String headers) {
+    Map<String, Object> columns = new HashMap<>();
+    columns.put("published", 0);
+    columns.put("headers", headers);
+    columns.put(EventuateJdbcOperationsUtils.MESSAGE_AUTO_GENERATED_ID_COLUMN, 1L);
+    columns.put("destination", "destination");
+    columns.put("payload", "{}");
+
+    BinlogEntry binlogEntry = new BinlogEntry() {
+      @Override
+      public Object getColumn(String name) {
+        return columns.get(name);
+      }
+
+      @Override
+      public BinlogFileOffset getBinlogFileOffset() {
+        return new BinlogFileOffset("binlog.000001", 1L);
+      }
+    };
+
+    return converter.convert(binlogEntry, null).get();
+  }
+}
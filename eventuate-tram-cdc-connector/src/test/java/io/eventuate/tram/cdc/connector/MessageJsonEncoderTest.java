@@ -0,0 +1,69 @@
+package io.eventuate.tram.cdc.connector;
+
+import io.eventuate.common.json.mapper.JSonMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+public class MessageJsonEncoderTest {
+
+  private static final String PAYLOAD = "{\"amount\":\"12.5\",\"note\":\"line\\nbreak \u00e9 \ud83d\ude00\"}\t\u0001";
+
+  @Test
+  public void shouldEscapePayloadLikeJackson() {
+    Assert.assertEquals("{\"payload\":" + JSonMapper.toJson(PAYLOAD) + ",\"headers\":{\"ID\":\"1\"}}",
+            encode(PAYLOAD, "{\"ID\":\"1\"}", null));
+  }
+
+  @Test
+  public void shouldSpliceHeadersAndInjectId() {
+    Map<String, String> headers = new HashMap<>();
+    headers.put("ID", "00000000-00000001");
+    headers.put("PARTITION_ID", "p\"1");
+    headers.put("DESTINATION", "d");
+
+    Map<String, Object> message = JSonMapper.fromJson(encode(PAYLOAD, "{ \"PARTITION_ID\" : \"p\\\"1\", \"DESTINATION\":\"d\" }", "00000000-00000001"), Map.class);
+
+    Assert.assertEquals(PAYLOAD, message.get("payload"));
+    Assert.assertEquals(headers, message.get("headers"));
+  }
+
+  @Test
+  public void shouldInjectIdIntoEmptyHeaders() {
+    Assert.assertEquals("{\"payload\":null,\"headers\":{\"ID\":\"1\"}}", encode(null, "{}", "1"));
+    Assert.assertEquals("{\"payload\":null,\"headers\":{\"ID\":\"1\" }}", encode(null, "{ }", "1"));
+  }
+
+  @Test
+  public void shouldFindHeaders() {
+    String headersJson = "{\"ID\":\"1\", \"P\\u0041RTITION_ID\":\"caf\\u00e9\",\"EMPTY\":null,\"OTHER\":\"x\"}";
+
+    Assert.assertEquals("1", MessageJsonEncoder.findHeader(headersJson, "ID"));
+    Assert.assertEquals("caf\u00e9", MessageJsonEncoder.findHeader(headersJson, "PARTITION_ID"));
+    Assert.assertNull(MessageJsonEncoder.findHeader(headersJson, "EMPTY"));
+    Assert.assertNull(MessageJsonEncoder.findHeader(headersJson, "MISSING"));
+    Assert.assertNull(MessageJsonEncoder.findHeader(" { } ", "ID"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectHeadersThatAreNotStrings() {
+    MessageJsonEncoder.findHeader("{\"A\":{\"B\":\"1\"},\"ID\":\"1\"}", "ID");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectHeadersThatAreNotStringsAfterTheFoundHeader() {
+    MessageJsonEncoder.findHeader("{\"ID\":\"1\",\"X\":{\"a\":1}}", "ID");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectContentAfterHeaders() {
+    MessageJsonEncoder.findHeader("{\"ID\":\"1\"} x", "ID");
+  }
+
+  private String encode(String payload, String headersJson, String injectedId) {
+    return new String(MessageJsonEncoder.encode(payload, headersJson, injectedId), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,106 @@
+package io.eventuate.tram.cdc.connector;
+
+import com.sun.management.ThreadMXBean;
+import io.eventuate.common.eventuate.local.BinlogFileOffset;
+import io.eventuate.common.id.DatabaseIdGenerator;
+import io.eventuate.common.json.mapper.JSonMapper;
+import io.eventuate.local.common.BinlogEntry;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+
+public class MessageJsonEncodingPerformanceTest {
+
+  private static final int MESSAGES = 100000;
+  private static final int WARMUP_MESSAGES = 20000;
+
+  private BinlogEntryToMessageConverter converter = new BinlogEntryToMessageConverter(new DatabaseIdGenerator(1));
+  private MessageWithDestinationPublishingStrategy publishingStrategy = new MessageWithDestinationPublishingStrategy();
+
+  @Test
+  public void compareEncoding() {
+    for (int payloadSize : new int[]{100, 1000, 10000}) {
+      BinlogEntry binlogEntry = messageRow(payloadSize);
+
+      measure(payloadSize + " bytes payload, headers parsed with jackson", binlogEntry, this::encodeWithParsedHeaders);
+      measure(payloadSize + " bytes payload, headers spliced", binlogEntry, this::encode);
+    }
+  }
+
+  private int encodeWithParsedHeaders(BinlogEntry binlogEntry) {
+    Map<String, String> headers = new HashMap<>(JSonMapper.fromJson(binlogEntry.getJsonColumn("headers"), Map.class));
+    headers.put("ID", converter.idGenerator.genId(binlogEntry.getLongColumn("id"), 0).asString());
+
+    MessageWithDestination message = new MessageWithDestination(binlogEntry.getStringColumn("destination"),
+            binlogEntry.getJsonColumn("payload"),
+            headers,
+            binlogEntry.getBinlogFileOffset());
+
+    return publishingStrategy.partitionKeyFor(message).length() + publishingStrategy.toJsonBytes(message).length;
+  }
+
+  private int encode(BinlogEntry binlogEntry) {
+    MessageWithDestination message = converter.convert(binlogEntry, 0).get();
+
+    return publishingStrategy.partitionKeyFor(message).length() + publishingStrategy.toJsonBytes(message).length;
+  }
+
+  private void measure(String name, BinlogEntry binlogEntry, ToIntFunction<BinlogEntry> encoder) {
+    long bytes = 0;
+
+    for (int i = 0; i < WARMUP_MESSAGES; i++) {
+      bytes += encoder.applyAsInt(binlogEntry);
+    }
+
+    ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long allocatedStart = threadMXBean.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+
+    for (int i = 0; i < MESSAGES; i++) {
+      bytes += encoder.applyAsInt(binlogEntry);
+    }
+
+    System.out.println(String.format("%s: %s ns per message, %s bytes allocated per message, %s bytes written",
+            name,
+            (System.nanoTime() - start) / MESSAGES,
+            (threadMXBean.getThreadAllocatedBytes(threadId) - allocatedStart) / MESSAGES,
+            bytes));
+  }
+
+  private BinlogEntry messageRow(int payloadSize) {
+    StringBuilder payload = new StringBuilder("{\"description\":\"");
+    while (payload.length() < payloadSize - 2) {
+      payload.append(UUID.randomUUID());
+    }
+    payload.setLength(payloadSize - 2);
+    payload.append("\"}");
+
+    Map<String, Object> columns = new HashMap<>();
+    columns.put("published", 0);
+    columns.put("destination", "net.chrisrichardson.ftgo.orderservice.api.OrderServiceChannels");
+    columns.put("payload", payload.toString());
+    columns.put("headers", String.format("{\"PARTITION_ID\":\"%s\",\"event-aggregate-type\":\"net.chrisrichardson.ftgo.orderservice.domain.Order\"," +
+            "\"DATE\":\"Tue, 20 Oct 2020 12:30:45 GMT\",\"event-aggregate-id\":\"1\",\"event-type\":\"net.chrisrichardson.ftgo.orderservice.api.events.OrderCreatedEvent\"," +
+            "\"DESTINATION\":\"net.chrisrichardson.ftgo.orderservice.domain.Order\"}", UUID.randomUUID()));
+    columns.put("id", 1L);
+
+    BinlogFileOffset binlogFileOffset = new BinlogFileOffset("binlog.000001", 4);
+
+    return new BinlogEntry() {
+      @Override
+      public Object getColumn(String name) {
+        return columns.get(name);
+      }
+
+      @Override
+      public BinlogFileOffset getBinlogFileOffset() {
+        return binlogFileOffset;
+      }
+    };
+  }
+}